@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.benchmark;
+
+import com.tlcsdm.game.daliandagunzifx.ai.HardAI;
+import com.tlcsdm.game.daliandagunzifx.ai.MediumAI;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次完整的 AI 决策。HardAI 受思考时限约束，耗时基本固定，
+ * 主要配合 {@code -prof gc} 观察一次决策的分配量与 GC 压力。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AIBenchmark {
+
+    @Param({"20260101"})
+    long seed;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    // 第 13 手时由某家领出的牌局，候选较多，会真正进入 PIMC 搜索
+    private GameEngine leadState;
+    private Player leader;
+    private CardTracker tracker;
+    private HardAI hardAI;
+    private MediumAI mediumAI;
+
+    @Setup
+    public void setUp() {
+        tracker = new CardTracker();
+        leadState = BenchmarkStates.advance(BenchmarkStates.newRound(seed), 12, tracker);
+        if (leadState.getTrickCardsPlayed() == 4) {
+            leadState.evaluateTrick();
+        }
+        leader = leadState.getPlayers()[leadState.getCurrentPlayerIndex()];
+        hardAI = new HardAI(tracker, parallelism);
+        mediumAI = new MediumAI(tracker);
+    }
+
+    @Benchmark
+    public List<Card> hardChooseCards() {
+        return hardAI.chooseCards(leader, leadState);
+    }
+
+    @Benchmark
+    public List<Card> mediumChooseCards() {
+        return mediumAI.chooseCards(leader, leadState);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.benchmark;
+
+import com.tlcsdm.game.daliandagunzifx.ai.EasyAI;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试用的固定种子牌局。同一个种子总是得到相同的发牌、底牌和出牌过程，保证多次运行可比。
+ */
+final class BenchmarkStates {
+
+    private BenchmarkStates() {
+    }
+
+    /**
+     * 按种子发牌，0 号玩家以黑桃定主并扣底，返回刚进入出牌阶段的牌局。
+     */
+    static GameEngine newRound(long seed) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", false),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(seed));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        EasyAI ai = new EasyAI();
+        engine.setKitty(ai.chooseKittyCards(players[0], engine.getKitty(), engine.getTrumpInfo()));
+        return engine;
+    }
+
+    /**
+     * 用 EasyAI 替四家出牌，直到累计出了 {@code plays} 手牌（墩满时自动结算）。
+     * 若同时给出记牌器，则把出过的牌记入其中。
+     */
+    static GameEngine advance(GameEngine engine, int plays, CardTracker tracker) {
+        EasyAI ai = new EasyAI();
+        int played = 0;
+        while (played < plays && engine.getPhase() == GamePhase.PLAYING) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            int index = engine.getCurrentPlayerIndex();
+            List<Card> cards = ai.chooseCards(engine.getPlayers()[index], engine);
+            engine.playCards(index, cards);
+            if (tracker != null) {
+                for (Card card : cards) {
+                    tracker.cardPlayed(card, index);
+                }
+            }
+            played++;
+        }
+        return engine;
+    }
+
+    /**
+     * 把牌局打到结束，返回闲家得分。
+     */
+    static int playOut(GameEngine engine, EasyAI ai) {
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            int index = engine.getCurrentPlayerIndex();
+            engine.playCards(index, ai.chooseCards(engine.getPlayers()[index], engine));
+        }
+        return engine.getDefenderPoints();
+    }
+
+    /**
+     * 返回手牌的一个按种子打乱的副本，用于排序基准。
+     */
+    static List<Card> shuffledHand(Player player, long seed) {
+        List<Card> hand = new ArrayList<>(player.getHand());
+        Collections.shuffle(hand, new Random(seed));
+        return hand;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.benchmark;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 牌局引擎热点：出牌校验、合法出牌生成、结算墩、手牌排序与整局复制。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+    @Param({"20260101", "20260202"})
+    long seed;
+
+    // 第二家待跟牌的牌局
+    private GameEngine followState;
+    private Player follower;
+    // 一墩刚出满、待结算的牌局
+    private GameEngine completeTrickState;
+    private LegalMoveGenerator generator;
+    private Player sortScratch;
+    private List<Card> shuffledHand;
+    private TrumpInfo trumpInfo;
+
+    @Setup
+    public void setUp() {
+        followState = BenchmarkStates.advance(BenchmarkStates.newRound(seed), 1, null);
+        follower = followState.getPlayers()[followState.getCurrentPlayerIndex()];
+
+        completeTrickState = BenchmarkStates.advance(BenchmarkStates.newRound(seed), 4, null);
+
+        generator = new LegalMoveGenerator();
+        trumpInfo = followState.getTrumpInfo();
+        shuffledHand = BenchmarkStates.shuffledHand(follower, seed);
+        sortScratch = new Player(9, "scratch", false);
+    }
+
+    /**
+     * 对跟牌方每张手牌逐一校验单张是否可出，相当于旧版 getValidCards 的开销。
+     */
+    @Benchmark
+    public void isValidPlayPerCard(Blackhole bh) {
+        int index = follower.getId();
+        for (Card card : follower.getHand()) {
+            bh.consume(followState.isValidPlay(index, card));
+        }
+    }
+
+    @Benchmark
+    public List<Card> legalSingles() {
+        return LegalMoveGenerator.legalSingles(followState, follower);
+    }
+
+    @Benchmark
+    public int legalMoves() {
+        return generator.generate(followState);
+    }
+
+    /**
+     * 结算后立即撤销，使每次调用面对同一墩牌。
+     */
+    @Benchmark
+    public int evaluateTrick() {
+        int winner = completeTrickState.evaluateTrick();
+        completeTrickState.undo();
+        return winner;
+    }
+
+    /**
+     * 含把打乱的手牌装回临时玩家的开销。
+     */
+    @Benchmark
+    public Player sortHand() {
+        List<Card> hand = sortScratch.getHand();
+        hand.clear();
+        hand.addAll(shuffledHand);
+        sortScratch.sortHand(trumpInfo);
+        return sortScratch;
+    }
+
+    @Benchmark
+    public GameEngine copy() {
+        return followState.copy();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.benchmark;
+
+import com.tlcsdm.game.daliandagunzifx.ai.EasyAI;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 端到端模拟吞吐：四家均由 EasyAI 出牌，从开局打到结束，单位为每秒局数。
+ * 这正是 HardAI 每次推演的主体开销。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundBenchmark {
+
+    @Param({"20260101", "20260202"})
+    long seed;
+
+    private GameEngine initial;
+    private GameEngine inPlace;
+    private EasyAI ai;
+
+    @Setup
+    public void setUp() {
+        initial = BenchmarkStates.newRound(seed);
+        inPlace = BenchmarkStates.newRound(seed);
+        ai = new EasyAI();
+    }
+
+    /**
+     * 每局先复制起始牌局，对应撤销栈出现之前的推演方式。
+     */
+    @Benchmark
+    public int playRoundFromCopy() {
+        return BenchmarkStates.playOut(initial.copy(), ai);
+    }
+
+    /**
+     * 在同一个引擎上打完整局再撤销回开局。
+     */
+    @Benchmark
+    public int playRoundWithUndo() {
+        int points = BenchmarkStates.playOut(inPlace, ai);
+        inPlace.undoTo(0);
+        return points;
+    }
+}
@@ -32,8 +32,10 @@
 import com.dlsc.preferencesfx.model.Setting;
 import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 
@@ -57,15 +59,20 @@ public final class AppSettings {
     private static final String PREF_DARK_THEME = "darkTheme";
     private static final String PREF_TRACKER_ENABLED = "trackerEnabled";
     private static final String PREF_AI_LEVEL = "aiLevel";
+    private static final String PREF_AI_THREADS = "aiThreads";
     private static final String PREF_CHECK_UPDATE = "checkUpdateEnabled";
     private static final String PREF_LIVE_BANG = "liveBang";
     private static final String PREF_AGGRESSIVE = "aggressive";
 
+    // 困难 AI 搜索线程数的上限，默认用满全部处理器
+    private static final int MAX_AI_THREADS = Runtime.getRuntime().availableProcessors();
+
     private static final AppSettings INSTANCE = new AppSettings();
 
     private final BooleanProperty darkThemeProperty;
     private final BooleanProperty trackerEnabledProperty;
     private final ObjectProperty<AILevel> aiLevelProperty;
+    private final IntegerProperty aiThreadsProperty;
     private final BooleanProperty checkUpdateEnabledProperty;
     private final BooleanProperty liveBangProperty;
     private final BooleanProperty aggressiveProperty;
@@ -93,6 +100,8 @@ private AppSettings() {
             level = AILevel.MEDIUM;
         }
         aiLevelProperty = new SimpleObjectProperty<>(level);
+        int savedThreads = PREFS != null ? PREFS.getInt(PREF_AI_THREADS, MAX_AI_THREADS) : MAX_AI_THREADS;
+        aiThreadsProperty = new SimpleIntegerProperty(Math.clamp(savedThreads, 1, MAX_AI_THREADS));
         checkUpdateEnabledProperty = new SimpleBooleanProperty(
             PREFS != null ? PREFS.getBoolean(PREF_CHECK_UPDATE, true) : true);
         liveBangProperty = new SimpleBooleanProperty(
@@ -118,6 +127,12 @@ private AppSettings() {
                 flushQuietly();
             }
         });
+        aiThreadsProperty.addListener((obs, oldVal, newVal) -> {
+            if (PREFS != null) {
+                PREFS.putInt(PREF_AI_THREADS, newVal.intValue());
+                flushQuietly();
+            }
+        });
         checkUpdateEnabledProperty.addListener((obs, oldVal, newVal) -> {
             if (PREFS != null) {
                 PREFS.putBoolean(PREF_CHECK_UPDATE, newVal);
@@ -166,6 +181,17 @@ public AILevel getAiLevel() {
         return aiLevelProperty.get();
     }
 
+    public IntegerProperty aiThreadsProperty() {
+        return aiThreadsProperty;
+    }
+
+    /**
+     * 困难 AI 每次决策使用的搜索线程数，范围为 1 到处理器数；调小可限制每桌 AI 占用的 CPU。
+     */
+    public int getAiThreads() {
+        return Math.clamp(aiThreadsProperty.get(), 1, MAX_AI_THREADS);
+    }
+
     public BooleanProperty checkUpdateEnabledProperty() {
         return checkUpdateEnabledProperty;
     }
@@ -216,6 +242,7 @@ private void buildPreferences() {
         boolean savedDark = darkThemeProperty.get();
         boolean savedTracker = trackerEnabledProperty.get();
         AILevel savedLevel = aiLevelProperty.get();
+        int savedThreads = aiThreadsProperty.get();
         boolean savedUpdate = checkUpdateEnabledProperty.get();
         boolean savedLiveBang = liveBangProperty.get();
         boolean savedAggressive = aggressiveProperty.get();
@@ -231,7 +258,8 @@ private void buildPreferences() {
                     Setting.of("冒险出牌", aggressiveProperty),
                     Setting.of("AI难度",
                         FXCollections.observableArrayList(Arrays.asList(AILevel.values())),
-                        aiLevelProperty)
+                        aiLevelProperty),
+                    Setting.of("AI线程数", aiThreadsProperty, 1, MAX_AI_THREADS)
                 ),
                 Group.of("更新",
                     Setting.of("启动时检查更新", checkUpdateEnabledProperty)
@@ -251,6 +279,7 @@ private void buildPreferences() {
         darkThemeProperty.set(savedDark);
         trackerEnabledProperty.set(savedTracker);
         aiLevelProperty.set(savedLevel);
+        aiThreadsProperty.set(savedThreads);
         checkUpdateEnabledProperty.set(savedUpdate);
         liveBangProperty.set(savedLiveBang);
         aggressiveProperty.set(savedAggressive);
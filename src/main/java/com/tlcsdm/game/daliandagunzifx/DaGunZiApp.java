@@ -26,9 +26,11 @@
  */
 package com.tlcsdm.game.daliandagunzifx;
 
+import com.tlcsdm.game.daliandagunzifx.ai.AIDecisionService;
 import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
 import com.tlcsdm.game.daliandagunzifx.ai.AIStrategy;
 import com.tlcsdm.game.daliandagunzifx.ai.EasyAI;
+import com.tlcsdm.game.daliandagunzifx.ai.ExpertAI;
 import com.tlcsdm.game.daliandagunzifx.ai.HardAI;
 import com.tlcsdm.game.daliandagunzifx.ai.MediumAI;
 import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
@@ -39,6 +41,7 @@
 import com.tlcsdm.game.daliandagunzifx.model.Card;
 import com.tlcsdm.game.daliandagunzifx.model.Rank;
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.replay.MatchSave;
 import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
 import com.tlcsdm.game.daliandagunzifx.utils.UpdateChecker;
 
@@ -83,6 +86,8 @@
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.kordamp.ikonli.material.Material;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
@@ -104,6 +109,7 @@ public class DaGunZiApp extends Application {
     private static final int CARD_OVERLAP = 25;
     private static final int DRAG_SELECT_THRESHOLD = 20;
     private static final double AI_BIDDING_DELAY_MS = 500.0;
+    private static final long AI_PLAY_DELAY_MS = 500;
     private static final String TABLE_COLOR = "#2d8a4e";
     private static final String DARK_TABLE_COLOR = "#1a1a2e";
     private static final String SPADE_COLOR = "#1a1a1a";
@@ -118,11 +124,16 @@ public class DaGunZiApp extends Application {
         + "-fx-font-weight: bold; -fx-underline: true; "
         + "-fx-effect: dropshadow(gaussian, #ffd700, 5, 0.5, 0, 0);";
     private static final String TRIBUTE_RETURN_BTN_ID = "tributeReturnBtn";
+    private static final Path MATCH_SAVE_FILE = Path.of(System.getProperty("user.home"), ".dalian-dagunzi-fx", "match.sav");
 
     // Game state
     private GameEngine engine;
     private AIStrategy aiStrategy;
     private CardTracker cardTracker;
+    // AI 出牌在后台线程上搜索，结果回到 JavaFX 应用线程执行
+    private final AIDecisionService aiDecisions = new AIDecisionService(Platform::runLater, AI_PLAY_DELAY_MS);
+    // 自动存档：每局开始重写，扣底与每墩结束时追加，下次启动可在欢迎界面继续
+    private final MatchSave matchSave = new MatchSave(MATCH_SAVE_FILE);
     private Player[] players;
 
     // UI interaction state
@@ -181,6 +192,22 @@ public void start(Stage stage) {
         checkForUpdateOnStartup();
     }
 
+    @Override
+    public void stop() {
+        cancelAIWork();
+        aiDecisions.close();
+    }
+
+    /**
+     * 丢弃进行中的 AI 决策并停止预搜索，在重新开始或离开牌局前调用。
+     */
+    private void cancelAIWork() {
+        aiDecisions.cancelAll();
+        if (aiStrategy != null) {
+            aiStrategy.stopPondering();
+        }
+    }
+
     /**
      * Loads the application icon from resources.
      */
@@ -396,6 +423,7 @@ private void confirmReturnToWelcome() {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
+                matchSave.delete();
                 showWelcomeScreen();
             }
         });
@@ -403,25 +431,13 @@ private void confirmReturnToWelcome() {
 
     private void restartCurrentRound() {
         if (engine == null) return;
+        cancelAIWork();
         Rank[] oldLevels = engine.getTeamLevels().clone();
 
-        players = new Player[]{
-            new Player(0, "你", true),
-            new Player(1, "小明", false),
-            new Player(2, "搭档小红", false),
-            new Player(3, "小刚", false)
-        };
-        cardTracker = new CardTracker();
-        aiStrategy = switch (AppSettings.getInstance().getAiLevel()) {
-            case EASY -> new EasyAI();
-            case MEDIUM -> new MediumAI(cardTracker);
-            case HARD -> new HardAI(cardTracker);
-        };
-        aiStrategy.setAggressive(AppSettings.getInstance().isAggressive());
-        engine = new GameEngine(players);
-        engine.setLiveBang(AppSettings.getInstance().isLiveBang());
+        createMatch();
         engine.getTeamLevels()[0] = oldLevels[0];
         engine.getTeamLevels()[1] = oldLevels[1];
+        engine.addListener(matchSave);
 
         initGameBoard();
         startNewRound();
@@ -440,6 +456,7 @@ private void toggleTrackerDisplay(boolean enabled) {
     // ======================== Welcome Screen ========================
 
     private void showWelcomeScreen() {
+        cancelAIWork();
         rootPane.getChildren().clear();
 
         AppSettings settings = AppSettings.getInstance();
@@ -490,12 +507,19 @@ public AILevel fromString(String s) {
             + "-fx-background-color: #d4af37; -fx-text-fill: black; -fx-font-weight: bold; -fx-cursor: hand;");
         startBtn.setOnAction(e -> startGame());
 
+        Button resumeBtn = new Button("继续上局");
+        resumeBtn.setStyle("-fx-font-size: 16px; -fx-padding: 8 24; "
+            + "-fx-background-color: #5588cc; -fx-text-fill: white; -fx-font-weight: bold; -fx-cursor: hand;");
+        resumeBtn.setOnAction(e -> resumeGame());
+        resumeBtn.setVisible(matchSave.exists());
+        resumeBtn.setManaged(matchSave.exists());
+
         Region spacer1 = new Region();
         spacer1.setPrefHeight(20);
         Region spacer2 = new Region();
         spacer2.setPrefHeight(10);
 
-        welcomeBox.getChildren().addAll(title, subtitle, spacer1, diffBox, trackerCheck, spacer2, startBtn);
+        welcomeBox.getChildren().addAll(title, subtitle, spacer1, diffBox, trackerCheck, spacer2, startBtn, resumeBtn);
 
         VBox wrapper = new VBox();
         wrapper.getChildren().addAll(createMenuBar(false), welcomeBox);
@@ -505,6 +529,55 @@ public AILevel fromString(String s) {
     // ======================== Game Initialization ========================
 
     private void startGame() {
+        createMatch();
+        engine.addListener(matchSave);
+
+        initGameBoard();
+        startNewRound();
+    }
+
+    /**
+     * 从自动存档继续上次的比赛：恢复引擎与记牌器后，按存档所处的阶段接着进行。
+     */
+    private void resumeGame() {
+        createMatch();
+        try {
+            matchSave.restore(engine, cardTracker);
+        } catch (IOException e) {
+            matchSave.delete();
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("错误");
+            alert.setHeaderText("无法继续上局");
+            alert.setContentText("存档已损坏，请开始新游戏。");
+            Stage alertStage = (Stage) alert.getDialogPane().getScene().getWindow();
+            alertStage.getIcons().add(createAppIcon());
+            alert.showAndWait();
+            showWelcomeScreen();
+            return;
+        }
+        engine.addListener(matchSave);
+
+        initGameBoard();
+        resetInteractionState();
+        switch (engine.getPhase()) {
+            case PLAYING -> resumePlaying();
+            case ROUND_END -> {
+                if (engine.getTotalCardsPlayed() > 0) {
+                    // 最后一墩已出完但尚未结算就退出了
+                    showRoundResult();
+                } else {
+                    startNewRound();
+                }
+            }
+            // 扣底前退出：保留本局发的牌，从亮主重新开始
+            default -> dealRound();
+        }
+    }
+
+    /**
+     * 创建新的玩家、记牌器、AI 与引擎，引擎使用当前设置的活棒/死棒规则。
+     */
+    private void createMatch() {
         players = new Player[]{
             new Player(0, "你", true),
             new Player(1, "小明", false),
@@ -516,14 +589,12 @@ private void startGame() {
         aiStrategy = switch (AppSettings.getInstance().getAiLevel()) {
             case EASY -> new EasyAI();
             case MEDIUM -> new MediumAI(cardTracker);
-            case HARD -> new HardAI(cardTracker);
+            case HARD -> new HardAI(cardTracker, AppSettings.getInstance().getAiThreads());
+            case EXPERT -> new ExpertAI(cardTracker);
         };
         aiStrategy.setAggressive(AppSettings.getInstance().isAggressive());
         engine = new GameEngine(players);
         engine.setLiveBang(AppSettings.getInstance().isLiveBang());
-
-        initGameBoard();
-        startNewRound();
     }
 
     private void initGameBoard() {
@@ -740,14 +811,16 @@ private Label createInfoLabel(String text) {
     // ======================== Round Management ========================
 
     private void startNewRound() {
-        cardTracker.reset();
-        selectedKittyCards.clear();
-        selectedPlayCards.clear();
-        waitingForHumanPlay = false;
-        waitingForKitty = false;
-        waitingForTributeReturn = false;
-
         engine.startNewRound();
+        dealRound();
+    }
+
+    /**
+     * 引擎发牌之后的界面流程：先发牌动画，再亮主。从存档恢复到扣底前时直接从这里继续。
+     */
+    private void dealRound() {
+        cardTracker.reset();
+        resetInteractionState();
 
         updateInfoPanel();
         updateAIPlayerPanes();
@@ -760,6 +833,31 @@ private void startNewRound() {
         animateDealing(this::beginTrumpDeclaration);
     }
 
+    private void resetInteractionState() {
+        selectedKittyCards.clear();
+        selectedPlayCards.clear();
+        waitingForHumanPlay = false;
+        waitingForKitty = false;
+        waitingForTributeReturn = false;
+    }
+
+    /**
+     * 从存档恢复到出牌阶段后刷新牌桌，由当前出牌者继续。
+     */
+    private void resumePlaying() {
+        updateInfoPanel();
+        updateAIPlayerPanes();
+        updateHumanHand();
+        displayBuriedKitty();
+        if (trackerSection != null && trackerSection.isVisible()) {
+            updateTrackerPanel();
+        }
+        statusLabel.setText("已恢复上次的牌局");
+
+        Timeline delay = new Timeline(new KeyFrame(Duration.millis(500), e -> processCurrentPlayer()));
+        delay.play();
+    }
+
     private void animateDealing(Runnable onComplete) {
         statusLabel.setText("发牌中...");
         humanHandPane.getChildren().clear();
@@ -1093,11 +1191,13 @@ private void beginTrumpDeclaration() {
             passBtn.setOnAction(e -> {
                 actionPane.getChildren().clear();
                 statusLabel.setText("你选择了不叫，电脑正在考虑...");
+                engine.passTrump(0);
                 aiTrumpBidding();
             });
             actionPane.getChildren().add(passBtn);
         } else {
             // 人类无法叫主，由电脑依次叫主，最后由底牌确定
+            engine.passTrump(0);
             aiTrumpBidding();
         }
     }
@@ -1138,6 +1238,7 @@ private void aiTrumpBidding() {
                     updateHumanHand();
                     afterTrumpDeclared(idx);
                 } else {
+                    engine.passTrump(idx);
                     statusLabel.setText(ai.getName() + " 不叫");
                 }
             });
@@ -1166,6 +1267,7 @@ private void humanDeclareTrump(Suit suit) {
     private void humanPassTrump() {
         actionPane.getChildren().clear();
         statusLabel.setText("你选择了不叫，电脑正在考虑...");
+        engine.passTrump(0);
 
         Timeline timeline = new Timeline();
         boolean[] declared = {false};
@@ -1178,6 +1280,7 @@ private void humanPassTrump() {
 
                 // 第一局：只有有大王的玩家才能亮王
                 if (!engine.playerHasBigJoker(idx)) {
+                    engine.passTrump(idx);
                     statusLabel.setText(p.getName() + " 没有大王，不叫");
                     return;
                 }
@@ -1317,15 +1420,13 @@ private void processCurrentPlayer() {
             showPlayButton();
             updateHumanHand();
             statusLabel.setText("轮到你出牌（选中牌后点击出牌按钮或右击出牌）");
+            // 人类思考期间让 AI 提前搜索人类出牌后的局面
+            aiStrategy.startPondering(engine);
         } else {
             waitingForHumanPlay = false;
             updateHumanHand();
             statusLabel.setText(currentPlayer.getName() + " 思考中...");
-            Timeline timeline = new Timeline(new KeyFrame(Duration.millis(500), e -> {
-                List<Card> cards = aiStrategy.chooseCards(currentPlayer, engine);
-                executePlayMulti(currentIdx, cards);
-            }));
-            timeline.play();
+            aiDecisions.submit(aiStrategy, currentPlayer, engine, cards -> executePlayMulti(currentIdx, cards));
         }
     }
 
@@ -1404,6 +1505,8 @@ private void executePlay(int playerIndex, Card card) {
     }
 
     private void executePlayMulti(int playerIndex, List<Card> cards) {
+        // 预搜索读取的是当前引擎，必须在引擎变化前停止
+        aiStrategy.stopPondering();
         // Track void suit before the engine updates state
         if (engine.getTrickCardsPlayed() > 0) {
             Card leadCard = engine.getCurrentTrick()[engine.getCurrentTrickLeader()];
@@ -1472,22 +1575,11 @@ private void showRoundResult() {
         resultText = winner + "获胜！升 " + result.getLevelChange() + " 级";
 
         // Advance team levels and check win condition
-        boolean gameWon = false;
-        if (result.getWinningTeam() >= 0 && result.getLevelChange() > 0) {
-            Rank[] levels = engine.getTeamLevels();
-            int team = result.getWinningTeam();
-            int newVal = levels[team].getValue() + result.getLevelChange();
-            if (newVal > Rank.TEN.getValue()) {
-                gameWon = true;
-                levels[team] = Rank.TEN;
-            } else {
-                for (Rank r : Rank.values()) {
-                    if (r.getValue() == newVal && r != Rank.SMALL_JOKER && r != Rank.BIG_JOKER) {
-                        levels[team] = r;
-                        break;
-                    }
-                }
-            }
+        boolean gameWon = engine.applyLevelChange(result);
+        if (gameWon) {
+            matchSave.delete();
+        } else {
+            matchSave.saveBetweenRounds(engine);
         }
 
         StringBuilder statusMsg = new StringBuilder();
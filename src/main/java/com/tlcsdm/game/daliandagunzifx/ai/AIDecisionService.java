@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 异步出牌决策：在后台线程上调用 {@link AIStrategy#chooseCards(Player, GameEngine)}，
+ * 再通过回调执行器（界面中为 {@code Platform::runLater}）把结果交回调用方线程，搜索期间不阻塞界面线程。
+ * 每次决策的耗时与搜索统计记入 {@link AIMetrics}。
+ * <p>
+ * 决策进行期间调用方不得修改传入的引擎；{@link #cancelAll()} 之后，已提交但尚未回调的决策结果会被丢弃，
+ * 用于重新开始本局或返回主界面。取消会中断执行决策的后台线程，但只有检查中断标志的策略
+ * （如 {@link HardAI}、{@link ExpertAI} 的搜索循环）才会提前结束，其余策略照常算完后结果被丢弃。
+ */
+public final class AIDecisionService implements AutoCloseable {
+
+    private final ExecutorService worker = Executors.newCachedThreadPool(
+        Thread.ofPlatform().daemon().name("ai-decision-", 0).factory());
+    private final Executor callbackExecutor;
+    private final long minimumDelayMs;
+    // 每次 cancelAll 递增，回调时与提交时的代数不一致即丢弃结果
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param callbackExecutor 执行结果回调的执行器
+     * @param minimumDelayMs   每次决策的最短耗时（毫秒），搜索提前完成时在后台线程补足，让出牌节奏保持稳定
+     */
+    public AIDecisionService(Executor callbackExecutor, long minimumDelayMs) {
+        if (minimumDelayMs < 0) {
+            throw new IllegalArgumentException("Minimum delay must not be negative");
+        }
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor);
+        this.minimumDelayMs = minimumDelayMs;
+    }
+
+    /**
+     * 提交一次出牌决策。决策完成且未被取消时，在回调执行器上以选出的牌调用 {@code onDecided}；
+     * 策略抛出的异常同样转到回调执行器上重新抛出。
+     *
+     * @return 代表这次决策的 Future，可单独取消；取消时中断执行决策的后台线程
+     */
+    public Future<List<Card>> submit(AIStrategy strategy, Player player, GameEngine engine,
+                                     Consumer<List<Card>> onDecided) {
+        DecisionTask task = new DecisionTask(strategy, player, engine, onDecided);
+        pending.add(task);
+        worker.execute(task);
+        return task;
+    }
+
+    /**
+     * 取消全部进行中的决策，此前提交的决策都不会再回调。
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        for (Future<?> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    /**
+     * 返回尚未完成的决策数量。
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 直接交给线程池执行的决策任务，{@link #cancel(boolean) cancel(true)} 会中断正在搜索的线程。
+     */
+    private final class DecisionTask extends FutureTask<List<Card>> {
+
+        private final long submitted;
+        private final Consumer<List<Card>> onDecided;
+
+        DecisionTask(AIStrategy strategy, Player player, GameEngine engine, Consumer<List<Card>> onDecided) {
+            this(generation.get(), System.nanoTime(), strategy, player, engine, onDecided);
+        }
+
+        private DecisionTask(long submitted, long startedAt, AIStrategy strategy, Player player,
+                             GameEngine engine, Consumer<List<Card>> onDecided) {
+            super(() -> {
+                List<Card> cards = AIMetrics.getInstance().chooseCards(strategy, player, engine);
+                long remainingMs = minimumDelayMs - (System.nanoTime() - startedAt) / 1_000_000;
+                if (remainingMs > 0 && generation.get() == submitted) {
+                    Thread.sleep(remainingMs);
+                }
+                return cards;
+            });
+            this.submitted = submitted;
+            this.onDecided = onDecided;
+        }
+
+        @Override
+        protected void done() {
+            pending.remove(this);
+            if (isCancelled() || generation.get() != submitted) {
+                return;
+            }
+            List<Card> cards;
+            Throwable error;
+            try {
+                cards = get();
+                error = null;
+            } catch (ExecutionException e) {
+                cards = null;
+                error = e.getCause();
+            } catch (InterruptedException e) {
+                // 任务已结束，get 不会阻塞
+                Thread.currentThread().interrupt();
+                return;
+            }
+            List<Card> decided = cards;
+            Throwable failure = error;
+            callbackExecutor.execute(() -> {
+                // 回调排队期间也可能被取消
+                if (isCancelled() || generation.get() != submitted) {
+                    return;
+                }
+                if (failure != null) {
+                    throw new IllegalStateException("AI decision failed", failure);
+                }
+                onDecided.accept(decided);
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        worker.shutdownNow();
+    }
+}
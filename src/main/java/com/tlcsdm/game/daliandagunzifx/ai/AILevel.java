@@ -30,7 +30,8 @@ public enum AILevel {
 
     EASY("简单"),
     MEDIUM("中等"),
-    HARD("困难");
+    HARD("困难"),
+    EXPERT("专家");
 
     private final String displayName;
 
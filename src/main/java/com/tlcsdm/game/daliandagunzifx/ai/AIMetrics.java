@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的 AI 决策指标登记表：按策略汇总决策次数、耗时分布、采样速度、候选数与选中出牌的评分离散度，
+ * 用于估算硬件需求和发现性能回退。每次决策同时发出一个 {@link AIDecisionEvent} JFR 事件。
+ * <p>
+ * 耗时按微秒取以 2 为底的对数分桶：第 0 桶不足 1 微秒，第 b 桶为 [2<sup>b-1</sup>, 2<sup>b</sup>) 微秒。
+ * 可在多个线程上同时记录。
+ */
+public final class AIMetrics {
+
+    /** 耗时直方图的桶数，最后一桶收纳所有更长的决策。 */
+    public static final int LATENCY_BUCKETS = 32;
+
+    private static final AIMetrics INSTANCE = new AIMetrics();
+
+    private final Map<String, StrategyMetrics> strategies = new ConcurrentHashMap<>();
+
+    AIMetrics() {
+    }
+
+    public static AIMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 调用 {@link AIStrategy#chooseCards(Player, GameEngine)} 并记录这次决策。
+     */
+    public List<Card> chooseCards(AIStrategy strategy, Player player, GameEngine engine) {
+        AIDecisionEvent event = new AIDecisionEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+        List<Card> cards = strategy.chooseCards(player, engine);
+        long nanos = System.nanoTime() - startedAt;
+        event.end();
+
+        String name = strategy.getClass().getSimpleName();
+        DecisionStats stats = strategy.getLastDecisionStats();
+        record(name, nanos, stats);
+        if (event.shouldCommit()) {
+            event.strategy = name;
+            event.seat = player.getId();
+            event.candidates = stats.candidates();
+            event.samples = stats.samples();
+            event.rolloutSteps = stats.rolloutSteps();
+            event.samplesPerSecond = nanos > 0 ? stats.samples() * 1e9 / nanos : 0;
+            event.bestScore = stats.bestScore();
+            event.scoreSpread = stats.scoreSpread();
+            event.commit();
+        }
+        return cards;
+    }
+
+    /**
+     * 记录策略 {@code strategy} 一次耗时 {@code nanos} 纳秒的决策。
+     */
+    public void record(String strategy, long nanos, DecisionStats stats) {
+        strategies.computeIfAbsent(strategy, StrategyMetrics::new).record(nanos, stats);
+    }
+
+    /**
+     * 返回某个策略到目前为止的汇总，没有记录过时返回 null。
+     */
+    public Snapshot snapshot(String strategy) {
+        StrategyMetrics metrics = strategies.get(strategy);
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * 返回所有策略的汇总，按策略名排序。
+     */
+    public List<Snapshot> snapshots() {
+        List<Snapshot> result = new ArrayList<>();
+        for (StrategyMetrics metrics : strategies.values()) {
+            result.add(metrics.snapshot());
+        }
+        result.sort(Comparator.comparing(Snapshot::strategy));
+        return result;
+    }
+
+    /**
+     * 清空全部记录。
+     */
+    public void reset() {
+        strategies.clear();
+    }
+
+    static int latencyBucket(long nanos) {
+        long micros = nanos / 1000;
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * 某个策略的指标汇总。
+     *
+     * @param strategy         策略名（类名）
+     * @param decisions        决策次数
+     * @param totalNanos       全部决策的总耗时
+     * @param maxNanos         最长的一次决策耗时
+     * @param latencyHistogram 各耗时桶的决策次数
+     * @param searches         经过搜索（候选数大于 0）的决策次数
+     * @param searchNanos      经过搜索的决策的总耗时
+     * @param candidates       经过搜索的决策的候选数之和
+     * @param samples          采样的确定化总数
+     * @param rolloutSteps     推演中打出的总牌数
+     * @param spreadCount      给出了评分离散度的决策次数
+     * @param spreadSum        这些决策的评分标准差之和
+     */
+    public record Snapshot(String strategy, long decisions, long totalNanos, long maxNanos, long[] latencyHistogram,
+                           long searches, long searchNanos, long candidates, long samples, long rolloutSteps,
+                           long spreadCount, double spreadSum) {
+
+        public double meanLatencyMillis() {
+            return decisions == 0 ? 0 : totalNanos / 1e6 / decisions;
+        }
+
+        /**
+         * 耗时的 {@code quantile} 分位数（0~1）所在桶的上界，单位毫秒。
+         */
+        public double latencyPercentileMillis(double quantile) {
+            long threshold = (long) Math.ceil(quantile * decisions);
+            long seen = 0;
+            for (int b = 0; b < latencyHistogram.length; b++) {
+                seen += latencyHistogram[b];
+                if (seen >= threshold && seen > 0) {
+                    return (1L << b) / 1000.0;
+                }
+            }
+            return maxNanos / 1e6;
+        }
+
+        /**
+         * 搜索期间每秒采样的确定化数。
+         */
+        public double samplesPerSecond() {
+            return searchNanos == 0 ? 0 : samples * 1e9 / searchNanos;
+        }
+
+        public double meanCandidates() {
+            return searches == 0 ? 0 : (double) candidates / searches;
+        }
+
+        public double meanScoreSpread() {
+            return spreadCount == 0 ? Double.NaN : spreadSum / spreadCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s：决策 %d 次，平均 %.2f ms，P50 ≤ %.2f ms，P99 ≤ %.2f ms，最长 %.2f ms；"
+                    + "搜索 %d 次，平均候选 %.1f，%.0f 次采样/秒，推演 %d 张，评分标准差 %.3f",
+                strategy, decisions, meanLatencyMillis(), latencyPercentileMillis(0.5),
+                latencyPercentileMillis(0.99), maxNanos / 1e6, searches, meanCandidates(), samplesPerSecond(),
+                rolloutSteps, meanScoreSpread());
+        }
+    }
+
+    private static final class StrategyMetrics {
+
+        private final String strategy;
+        private final LongAdder decisions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+        private final LongAdder searches = new LongAdder();
+        private final LongAdder searchNanos = new LongAdder();
+        private final LongAdder candidates = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder rolloutSteps = new LongAdder();
+        private final LongAdder spreadCount = new LongAdder();
+        private final DoubleAdder spreadSum = new DoubleAdder();
+
+        StrategyMetrics(String strategy) {
+            this.strategy = strategy;
+        }
+
+        void record(long nanos, DecisionStats stats) {
+            decisions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            latencyHistogram.incrementAndGet(latencyBucket(nanos));
+            if (stats.candidates() > 0) {
+                searches.increment();
+                searchNanos.add(nanos);
+                candidates.add(stats.candidates());
+            }
+            samples.add(stats.samples());
+            rolloutSteps.add(stats.rolloutSteps());
+            if (!Double.isNaN(stats.scoreSpread())) {
+                spreadCount.increment();
+                spreadSum.add(stats.scoreSpread());
+            }
+        }
+
+        Snapshot snapshot() {
+            long[] histogram = new long[LATENCY_BUCKETS];
+            for (int b = 0; b < LATENCY_BUCKETS; b++) {
+                histogram[b] = latencyHistogram.get(b);
+            }
+            return new Snapshot(strategy, decisions.sum(), totalNanos.sum(), maxNanos.get(), histogram,
+                searches.sum(), searchNanos.sum(), candidates.sum(), samples.sum(), rolloutSteps.sum(),
+                spreadCount.sum(), spreadSum.sum());
+        }
+    }
+}
@@ -56,4 +56,28 @@ default List<Card> chooseCards(Player player, GameEngine engine) {
      */
     default void setAggressive(boolean aggressive) {
     }
+
+    /**
+     * 轮到人类玩家出牌时开始后台预搜索（pondering），为人类出牌后的 AI 决策提前积累统计。
+     * 在 {@link #stopPondering()} 返回之前调用方不得修改 {@code engine}。默认实现为空操作。
+     *
+     * @param engine 当前牌局，轮到人类玩家出牌
+     */
+    default void startPondering(GameEngine engine) {
+    }
+
+    /**
+     * 停止预搜索并等待后台搜索退出，返回后调用方才可以修改牌局。已积累的统计保留给下一次决策。
+     * 没有进行中的预搜索时为空操作。
+     */
+    default void stopPondering() {
+    }
+
+    /**
+     * 上一次 {@link #chooseCards(Player, GameEngine)} 的搜索统计，供 {@link AIMetrics} 汇总。
+     * 不做搜索的策略沿用默认实现 {@link DecisionStats#NONE}。
+     */
+    default DecisionStats getLastDecisionStats() {
+        return DecisionStats.NONE;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+/**
+ * 一次出牌决策的搜索统计，由搜索型策略在决策结束时给出。
+ *
+ * @param candidates   参与评估的候选出牌数，启发式直接决定时为 0
+ * @param samples      本次决策采样的确定化数
+ * @param rolloutSteps 推演中打出的牌数
+ * @param bestScore    选中出牌的平均评分，没有搜索时为 NaN
+ * @param scoreSpread  选中出牌各次模拟评分的标准差，模拟不足两次时为 NaN
+ */
+public record DecisionStats(int candidates, long samples, long rolloutSteps, double bestScore, double scoreSpread) {
+
+    /** 没有经过搜索的决策。 */
+    public static final DecisionStats NONE = new DecisionStats(0, 0, 0, Double.NaN, Double.NaN);
+
+    /**
+     * 由 {@code count} 次模拟的评分和与平方和计算均值和标准差。
+     */
+    static DecisionStats of(int candidates, long samples, long rolloutSteps,
+                            double totalScore, double squaredScore, int count) {
+        if (count == 0) {
+            return new DecisionStats(candidates, samples, rolloutSteps, Double.NaN, Double.NaN);
+        }
+        double mean = totalScore / count;
+        double spread = count < 2 ? Double.NaN
+            : Math.sqrt(Math.max(0, (squaredScore - totalScore * mean) / (count - 1)));
+        return new DecisionStats(candidates, samples, rolloutSteps, mean, spread);
+    }
+}
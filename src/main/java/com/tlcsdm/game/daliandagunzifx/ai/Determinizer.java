@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.CardTransfer;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 确定化采样：保留 AI 自己已知的牌，把看不到的牌按约束随机重新分配给其余三家（非庄家视角下还包括底牌）。
+ * 供各搜索型 AI 共用。
+ * <p>
+ * 约束包括：各家与底牌的张数严格不变；记牌器记录的断门（按有效花色）；进贡/还贡当众转移的牌仍在接收方手里
+ * （接收方是庄家时也可能已被扣进底牌）。每张牌先算出允许去向的位掩码，按可选去向从少到多依次分配，
+ * 去向按剩余空位加权随机；某张牌的所有可选去向都已满时，沿增广路把已分配的牌挪到其他合法去向腾出位置。
+ * 只有约束本身互相矛盾（记牌器数据有误）时才忽略约束补满张数。
+ * <p>
+ * 给出 {@link HandInference} 时，座位去向的权重再乘以该玩家持有这张牌的似然，底牌去向的似然视为 1。
+ */
+final class Determinizer {
+
+    /** 去向下标 0~3 为座位，4 为底牌。 */
+    private static final int KITTY = 4;
+    private static final int TARGETS = 5;
+
+    private Determinizer() {
+    }
+
+    /**
+     * 复制 {@code engine} 并按约束随机重新分配 {@code aiIndex} 看不到的牌，只读访问原引擎。
+     */
+    static GameEngine sample(GameEngine engine, int aiIndex, CardTracker cardTracker, RandomGenerator rng) {
+        return sample(engine, aiIndex, cardTracker, null, rng);
+    }
+
+    /**
+     * 同 {@link #sample(GameEngine, int, CardTracker, RandomGenerator)}，并按 {@code inference}（可为 null）
+     * 的似然加权分配。
+     */
+    static GameEngine sample(GameEngine engine, int aiIndex, CardTracker cardTracker,
+                             HandInference inference, RandomGenerator rng) {
+        GameEngine sim = engine.copy();
+        Player[] players = sim.getPlayers();
+        List<Card> kitty = sim.getKitty();
+        // 庄家自己扣的底，底牌对庄家是已知的
+        boolean kittyHidden = aiIndex != engine.getDealerIndex() && !kitty.isEmpty();
+
+        int[] capacity = new int[TARGETS];
+        List<Card> unknown = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            if (i == aiIndex) continue;
+            capacity[i] = players[i].getHand().size();
+            unknown.addAll(players[i].getHand());
+            players[i].getHand().clear();
+        }
+        if (kittyHidden) {
+            capacity[KITTY] = kitty.size();
+            unknown.addAll(kitty);
+            kitty.clear();
+        }
+
+        int[] allowed = allowedTargets(engine, aiIndex, cardTracker, unknown, capacity);
+        double[][] likelihood = null;
+        if (inference != null) {
+            likelihood = new double[unknown.size()][TARGETS];
+            for (int i = 0; i < likelihood.length; i++) {
+                for (int p = 0; p < 4; p++) {
+                    likelihood[i][p] = inference.weight(p, unknown.get(i));
+                }
+                likelihood[i][KITTY] = 1.0;
+            }
+        }
+        int[] owner = assign(allowed, likelihood, capacity, rng);
+
+        List<List<Card>> dealt = new ArrayList<>(TARGETS);
+        for (int t = 0; t < TARGETS; t++) {
+            dealt.add(new ArrayList<>(capacity[t]));
+        }
+        for (int i = 0; i < owner.length; i++) {
+            dealt.get(owner[i]).add(unknown.get(i));
+        }
+        for (int i = 0; i < 4; i++) {
+            if (i != aiIndex) {
+                players[i].addCards(dealt.get(i));
+            }
+        }
+        kitty.addAll(dealt.get(KITTY));
+        sim.recomputeStateHash();
+        return sim;
+    }
+
+    /**
+     * 计算每张未知牌允许的去向位掩码（已去掉容量为 0 的去向）。
+     */
+    static int[] allowedTargets(GameEngine engine, int aiIndex, CardTracker cardTracker,
+                                List<Card> unknown, int[] capacity) {
+        int open = 0;
+        for (int t = 0; t < TARGETS; t++) {
+            if (capacity[t] > 0) open |= 1 << t;
+        }
+        // 同一张牌被转移多次时以最后一次为准
+        Map<Card, Integer> pinned = new HashMap<>();
+        for (CardTransfer transfer : engine.getCardTransfers()) {
+            pinned.put(transfer.card(), transfer.toIndex());
+        }
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        int dealer = engine.getDealerIndex();
+
+        int[] allowed = new int[unknown.size()];
+        for (int i = 0; i < allowed.length; i++) {
+            Card card = unknown.get(i);
+            int mask = 1 << KITTY;
+            for (int p = 0; p < 4; p++) {
+                if (p != aiIndex && (trumpInfo == null
+                    || !cardTracker.isVoid(p, trumpInfo.getEffectiveSuit(card)))) {
+                    mask |= 1 << p;
+                }
+            }
+            mask &= open;
+            Integer receiver = pinned.get(card);
+            if (receiver != null && receiver != aiIndex) {
+                int pin = 1 << receiver;
+                if (receiver == dealer) pin |= 1 << KITTY;
+                pin &= open;
+                // 转移记录是确知的，与断门推断冲突时以转移记录为准
+                mask = (mask & pin) != 0 ? mask & pin : (pin != 0 ? pin : mask);
+            }
+            allowed[i] = mask;
+        }
+        return allowed;
+    }
+
+    /**
+     * 在满足 {@code allowed} 与 {@code capacity} 的前提下随机分配，返回每张牌的去向。
+     * {@code likelihood}（可为 null）给出每张牌落在各去向的相对似然。
+     * 约束无解时，无法安置的牌放到任意仍有空位的去向。
+     */
+    static int[] assign(int[] allowed, double[][] likelihood, int[] capacity, RandomGenerator rng) {
+        int n = allowed.length;
+        // 可选去向少的牌先分配；同样受限的牌之间随机打乱
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        int[] sorted = new int[n];
+        int k = 0;
+        for (int bits = 1; bits <= TARGETS; bits++) {
+            for (int index : order) {
+                if (Integer.bitCount(allowed[index]) == bits) sorted[k++] = index;
+            }
+        }
+        for (int index : order) {
+            if (allowed[index] == 0) sorted[k++] = index;
+        }
+
+        int[] owner = new int[n];
+        int[][] members = new int[TARGETS][];
+        int[] size = new int[TARGETS];
+        for (int t = 0; t < TARGETS; t++) {
+            members[t] = new int[capacity[t]];
+        }
+        List<Integer> stranded = new ArrayList<>();
+        for (int index : sorted) {
+            int target = pickTarget(allowed[index], likelihood == null ? null : likelihood[index], capacity, size, rng);
+            if (target < 0) {
+                target = repair(allowed[index], allowed, capacity, members, size, owner);
+            }
+            if (target < 0) {
+                stranded.add(index);
+                continue;
+            }
+            owner[index] = target;
+            members[target][size[target]++] = index;
+        }
+        for (int index : stranded) {
+            int target = pickTarget((1 << TARGETS) - 1, null, capacity, size, rng);
+            owner[index] = target;
+            members[target][size[target]++] = index;
+        }
+        return owner;
+    }
+
+    /**
+     * 在 {@code mask} 中仍有空位的去向里随机挑一个，权重为剩余空位数乘以似然；没有空位时返回 -1。
+     */
+    private static int pickTarget(int mask, double[] likelihood, int[] capacity, int[] size, RandomGenerator rng) {
+        double total = 0;
+        int last = -1;
+        for (int t = 0; t < TARGETS; t++) {
+            if ((mask & (1 << t)) == 0 || size[t] >= capacity[t]) continue;
+            total += (capacity[t] - size[t]) * (likelihood == null ? 1.0 : likelihood[t]);
+            last = t;
+        }
+        if (last < 0) return -1;
+        double r = rng.nextDouble() * total;
+        for (int t = 0; t < TARGETS; t++) {
+            if ((mask & (1 << t)) == 0 || size[t] >= capacity[t]) continue;
+            r -= (capacity[t] - size[t]) * (likelihood == null ? 1.0 : likelihood[t]);
+            if (r < 0) return t;
+        }
+        // 浮点误差可能让 r 略有剩余，落到最后一个可选去向
+        return last;
+    }
+
+    /**
+     * 从 {@code mask} 中的去向出发广度优先寻找增广路：依次把路径上的牌挪到下一个合法去向，
+     * 直到落在仍有空位的去向，从而在起点腾出一个位置。返回腾出位置的去向，找不到时返回 -1。
+     */
+    private static int repair(int mask, int[] allowed, int[] capacity, int[][] members, int[] size, int[] owner) {
+        int[] previous = new int[TARGETS];
+        int[] via = new int[TARGETS];
+        Arrays.fill(previous, -2);
+        int[] queue = new int[TARGETS];
+        int head = 0;
+        int tail = 0;
+        for (int t = 0; t < TARGETS; t++) {
+            if ((mask & (1 << t)) != 0) {
+                previous[t] = -1;
+                queue[tail++] = t;
+            }
+        }
+        while (head < tail) {
+            int from = queue[head++];
+            for (int m = 0; m < size[from]; m++) {
+                int card = members[from][m];
+                for (int to = 0; to < TARGETS; to++) {
+                    if ((allowed[card] & (1 << to)) == 0 || previous[to] != -2) continue;
+                    previous[to] = from;
+                    via[to] = m;
+                    if (size[to] < capacity[to]) {
+                        return shift(to, previous, via, members, size, owner);
+                    }
+                    queue[tail++] = to;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int shift(int end, int[] previous, int[] via, int[][] members, int[] size, int[] owner) {
+        int to = end;
+        while (previous[to] != -1) {
+            int from = previous[to];
+            int slot = via[to];
+            int card = members[from][slot];
+            members[to][size[to]++] = card;
+            owner[card] = to;
+            // 用末尾元素填补空位；沿路径回溯时 from 的成员只在本步被改动，之前记下的槽位仍然有效
+            members[from][slot] = members[from][--size[from]];
+            to = from;
+        }
+        return to;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 双明手求解器：在所有手牌可见的确定化上，用 alpha-beta 搜索求出双方最优出牌时本局闲家的最终得分。
+ * <p>
+ * 闲家一方取最大、庄家一方取最小；最后一墩的底分翻倍由 {@link GameEngine#evaluateTrick()} 计入。
+ * 置换表中存放的是从该局面起闲家还能拿到的分数，与已得分数无关，因此不同确定化、不同线程可以共享同一张表。
+ * 走法排序：领出时先试大牌；跟牌时本方赢着先垫分牌，对方赢着先试大牌。
+ * <p>
+ * 实例不是线程安全的（内部复用走法生成器），每个线程各用一个实例。
+ */
+final class DoubleDummySolver {
+
+    private final TranspositionTable table;
+    private LegalMoveGenerator[] generators = new LegalMoveGenerator[0];
+    private int[][] orders = new int[0][];
+    private int[][] keys = new int[0][];
+    private long nodes;
+
+    DoubleDummySolver(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * 从 {@code engine} 当前局面求解到本局结束，返回闲家的最终得分。{@code engine} 必须处于出牌阶段，
+     * 求解过程中用出牌与撤销推演，返回前恢复原状。
+     */
+    int solve(GameEngine engine) {
+        int mark = engine.getUndoDepth();
+        try {
+            return engine.getDefenderPoints() + search(engine, 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } finally {
+            engine.undoTo(mark);
+        }
+    }
+
+    /**
+     * 累计搜索过的节点数。
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 返回从当前局面起闲家还能得到的分数。
+     */
+    private int search(GameEngine engine, int ply, int alpha, int beta) {
+        nodes++;
+        if (engine.getPhase() != GamePhase.PLAYING) {
+            return 0;
+        }
+        if (engine.getTrickCardsPlayed() == 4) {
+            int before = engine.getDefenderPoints();
+            engine.evaluateTrick();
+            int gained = engine.getDefenderPoints() - before;
+            int rest = search(engine, ply, sub(alpha, gained), sub(beta, gained));
+            engine.undo();
+            return gained + rest;
+        }
+
+        long hash = engine.getStateHash();
+        long entry = table.probe(hash);
+        if (entry != TranspositionTable.MISS) {
+            int value = TranspositionTable.value(entry);
+            switch (TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT -> {
+                    return value;
+                }
+                case TranspositionTable.LOWER_BOUND -> alpha = Math.max(alpha, value);
+                default -> beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                return value;
+            }
+        }
+
+        int alphaBefore = alpha;
+        int betaBefore = beta;
+        int current = engine.getCurrentPlayerIndex();
+        int declarerTeam = engine.getPlayers()[engine.getDealerIndex()].getTeam();
+        boolean maximizing = engine.getPlayers()[current].getTeam() != declarerTeam;
+
+        ensurePly(ply);
+        LegalMoveGenerator generator = generators[ply];
+        int count = generator.generate(engine);
+        int[] order = orderMoves(engine, generator, count, ply);
+
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int k = 0; k < count; k++) {
+            List<Card> move = generator.move(order[k]);
+            engine.playCards(current, move);
+            int value = search(engine, ply + 1, alpha, beta);
+            engine.undo();
+            if (maximizing) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= alphaBefore ? TranspositionTable.UPPER_BOUND
+            : best >= betaBefore ? TranspositionTable.LOWER_BOUND
+            : TranspositionTable.EXACT;
+        table.store(hash, best, 156 - engine.getTotalCardsPlayed(), bound);
+        return best;
+    }
+
+    private int[] orderMoves(GameEngine engine, LegalMoveGenerator generator, int count, int ply) {
+        if (orders[ply].length < count) {
+            orders[ply] = new int[count];
+            keys[ply] = new int[count];
+        }
+        int[] order = orders[ply];
+        int[] key = keys[ply];
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        int current = engine.getCurrentPlayerIndex();
+        boolean leading = engine.getTrickCardsPlayed() == 0;
+        boolean ownSideWinning = !leading && currentWinner(engine, trumpInfo) % 2 == current % 2;
+        for (int i = 0; i < count; i++) {
+            int strength = 0;
+            int points = 0;
+            for (int p = 0; p < generator.moveSize(i); p++) {
+                Card card = generator.card(i, p);
+                strength = Math.max(strength, trumpInfo.getCardStrength(card));
+                points += card.getPoints();
+            }
+            key[i] = ownSideWinning ? points * 2000 - strength : strength;
+            order[i] = i;
+        }
+        // 走法不多，插入排序按 key 从大到小
+        for (int i = 1; i < count; i++) {
+            int index = order[i];
+            int j = i - 1;
+            while (j >= 0 && key[order[j]] < key[index]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+        return order;
+    }
+
+    /**
+     * 当前墩暂时最大的出牌者，只比较每手中最大的能参与比较的牌，仅用于走法排序。
+     */
+    private static int currentWinner(GameEngine engine, TrumpInfo trumpInfo) {
+        List<Card>[] trick = engine.getCurrentTrickCards();
+        int leader = engine.getCurrentTrickLeader();
+        Suit leadSuit = trumpInfo.getEffectiveSuit(trick[leader].get(0));
+        int winner = leader;
+        int best = -1;
+        for (int offset = 0; offset < engine.getTrickCardsPlayed(); offset++) {
+            int seat = (leader + offset) % 4;
+            for (Card card : trick[seat]) {
+                if (!trumpInfo.isTrump(card) && trumpInfo.getEffectiveSuit(card) != leadSuit) continue;
+                int strength = trumpInfo.getCardStrength(card);
+                if (strength > best) {
+                    best = strength;
+                    winner = seat;
+                }
+            }
+        }
+        return winner;
+    }
+
+    private void ensurePly(int ply) {
+        if (ply < generators.length) {
+            return;
+        }
+        int length = Math.max(ply + 1, generators.length * 2);
+        int old = generators.length;
+        generators = Arrays.copyOf(generators, length);
+        orders = Arrays.copyOf(orders, length);
+        keys = Arrays.copyOf(keys, length);
+        for (int i = old; i < length; i++) {
+            generators[i] = new LegalMoveGenerator();
+            orders[i] = new int[16];
+            keys[i] = new int[16];
+        }
+    }
+
+    /**
+     * 窗口边界减去已得分数，避免无穷边界溢出。
+     */
+    private static int sub(int bound, int gained) {
+        if (bound == Integer.MIN_VALUE || bound == Integer.MAX_VALUE) {
+            return bound;
+        }
+        return bound - gained;
+    }
+}
@@ -27,6 +27,7 @@
 package com.tlcsdm.game.daliandagunzifx.ai;
 
 import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
 import com.tlcsdm.game.daliandagunzifx.engine.Player;
 import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
 import com.tlcsdm.game.daliandagunzifx.model.Card;
@@ -40,7 +41,7 @@
 public class EasyAI implements AIStrategy {
 
     // 小掉主策略的强度上限：低于此值的主牌视为"小主"（排除2/主牌级/王牌）
-    private static final int SMALL_TRUMP_THRESHOLD = 950;
+    static final int SMALL_TRUMP_THRESHOLD = 950;
     // 排序优先级偏移：特殊主牌/分牌排到最后
     protected static final int SORT_PRIORITY_OFFSET = 10000;
     // 分牌排序惩罚偏移：使分牌排在普通牌之后、特殊主牌之前，
@@ -855,12 +856,6 @@ protected int getCurrentTrickWinner(GameEngine engine) {
     }
 
     protected List<Card> getValidCards(Player player, GameEngine engine) {
-        List<Card> valid = new ArrayList<>();
-        for (Card card : player.getHand()) {
-            if (engine.isValidPlay(player.getId(), card)) {
-                valid.add(card);
-            }
-        }
-        return valid;
+        return LegalMoveGenerator.legalSingles(engine, player);
     }
 }
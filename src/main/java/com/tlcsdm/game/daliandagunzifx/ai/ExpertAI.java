@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * 专家 AI：信息集蒙特卡洛树搜索（单观察者 ISMCTS）。
+ * <p>
+ * 与 {@link HardAI} 对每个顶层候选独立做确定化模拟不同，这里所有迭代共享一棵以信息集为节点的搜索树：
+ * 每次迭代先采样一个确定化，再沿树向下只在该确定化下合法的出牌中按 UCB 选择，扩展一个新节点后用
+ * {@link EasyAI} 推演到局末并回传收益。出牌按牌面组合区分，同牌面的不同牌视为同一手，
+ * 因此其他玩家的出牌在不同确定化之间可以共享统计。
+ * <p>
+ * 同一局内 AI 两次出牌之间，根据引擎撤销栈中的出牌历史沿树下行，复用上一次搜索留下的子树。
+ * 一个实例可以同时为多个座位出牌，每个座位各自保留搜索树。
+ */
+public class ExpertAI implements AIStrategy {
+
+    private static final long TIME_LIMIT_MS = 1500;
+    private static final int MAX_SIMULATION_ITERATIONS = 200;
+    private static final double EXPLORATION = 0.7;
+    private static final double EPSILON = 0.1;
+    // 收益归一化到 [0, 1]：胜负占大头，得分比例用于区分同为胜/负的结果
+    private static final double WIN_REWARD = 0.6;
+    private static final double MAX_DEFENDER_POINTS = 300.0;
+
+    private final CardTracker cardTracker;
+    private final EasyAI rolloutAI;
+    private final MediumAI fallbackAI;
+    private final long timeLimitMs;
+    private final int maxIterations;
+    private final RandomGenerator random;
+    private final LegalMoveGenerator generator = new LegalMoveGenerator();
+    private final RolloutPolicy rolloutPolicy = new RolloutPolicy();
+    private int[] untried = new int[64];
+
+    // 每个座位上一次决策后的子树，用于在同一局内复用
+    private final SearchState[] states = new SearchState[4];
+    private int lastIterations;
+    private int lastReusedVisits;
+    private long rolloutSteps;
+    private DecisionStats lastDecisionStats = DecisionStats.NONE;
+
+    public ExpertAI(CardTracker cardTracker) {
+        this(cardTracker, new SplittableRandom());
+    }
+
+    public ExpertAI(CardTracker cardTracker, RandomGenerator random) {
+        this(cardTracker, TIME_LIMIT_MS, Integer.MAX_VALUE, random);
+    }
+
+    /**
+     * @param cardTracker   记牌器
+     * @param timeLimitMs   每次决策的思考时限（毫秒）
+     * @param maxIterations 每次决策的最大迭代次数，与时限先到者为准；固定迭代次数并注入相同种子时结果可复现
+     * @param random        搜索使用的随机数生成器
+     */
+    public ExpertAI(CardTracker cardTracker, long timeLimitMs, int maxIterations, RandomGenerator random) {
+        if (timeLimitMs <= 0) {
+            throw new IllegalArgumentException("Time limit must be positive");
+        }
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1");
+        }
+        this.cardTracker = cardTracker;
+        this.rolloutAI = new EasyAI();
+        this.fallbackAI = new MediumAI(cardTracker);
+        this.timeLimitMs = timeLimitMs;
+        this.maxIterations = maxIterations;
+        this.random = Objects.requireNonNull(random);
+    }
+
+    @Override
+    public void setAggressive(boolean aggressive) {
+        rolloutAI.setAggressive(aggressive);
+        fallbackAI.setAggressive(aggressive);
+    }
+
+    @Override
+    public Suit chooseTrumpSuit(Player player, Rank trumpRank) {
+        return fallbackAI.chooseTrumpSuit(player, trumpRank);
+    }
+
+    @Override
+    public List<Card> chooseKittyCards(Player player, List<Card> kitty, TrumpInfo trumpInfo) {
+        return fallbackAI.chooseKittyCards(player, kitty, trumpInfo);
+    }
+
+    @Override
+    public Card chooseCard(Player player, GameEngine engine) {
+        // 领出时搜索可能选中棒子/滚子，其中任一张单独领出同样合法
+        return chooseCards(player, engine).get(0);
+    }
+
+    @Override
+    public List<Card> chooseCards(Player player, GameEngine engine) {
+        int seat = player.getId();
+        int moveCount = generator.generate(engine);
+        lastDecisionStats = DecisionStats.NONE;
+        if (moveCount == 0) {
+            states[seat] = null;
+            return fallbackAI.chooseCards(player, engine);
+        }
+        if (moveCount == 1) {
+            states[seat] = null;
+            return generator.move(0);
+        }
+
+        Node root = reuseSubtree(seat, engine);
+        lastReusedVisits = root.visits;
+        search(root, seat, engine);
+
+        // 选访问次数最多的根子节点，并映射回真实牌局中的牌
+        moveCount = generator.generate(engine);
+        int bestMove = -1;
+        Node bestChild = null;
+        for (int i = 0; i < moveCount; i++) {
+            Node child = root.findChild(moveKey(i));
+            if (child != null && (bestChild == null || child.visits > bestChild.visits)) {
+                bestChild = child;
+                bestMove = i;
+            }
+        }
+        if (bestChild == null) {
+            states[seat] = null;
+            return fallbackAI.chooseCards(player, engine);
+        }
+        lastDecisionStats = DecisionStats.of(moveCount, lastIterations, rolloutSteps,
+            bestChild.reward, bestChild.squaredReward, bestChild.visits);
+        List<Card> move = generator.move(bestMove);
+        states[seat] = new SearchState(engine, engine.getRoundNumber(), engine.getUndoDepth(), bestChild);
+        return move;
+    }
+
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
+
+    /**
+     * 上一次决策实际完成的迭代次数。
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    @Override
+    public DecisionStats getLastDecisionStats() {
+        return lastDecisionStats;
+    }
+
+    /**
+     * 上一次决策开始时从复用子树继承的根节点访问次数，0 表示没有复用。
+     */
+    int getLastReusedVisits() {
+        return lastReusedVisits;
+    }
+
+    /**
+     * 按出牌历史从上一次选中的子节点沿树下行到当前信息集；历史对不上（换局、换引擎、走出树外）时新建根节点。
+     */
+    private Node reuseSubtree(int seat, GameEngine engine) {
+        SearchState state = states[seat];
+        states[seat] = null;
+        int depth = engine.getUndoDepth();
+        if (state == null || state.engine != engine || state.roundNumber != engine.getRoundNumber()
+            || state.undoDepth >= depth || engine.getHistoryPlayer(state.undoDepth) != seat
+            || historyKey(engine, state.undoDepth) != state.node.key) {
+            return new Node(null, 0, -1);
+        }
+        Node node = state.node;
+        for (int d = state.undoDepth + 1; d < depth && node != null; d++) {
+            if (engine.getHistoryPlayer(d) >= 0) {
+                node = node.findChild(historyKey(engine, d));
+            }
+        }
+        if (node == null) {
+            return new Node(null, 0, -1);
+        }
+        node.parent = null;
+        return node;
+    }
+
+    private void search(Node root, int seat, GameEngine engine) {
+        long deadline = System.currentTimeMillis() + timeLimitMs;
+        int iterations = 0;
+        rolloutSteps = 0;
+        // 决策被取消时线程会被中断，提前结束搜索
+        while (iterations < maxIterations && System.currentTimeMillis() < deadline
+            && !Thread.currentThread().isInterrupted()) {
+            GameEngine sim = Determinizer.sample(engine, seat, cardTracker, random);
+            Node leaf = selectAndExpand(root, sim);
+            double defenderReward = rollout(sim);
+            int declarerTeam = sim.getPlayers()[sim.getDealerIndex()].getTeam();
+            for (Node node = leaf; node != null; node = node.parent) {
+                node.visits++;
+                if (node.player >= 0) {
+                    double reward = node.player % 2 == declarerTeam ? 1.0 - defenderReward : defenderReward;
+                    node.reward += reward;
+                    node.squaredReward += reward * reward;
+                }
+            }
+            iterations++;
+        }
+        lastIterations = iterations;
+    }
+
+    /**
+     * 在确定化 {@code sim} 上从根向下选择：只考虑当前确定化下合法的子节点，
+     * 遇到尚未尝试的出牌即扩展一个节点并返回；{@code sim} 同步前进到返回节点对应的状态。
+     */
+    private Node selectAndExpand(Node root, GameEngine sim) {
+        Node node = root;
+        while (sim.getPhase() == GamePhase.PLAYING) {
+            if (sim.getTrickCardsPlayed() == 4) {
+                sim.evaluateTrick();
+                continue;
+            }
+            int player = sim.getCurrentPlayerIndex();
+            int moveCount = generator.generate(sim);
+            if (moveCount == 0) {
+                break;
+            }
+            if (untried.length < moveCount) {
+                untried = new int[Math.max(moveCount, untried.length * 2)];
+            }
+            int untriedCount = 0;
+            int bestMove = -1;
+            Node bestChild = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < moveCount; i++) {
+                Node child = node.findChild(moveKey(i));
+                if (child == null) {
+                    untried[untriedCount++] = i;
+                    continue;
+                }
+                child.availability++;
+                double value = child.reward / child.visits
+                    + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    bestChild = child;
+                    bestMove = i;
+                }
+            }
+            if (untriedCount > 0) {
+                int move = untried[random.nextInt(untriedCount)];
+                Node child = node.addChild(moveKey(move), player);
+                sim.playCards(player, generator.move(move));
+                return child;
+            }
+            sim.playCards(player, generator.move(bestMove));
+            node = bestChild;
+        }
+        return node;
+    }
+
+    /**
+     * 用 ε-greedy 的 {@link RolloutPolicy} 把确定化推演到局末，返回闲家方的归一化收益。
+     */
+    private double rollout(GameEngine sim) {
+        int iter = 0;
+        while (sim.getPhase() == GamePhase.PLAYING && iter++ < MAX_SIMULATION_ITERATIONS) {
+            if (sim.getTrickCardsPlayed() == 4) {
+                sim.evaluateTrick();
+                continue;
+            }
+            int currentIndex = sim.getCurrentPlayerIndex();
+            try {
+                List<Card> play = null;
+                if (random.nextDouble() < EPSILON) {
+                    play = rolloutPolicy.randomMove(sim, random);
+                }
+                if (play == null) {
+                    play = rolloutPolicy.choose(sim, rolloutAI.isAggressive());
+                }
+                sim.playCards(currentIndex, play);
+                rolloutSteps += play.size();
+            } catch (Exception e) {
+                break;
+            }
+        }
+        int defenderPoints = sim.getDefenderPoints();
+        double reward = Math.min(defenderPoints, MAX_DEFENDER_POINTS) / MAX_DEFENDER_POINTS * (1.0 - WIN_REWARD);
+        if (defenderPoints >= 120) {
+            reward += WIN_REWARD;
+        }
+        return reward;
+    }
+
+    private long moveKey(int move) {
+        int size = generator.moveSize(move);
+        int[] faces = new int[size];
+        for (int i = 0; i < size; i++) {
+            faces[i] = generator.card(move, i).getFaceIndex();
+        }
+        return faceKey(faces);
+    }
+
+    private static long historyKey(GameEngine engine, int depth) {
+        return faceKey(engine.getHistoryCards(depth));
+    }
+
+    static long faceKey(List<Card> cards) {
+        int[] faces = new int[cards.size()];
+        for (int i = 0; i < faces.length; i++) {
+            faces[i] = cards.get(i).getFaceIndex();
+        }
+        return faceKey(faces);
+    }
+
+    /**
+     * 把一手牌的牌面多重集编码为 long：排序后每个牌面占 7 位，与牌的 id 和顺序无关。
+     */
+    static long faceKey(int[] faces) {
+        Arrays.sort(faces);
+        long key = 0;
+        for (int face : faces) {
+            key = (key << 7) | (face + 1);
+        }
+        return key;
+    }
+
+    /**
+     * 信息集树节点，对应某位玩家打出某种牌面组合后的信息集。
+     */
+    private static final class Node {
+
+        private Node parent;
+        private final long key;
+        // 做出这一手的玩家，根节点为 -1
+        private final int player;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        // 该节点在父节点被访问时合法的次数，替代 UCB 中父节点的访问次数
+        private int availability;
+        // 从 player 所在队伍视角累计的收益
+        private double reward;
+        private double squaredReward;
+
+        Node(Node parent, long key, int player) {
+            this.parent = parent;
+            this.key = key;
+            this.player = player;
+        }
+
+        Node findChild(long key) {
+            for (Node child : children) {
+                if (child.key == key) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node addChild(long key, int player) {
+            Node child = new Node(this, key, player);
+            child.availability = 1;
+            children.add(child);
+            return child;
+        }
+    }
+
+    /**
+     * 某个座位上一次决策的位置：所在引擎与局数、决策时的撤销栈深度，以及选中出牌对应的子节点。
+     */
+    private record SearchState(GameEngine engine, int roundNumber, int undoDepth, Node node) {
+    }
+}
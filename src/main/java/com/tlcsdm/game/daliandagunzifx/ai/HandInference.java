@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.CardTransfer;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 手牌推断：根据本局公开的行为，为每名玩家的每种牌面估计一个相对似然，供确定化采样加权。
+ * <p>
+ * 断门等确定信息由记牌器和 {@link Determinizer} 的硬约束处理，这里只记录软证据。
+ * 每条证据把相关牌面的权重乘上一个系数：
+ * <ul>
+ *     <li>叫主：非首局叫主者多半有所叫花色的级牌，不叫者各花色级牌多半不足两张；首局亮王者有大王，不亮者没有</li>
+ *     <li>进贡：进贡方交出的是最大的牌，手里不会有更大的牌；还贡方还的是最小的非王牌</li>
+ *     <li>跟单张时对手赢着分墩却没有压过，同花色更大的牌多半没有；没有该花色也不用主毙，多半没有主</li>
+ *     <li>最后一个出牌、对家已赢下这一墩却没有垫分，同花色的分牌多半没有</li>
+ * </ul>
+ * 由引擎当前状态与本局出牌历史一次性算出，之后只读，可在多个采样线程间共享。
+ */
+final class HandInference {
+
+    static final double DECLARED_TRUMP_FACTOR = 4.0;
+    static final double PASSED_TRUMP_FACTOR = 0.5;
+    static final double FIRST_ROUND_PASS_FACTOR = 0.05;
+    static final double TRIBUTE_FACTOR = 0.1;
+    static final double RETURN_FACTOR = 0.3;
+    static final double NOT_BEATEN_FACTOR = 0.35;
+    static final double NOT_RUFFED_FACTOR = 0.6;
+    static final double NOT_FED_FACTOR = 0.5;
+    /** 桌面分数达到此值才视为分墩。 */
+    static final int POINT_TRICK_THRESHOLD = 10;
+
+    // 每种牌面的代表牌，只用来查牌力、花色与分值
+    private static final Card[] FACES = new Card[Card.FACE_COUNT];
+
+    static {
+        for (Rank rank : Rank.values()) {
+            for (int s = 0; s <= Suit.values().length; s++) {
+                Suit suit = s < Suit.values().length ? Suit.values()[s] : null;
+                FACES[Card.faceIndex(suit, rank)] = new Card(suit, rank, -1);
+            }
+        }
+    }
+
+    private final double[][] weights = new double[4][Card.FACE_COUNT];
+
+    private HandInference() {
+        for (double[] row : weights) {
+            Arrays.fill(row, 1.0);
+        }
+    }
+
+    /**
+     * 从 {@code engine} 的叫主记录、进贡记录与本局出牌历史推断各家手牌，只读访问引擎。
+     */
+    static HandInference infer(GameEngine engine) {
+        HandInference inference = new HandInference();
+        inference.observeTrumpDeclaration(engine);
+        inference.observeTributes(engine);
+        if (engine.getTrumpInfo() != null) {
+            inference.observePlays(engine, engine.getTrumpInfo());
+        }
+        return inference;
+    }
+
+    /**
+     * {@code playerIndex} 号玩家持有 {@code card} 的相对似然，没有任何证据时为 1。
+     */
+    double weight(int playerIndex, Card card) {
+        return weights[playerIndex][card.getFaceIndex()];
+    }
+
+    private void scale(int playerIndex, int face, double factor) {
+        weights[playerIndex][face] *= factor;
+    }
+
+    private void observeTrumpDeclaration(GameEngine engine) {
+        Player[] players = engine.getPlayers();
+        int bigJoker = Card.faceIndex(null, Rank.BIG_JOKER);
+        boolean firstRound = engine.isFirstRound();
+        for (int p = 0; p < 4; p++) {
+            if (!engine.hasPassedTrump(p)) continue;
+            if (firstRound) {
+                scale(p, bigJoker, FIRST_ROUND_PASS_FACTOR);
+            } else {
+                Rank level = engine.getTeamLevels()[players[p].getTeam()];
+                for (Suit suit : Suit.values()) {
+                    scale(p, Card.faceIndex(suit, level), PASSED_TRUMP_FACTOR);
+                }
+            }
+        }
+        int declarer = engine.getTrumpDeclarer();
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        if (declarer < 0 || trumpInfo == null) return;
+        if (firstRound) {
+            scale(declarer, bigJoker, DECLARED_TRUMP_FACTOR);
+        } else if (trumpInfo.getTrumpSuit() != null) {
+            scale(declarer, Card.faceIndex(trumpInfo.getTrumpSuit(), trumpInfo.getTrumpRank()), DECLARED_TRUMP_FACTOR);
+        }
+    }
+
+    private void observeTributes(GameEngine engine) {
+        Player[] players = engine.getPlayers();
+        int winningTeam = engine.getPreviousWinningTeam();
+        // 多次进贡时依次交出当前最大的牌，手里剩下的不会大于最后一张贡牌；还贡同理
+        int[] lowestTribute = new int[4];
+        int[] highestReturn = new int[4];
+        Arrays.fill(lowestTribute, Integer.MAX_VALUE);
+        Arrays.fill(highestReturn, Integer.MIN_VALUE);
+        for (CardTransfer transfer : engine.getCardTransfers()) {
+            int from = transfer.fromIndex();
+            int value = sortValue(transfer.card());
+            if (players[from].getTeam() != winningTeam) {
+                lowestTribute[from] = Math.min(lowestTribute[from], value);
+            } else if (!isJoker(transfer.card())) {
+                highestReturn[from] = Math.max(highestReturn[from], value);
+            }
+        }
+        for (int face = 0; face < Card.FACE_COUNT; face++) {
+            int value = sortValue(FACES[face]);
+            for (int p = 0; p < 4; p++) {
+                if (value > lowestTribute[p]) {
+                    scale(p, face, TRIBUTE_FACTOR);
+                }
+                if (value < highestReturn[p] && !isJoker(FACES[face])) {
+                    scale(p, face, RETURN_FACTOR);
+                }
+            }
+        }
+    }
+
+    private void observePlays(GameEngine engine, TrumpInfo trumpInfo) {
+        Player[] players = engine.getPlayers();
+        int position = 0;
+        Suit leadSuit = null;
+        boolean leadIsTrump = false;
+        boolean singles = false;
+        int winner = -1;
+        int winStrength = -1;
+        boolean winnerFollowedSuit = false;
+        int points = 0;
+
+        for (int depth = 0; depth < engine.getUndoDepth(); depth++) {
+            int player = engine.getHistoryPlayer(depth);
+            if (player < 0) {
+                position = 0;
+                continue;
+            }
+            List<Card> cards = engine.getHistoryCards(depth);
+            if (position == 0) {
+                Card lead = cards.get(0);
+                leadSuit = trumpInfo.getEffectiveSuit(lead);
+                leadIsTrump = trumpInfo.isTrump(lead);
+                singles = cards.size() == 1;
+                winner = player;
+                winStrength = strongest(cards, leadSuit, trumpInfo);
+                winnerFollowedSuit = true;
+                points = points(cards);
+                position = 1;
+                continue;
+            }
+
+            if (singles && cards.size() == 1) {
+                Card card = cards.get(0);
+                boolean opponentWinning = players[winner].getTeam() != players[player].getTeam();
+                if (trumpInfo.getEffectiveSuit(card) == leadSuit) {
+                    if (opponentWinning && winnerFollowedSuit && points >= POINT_TRICK_THRESHOLD
+                        && trumpInfo.getCardStrength(card) <= winStrength) {
+                        scaleSuit(player, leadSuit, trumpInfo, winStrength, false, NOT_BEATEN_FACTOR);
+                    }
+                    if (!opponentWinning && position == 3 && card.getPoints() == 0) {
+                        scaleSuit(player, leadSuit, trumpInfo, -1, true, NOT_FED_FACTOR);
+                    }
+                } else if (!leadIsTrump && !trumpInfo.isTrump(card)
+                    && opponentWinning && points >= POINT_TRICK_THRESHOLD) {
+                    scaleSuit(player, null, trumpInfo, -1, false, NOT_RUFFED_FACTOR);
+                }
+            }
+
+            int strength = strongest(cards, leadSuit, trumpInfo);
+            if (strength > winStrength) {
+                winner = player;
+                winStrength = strength;
+                winnerFollowedSuit = trumpInfo.getEffectiveSuit(cards.get(0)) == leadSuit;
+            }
+            points += points(cards);
+            position++;
+        }
+    }
+
+    /**
+     * 把 {@code player} 手中有效花色为 {@code suit}、牌力高于 {@code minStrength} 的牌面权重乘以 {@code factor}；
+     * {@code pointsOnly} 时只处理分牌。
+     */
+    private void scaleSuit(int player, Suit suit, TrumpInfo trumpInfo, int minStrength,
+                           boolean pointsOnly, double factor) {
+        for (int face = 0; face < Card.FACE_COUNT; face++) {
+            Card card = FACES[face];
+            if (trumpInfo.getEffectiveSuit(card) != suit || trumpInfo.getCardStrength(card) <= minStrength) continue;
+            if (pointsOnly && card.getPoints() == 0) continue;
+            scale(player, face, factor);
+        }
+    }
+
+    /**
+     * 一手牌中能参与比大小（主牌或领出花色）的最大牌力，没有时为 -1。与 {@link GameEngine#evaluateTrick()}
+     * 不同，这里不区分棒子/滚子是否成型，只用于推断。
+     */
+    private static int strongest(List<Card> cards, Suit leadSuit, TrumpInfo trumpInfo) {
+        int best = -1;
+        for (Card card : cards) {
+            if (trumpInfo.isTrump(card) || trumpInfo.getEffectiveSuit(card) == leadSuit) {
+                best = Math.max(best, trumpInfo.getCardStrength(card));
+            }
+        }
+        return best;
+    }
+
+    private static int points(List<Card> cards) {
+        int sum = 0;
+        for (Card card : cards) {
+            sum += card.getPoints();
+        }
+        return sum;
+    }
+
+    private static boolean isJoker(Card card) {
+        return card.getRank() == Rank.SMALL_JOKER || card.getRank() == Rank.BIG_JOKER;
+    }
+
+    /**
+     * 与引擎挑选贡牌、还贡牌时的排序一致：大王、小王最大，其余按点数。
+     */
+    private static int sortValue(Card card) {
+        if (card.getRank() == Rank.BIG_JOKER) return 1000;
+        if (card.getRank() == Rank.SMALL_JOKER) return 999;
+        return TrumpInfo.effectiveRankStrength(card.getRank());
+    }
+}
@@ -28,6 +28,7 @@
 
 import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
 import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
 import com.tlcsdm.game.daliandagunzifx.engine.Player;
 import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
 import com.tlcsdm.game.daliandagunzifx.model.Card;
@@ -37,25 +38,106 @@
 import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
 
 public class HardAI implements AIStrategy {
 
+    // 并行 PIMC 共享的工作窃取线程池，守护线程，不阻止应用退出
+    private static final ForkJoinPool SEARCH_POOL =
+        new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    // 每个搜索线程复用自己的合法出牌生成器及其缓冲区
+    private static final ThreadLocal<LegalMoveGenerator> MOVE_GENERATOR =
+        ThreadLocal.withInitial(LegalMoveGenerator::new);
+    // 推演出牌只在预分配的缓冲区上计算，每个线程一份
+    private static final ThreadLocal<RolloutPolicy> ROLLOUT_POLICY = ThreadLocal.withInitial(RolloutPolicy::new);
+    // 残局求解的置换表存的是与确定化无关的精确值，所有 HardAI 实例与线程共享
+    private static final TranspositionTable ENDGAME_TABLE = new TranspositionTable(1 << 18);
+    private static final ThreadLocal<DoubleDummySolver> ENDGAME_SOLVER =
+        ThreadLocal.withInitial(() -> new DoubleDummySolver(ENDGAME_TABLE));
+
     private final CardTracker cardTracker;
     private final EasyAI rolloutAI;
     private final MediumAI fallbackAI;
+    // PIMC 搜索的并行度：1 表示在调用线程上串行搜索
+    private final int parallelism;
+    // 只在调用线程上使用：打乱候选、为各工作线程拆分子生成器
+    private final RandomGenerator.SplittableGenerator random;
 
     private static final long TIME_LIMIT_MS = 1500;
+    private static final long MAX_TIME_LIMIT_MS = 4000;
+    private static final long MIN_TIME_LIMIT_MS = 200;
+    private static final long ROUND_TIME_BUDGET_MS = 40_000;
+    // 提前停止：各候选都至少有这么多次模拟，且其余候选的置信上界都不比最佳候选的置信下界高出容差，
+    // 容差取胜负奖励的 2%，即胜率相差不到 2% 的候选视为同样好
+    private static final int EARLY_STOP_MIN_SAMPLES = 12;
+    private static final double EARLY_STOP_Z = 2.576;
     private static final int MAX_SIMULATION_ITERATIONS = 200;
+    // 四家手牌合计不超过此张数时改用双明手求解代替随机推演
+    private static final int ENDGAME_CARDS = 12;
     private static final int MAX_CANDIDATES = 20;
-    private static final int MAX_COMBINATIONS_PER_GENERATION = 50;
     private static final double EPSILON = 0.1;
     private static final double WIN_THRESHOLD_BONUS = 10000.0;
+    private static final double EARLY_STOP_TOLERANCE = WIN_THRESHOLD_BONUS * 0.02;
+    // 预搜索的最长时间，人类玩家长时间不出牌时不再占用 CPU
+    private static final long MAX_PONDER_MS = 30_000;
+    // 预搜索为实际局面的每个候选都积累到这么多次模拟时，直接据此决策而不再搜索
+    private static final int PONDER_SUFFICIENT_SAMPLES = 100;
+
+    // 人类玩家思考期间的后台预搜索；只在调用线程上启动和停止
+    private volatile boolean pondering;
+    private ForkJoinTask<?> ponderTask;
+    private PonderResult ponderResult;
+    private int lastPonderedSamples;
+    private TimeManager timeManager =
+        new TimeManager(TIME_LIMIT_MS, MAX_TIME_LIMIT_MS, MIN_TIME_LIMIT_MS, ROUND_TIME_BUDGET_MS);
+    private long lastSearchMillis;
+    private DecisionStats lastDecisionStats = DecisionStats.NONE;
 
     public HardAI(CardTracker cardTracker) {
+        this(cardTracker, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param cardTracker 记牌器
+     * @param parallelism PIMC 搜索的并行度，1 为串行，大于 1 时确定化采样分摊到多个工作线程
+     */
+    public HardAI(CardTracker cardTracker, int parallelism) {
+        this(cardTracker, parallelism, new SplittableRandom());
+    }
+
+    /**
+     * @param cardTracker 记牌器
+     * @param parallelism PIMC 搜索的并行度
+     * @param random      搜索使用的随机数生成器，每次决策为每个工作线程拆分出独立的子生成器；
+     *                    注入相同种子时采样序列可复现（实际模拟次数仍受思考时限影响）
+     */
+    public HardAI(CardTracker cardTracker, int parallelism, RandomGenerator.SplittableGenerator random) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
         this.cardTracker = cardTracker;
         this.rolloutAI = new EasyAI();
         this.fallbackAI = new MediumAI(cardTracker);
+        this.parallelism = parallelism;
+        this.random = Objects.requireNonNull(random);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public TimeManager getTimeManager() {
+        return timeManager;
+    }
+
+    /**
+     * 替换思考时间管理，用于调整单次思考时间和每局预算。
+     */
+    public void setTimeManager(TimeManager timeManager) {
+        this.timeManager = Objects.requireNonNull(timeManager);
     }
 
     @Override
@@ -76,9 +158,29 @@ public List<Card> chooseKittyCards(Player player, List<Card> kitty, TrumpInfo tr
 
     @Override
     public Card chooseCard(Player player, GameEngine engine) {
+        return decide(player, engine, planSingle(player, engine)).get(0);
+    }
+
+    @Override
+    public List<Card> chooseCards(Player player, GameEngine engine) {
+        return decide(player, engine, plan(player, engine, random));
+    }
+
+    private List<Card> decide(Player player, GameEngine engine, Plan plan) {
+        if (plan.decided() != null) {
+            lastDecisionStats = DecisionStats.NONE;
+            return plan.decided();
+        }
+        return evaluateBestAction(player, engine, plan.candidates());
+    }
+
+    /**
+     * 单张出牌的决策前置：明显的情况由启发式直接决定，否则给出需要 PIMC 评估的候选。
+     */
+    private Plan planSingle(Player player, GameEngine engine) {
         List<Card> validCards = rolloutAI.getValidCards(player, engine);
         if (validCards.size() <= 1) {
-            return validCards.get(0);
+            return Plan.of(validCards.get(0));
         }
 
         // 跟牌时：对于明显的情况使用启发式策略，避免浪费PIMC时间
@@ -93,9 +195,9 @@ public Card chooseCard(Player player, GameEngine engine) {
                     if (!trumpInfo.isTrump(c)) nonTrumpValid.add(c);
                 }
                 if (!nonTrumpValid.isEmpty()) {
-                    return rolloutAI.playPointsForPartner(nonTrumpValid, trumpInfo);
+                    return Plan.of(rolloutAI.playPointsForPartner(nonTrumpValid, trumpInfo));
                 }
-                return rolloutAI.playPointsForPartner(validCards, trumpInfo);
+                return Plan.of(rolloutAI.playPointsForPartner(validCards, trumpInfo));
             }
 
             int trickPoints = rolloutAI.calculateCurrentTrickPoints(engine);
@@ -103,7 +205,7 @@ public Card chooseCard(Player player, GameEngine engine) {
                 .anyMatch(c -> c.getPoints() == 0 && !rolloutAI.isSpecialTrump(c, trumpInfo));
             if (trickPoints == 0 && hasNonPointCard) {
                 // 无分墩且有无分牌可出，不浪费高牌，出最小
-                return rolloutAI.playLow(validCards, trumpInfo);
+                return Plan.of(rolloutAI.playLow(validCards, trumpInfo));
             }
 
             // 有分可争或手中只剩分牌，检查是否有能赢的非特殊主牌
@@ -115,29 +217,31 @@ public Card chooseCard(Player player, GameEngine engine) {
                     && !rolloutAI.isSpecialTrump(c, trumpInfo));
             if (!canWin) {
                 // 无法赢墩，出最小的非分牌，避免给对方送分
-                return rolloutAI.playLow(validCards, trumpInfo);
+                return Plan.of(rolloutAI.playLow(validCards, trumpInfo));
             }
         }
 
         List<Card> pruned = pruneEquivalentCards(validCards, engine.getTrumpInfo());
         if (pruned.size() <= 1) {
-            return pruned.get(0);
+            return Plan.of(pruned.get(0));
         }
-        return evaluateBestAction(player, engine, pruned.stream()
+        return new Plan(null, pruned.stream()
             .map(List::of)
-            .toList()).get(0);
+            .toList());
     }
 
-    @Override
-    public List<Card> chooseCards(Player player, GameEngine engine) {
+    /**
+     * 多张出牌的决策前置，{@code rng} 用于候选过多时随机截取。
+     */
+    private Plan plan(Player player, GameEngine engine, RandomGenerator rng) {
         PlayType trickType = engine.getCurrentTrickPlayType();
         if (trickType == null) {
             // 领出时考虑主动出对子(棒子)或滚子
             List<Card> leadMulti = rolloutAI.chooseLeadMulti(player, engine);
             if (leadMulti != null) {
-                return leadMulti;
+                return new Plan(leadMulti, null);
             }
-            return List.of(chooseCard(player, engine));
+            return planSingle(player, engine);
         }
         int requiredCount = switch (trickType) {
             case SINGLE -> 1;
@@ -145,7 +249,7 @@ public List<Card> chooseCards(Player player, GameEngine engine) {
             case GUNZI -> 3;
         };
         if (requiredCount == 1) {
-            return List.of(chooseCard(player, engine));
+            return planSingle(player, engine);
         }
 
         // 多牌跟牌启发式守卫：以下两种场景结果明确，不需要PIMC蒙特卡罗模拟。
@@ -154,27 +258,27 @@ public List<Card> chooseCards(Player player, GameEngine engine) {
         boolean partnerWinning = rolloutAI.isPartnerWinning(player, engine);
         if (partnerWinning) {
             // 场景1：队友赢时应出小牌或分牌给队友，确定性策略足够
-            return fallbackAI.chooseCards(player, engine);
+            return new Plan(fallbackAI.chooseCards(player, engine), null);
         }
         int trickPoints = rolloutAI.calculateCurrentTrickPoints(engine);
         if (trickPoints == 0) {
             // 场景2：无分墩不值得争，出最小即可，确定性策略足够
-            return fallbackAI.chooseCards(player, engine);
+            return new Plan(fallbackAI.chooseCards(player, engine), null);
         }
 
-        List<List<Card>> candidates = generateMultiCardCandidates(player, engine, requiredCount);
+        List<List<Card>> candidates = generateMultiCardCandidates(engine, requiredCount, rng);
         if (candidates.isEmpty()) {
-            return fallbackAI.chooseCards(player, engine);
+            return new Plan(fallbackAI.chooseCards(player, engine), null);
         }
         if (candidates.size() == 1) {
-            return candidates.get(0);
+            return new Plan(candidates.get(0), null);
         }
         // 场景3：若不存在"不动用特殊主牌(2/王/主牌级)即可赢墩"的出法，说明管不上或不值得用大牌去管，
         // 交由确定性策略出最小的牌，避免 PIMC 随机采样把大小王等特殊主牌白白垫掉（掉主跟棒子/滚子时尤为常见）。
         if (!hasNonSpecialWinningPlay(engine, candidates)) {
-            return fallbackAI.chooseCards(player, engine);
+            return new Plan(fallbackAI.chooseCards(player, engine), null);
         }
-        return evaluateBestAction(player, engine, candidates);
+        return new Plan(null, candidates);
     }
 
     /**
@@ -227,105 +331,126 @@ private List<Card> pruneEquivalentCards(List<Card> cards, TrumpInfo trumpInfo) {
 
     private List<Card> evaluateBestAction(Player player, GameEngine engine,
                                           List<List<Card>> candidates) {
-        double[] totalScores = new double[candidates.size()];
-        int[] counts = new int[candidates.size()];
-
-        long startTime = System.currentTimeMillis();
-        while (System.currentTimeMillis() - startTime < TIME_LIMIT_MS) {
-            GameEngine simBase = createDeterminization(player, engine);
-
-            for (int i = 0; i < candidates.size(); i++) {
-                GameEngine sim = simBase.copy();
-                double score = simulateWithAction(sim, player.getId(), candidates.get(i));
-                if (!Double.isNaN(score)) {
-                    totalScores[i] += score;
-                    counts[i]++;
-                }
-            }
+        ScoreAccumulator scores = takePonderedScores(player, engine, candidates);
+        if (scores.minCount() >= PONDER_SUFFICIENT_SAMPLES || scores.isSeparated()) {
+            lastSearchMillis = 0;
+            return choose(candidates, scores);
         }
-
-        int bestIdx = 0;
-        double bestAvg = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < candidates.size(); i++) {
-            double avg = counts[i] > 0 ? totalScores[i] / counts[i] : Double.NEGATIVE_INFINITY;
-            if (avg > bestAvg) {
-                bestAvg = avg;
-                bestIdx = i;
+        // 分数越多的墩、临近扣底的墩分配越多时间，且不超过本局剩余预算
+        long startedAt = System.currentTimeMillis();
+        long deadline = startedAt + timeManager.allocate(engine, player.getId(),
+            rolloutAI.calculateCurrentTrickPoints(engine));
+        AtomicBoolean stop = new AtomicBoolean();
+        // 叫主、进贡与出牌历史只需推断一次，所有采样共享
+        HandInference inference = HandInference.infer(engine);
+
+        // 逐级减半：思考时间平分成 ceil(log2(候选数)) 段，每段结束后淘汰均分较低的一半候选，
+        // 后面的时间只模拟仍在争夺的候选
+        int rungs = Math.max(1, 32 - Integer.numberOfLeadingZeros(candidates.size() - 1));
+        for (int rung = 0; rung < rungs && !stop.get(); rung++) {
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                break;
+            }
+            long rungDeadline = rung == rungs - 1 ? deadline : now + (deadline - now) / (rungs - rung);
+            runRung(player, engine, inference, candidates, rungDeadline, scores, stop);
+            if (rung < rungs - 1) {
+                scores.halve();
             }
         }
-        return candidates.get(bestIdx);
+
+        lastSearchMillis = System.currentTimeMillis() - startedAt;
+        timeManager.record(engine, player.getId(), lastSearchMillis);
+        return choose(candidates, scores);
     }
 
-    private GameEngine createDeterminization(Player aiPlayer, GameEngine engine) {
-        GameEngine sim = engine.copy();
-        int aiIndex = aiPlayer.getId();
+    private List<Card> choose(List<List<Card>> candidates, ScoreAccumulator scores) {
+        int best = scores.bestIndex();
+        lastDecisionStats = scores.stats(best);
+        return candidates.get(best);
+    }
 
-        // Collect all cards from opponents' hands (these are the unknown cards)
-        List<Card> unknownCards = new ArrayList<>();
-        int[] handSizes = new int[4];
-        for (int i = 0; i < 4; i++) {
-            if (i == aiIndex) continue;
-            handSizes[i] = engine.getPlayers()[i].getHand().size();
-            unknownCards.addAll(sim.getPlayers()[i].getHand());
-            sim.getPlayers()[i].getHand().clear();
+    private void runRung(Player player, GameEngine engine, HandInference inference, List<List<Card>> candidates,
+                         long deadline, ScoreAccumulator scores, AtomicBoolean stop) {
+        if (parallelism <= 1) {
+            runSimulations(player, engine, inference, candidates, deadline, random.split(), scores, stop);
+            return;
         }
-
-        // Shuffle unknown cards for random redistribution
-        Collections.shuffle(unknownCards);
-
-        // Distribute to opponents respecting void suit constraints
-        TrumpInfo trumpInfo = engine.getTrumpInfo();
-        for (int i = 0; i < 4; i++) {
-            if (i == aiIndex) continue;
-            List<Card> dealt = dealRespectingVoids(unknownCards, i, handSizes[i], trumpInfo);
-            sim.getPlayers()[i].addCards(dealt);
+        // 并行模式：每个工作线程独立采样确定化并累加到自己的计分器，结束后再合并，
+        // 搜索过程中线程间没有共享的可变状态。调用线程本身也作为一个工作线程参与。
+        List<ForkJoinTask<ScoreAccumulator>> workers = new ArrayList<>(parallelism - 1);
+        for (int w = 1; w < parallelism; w++) {
+            // 子生成器在提交前于调用线程上拆分，各工作线程的随机流互相独立且无需同步
+            RandomGenerator workerRandom = random.split();
+            workers.add(SEARCH_POOL.submit(() -> {
+                ScoreAccumulator local = scores.emptyCopy();
+                runSimulations(player, engine, inference, candidates, deadline, workerRandom, local, stop);
+                return local;
+            }));
+        }
+        runSimulations(player, engine, inference, candidates, deadline, random.split(), scores, stop);
+        for (ForkJoinTask<ScoreAccumulator> worker : workers) {
+            scores.merge(worker.join());
         }
-
-        return sim;
     }
 
-    private List<Card> dealRespectingVoids(List<Card> pool, int playerIndex,
-                                           int handSize, TrumpInfo trumpInfo) {
-        List<Card> dealt = new ArrayList<>();
-        Iterator<Card> it = pool.iterator();
-
-        // First pass: pick cards that don't violate void constraints
-        while (it.hasNext() && dealt.size() < handSize) {
-            Card card = it.next();
-            Suit effectiveSuit = trumpInfo.getEffectiveSuit(card);
-            if (effectiveSuit != null && cardTracker.isVoid(playerIndex, effectiveSuit)) {
-                continue;
+    /**
+     * 在截止时间前按 {@code inference} 加权反复采样确定化，并对每个仍在争夺的候选出牌各模拟一局，
+     * 结果累加到 {@code scores}。
+     * 只读访问 {@code engine}，可由多个工作线程同时调用；任一工作线程的统计已能区分出最佳候选时
+     * 置位 {@code stop}，所有工作线程随即结束。调用线程被中断（决策被取消）时同样置位 {@code stop}。
+     */
+    private void runSimulations(Player player, GameEngine engine, HandInference inference,
+                                List<List<Card>> candidates, long deadline, RandomGenerator rng,
+                                ScoreAccumulator scores, AtomicBoolean stop) {
+        while (!stop.get() && System.currentTimeMillis() < deadline) {
+            if (Thread.currentThread().isInterrupted()) {
+                stop.set(true);
+                break;
             }
-            dealt.add(card);
-            it.remove();
-        }
+            GameEngine sim = Determinizer.sample(engine, player.getId(), cardTracker, inference, rng);
+            int mark = sim.getUndoDepth();
+            int cardsAtMark = sim.getTotalCardsPlayed();
+            scores.samples++;
 
-        // Second pass: if not enough cards, fill from remaining (ignoring voids)
-        it = pool.iterator();
-        while (it.hasNext() && dealt.size() < handSize) {
-            Card card = it.next();
-            dealt.add(card);
-            it.remove();
+            // 同一个确定化上依次模拟各候选，每次模拟后撤销回起点，不再为每个候选复制整个引擎
+            for (int i = 0; i < candidates.size(); i++) {
+                if (!scores.isActive(i)) continue;
+                double score = simulateWithAction(sim, player.getId(), candidates.get(i), rng);
+                scores.rolloutSteps += sim.getTotalCardsPlayed() - cardsAtMark;
+                sim.undoTo(mark);
+                if (!Double.isNaN(score)) {
+                    scores.add(i, score);
+                }
+            }
+            if (scores.isSeparated()) {
+                stop.set(true);
+            }
         }
-
-        return dealt;
     }
 
-    private double simulateWithAction(GameEngine sim, int aiIndex, List<Card> action) {
+    private double simulateWithAction(GameEngine sim, int aiIndex, List<Card> action, RandomGenerator rng) {
         try {
             sim.playCards(aiIndex, action);
         } catch (Exception e) {
             e.printStackTrace();
             return Double.NaN;
         }
-        return simulateToEnd(sim, aiIndex);
+        return simulateToEnd(sim, aiIndex, rng);
     }
 
-    private double simulateToEnd(GameEngine sim, int aiIndex) {
+    private double simulateToEnd(GameEngine sim, int aiIndex, RandomGenerator rng) {
         int maxIterations = MAX_SIMULATION_ITERATIONS;
         int iter = 0;
+        RolloutPolicy policy = ROLLOUT_POLICY.get();
+        boolean aggressive = rolloutAI.isAggressive();
 
         while (sim.getPhase() == GamePhase.PLAYING && iter++ < maxIterations) {
+            if (156 - sim.getTotalCardsPlayed() <= ENDGAME_CARDS) {
+                // 残局在确定化上已是完全信息，精确求解剩下几墩（含扣底翻倍）比 ε-greedy 推演又快又准；
+                // 评分随闲家得分单调，按得分求出的最优值换算后就是最优评分
+                return evaluateScore(ENDGAME_SOLVER.get().solve(sim), sim, aiIndex);
+            }
             if (sim.getTrickCardsPlayed() == 4) {
                 sim.evaluateTrick();
                 if (sim.isRoundOver()) break;
@@ -333,41 +458,15 @@ private double simulateToEnd(GameEngine sim, int aiIndex) {
             }
 
             int currentIndex = sim.getCurrentPlayerIndex();
-            Player currentPlayer = sim.getPlayers()[currentIndex];
 
             try {
-                List<Card> play;
-                if (ThreadLocalRandom.current().nextDouble() < EPSILON) {
+                List<Card> play = null;
+                if (rng.nextDouble() < EPSILON) {
                     // ε-greedy：随机选择合法动作以增加搜索多样性
-                    List<Card> validCards = rolloutAI.getValidCards(currentPlayer, sim);
-                    if (!validCards.isEmpty()) {
-                        PlayType trickType = sim.getCurrentTrickPlayType();
-                        int requiredCount = 1;
-                        if (trickType != null) {
-                            requiredCount = switch (trickType) {
-                                case SINGLE -> 1;
-                                case PAIR, BANG -> 2;
-                                case GUNZI -> 3;
-                            };
-                        }
-                        if (requiredCount == 1) {
-                            play = List.of(validCards.get(ThreadLocalRandom.current().nextInt(validCards.size())));
-                        } else {
-                            // 随机选取所需数量的牌
-                            List<Card> shuffled = new ArrayList<>(currentPlayer.getHand());
-                            Collections.shuffle(shuffled, ThreadLocalRandom.current());
-                            List<Card> candidate = shuffled.subList(0, Math.min(requiredCount, shuffled.size()));
-                            if (sim.isValidPlay(currentIndex, candidate)) {
-                                play = candidate;
-                            } else {
-                                play = rolloutAI.chooseCards(currentPlayer, sim);
-                            }
-                        }
-                    } else {
-                        play = rolloutAI.chooseCards(currentPlayer, sim);
-                    }
-                } else {
-                    play = rolloutAI.chooseCards(currentPlayer, sim);
+                    play = policy.randomMove(sim, rng);
+                }
+                if (play == null) {
+                    play = policy.choose(sim, aggressive);
                 }
                 sim.playCards(currentIndex, play);
             } catch (Exception e) {
@@ -383,11 +482,10 @@ private double simulateToEnd(GameEngine sim, int aiIndex) {
             }
         }
 
-        return evaluateScore(sim, aiIndex);
+        return evaluateScore(sim.getDefenderPoints(), sim, aiIndex);
     }
 
-    private double evaluateScore(GameEngine sim, int aiIndex) {
-        int defenderPoints = sim.getDefenderPoints();
+    private double evaluateScore(int defenderPoints, GameEngine sim, int aiIndex) {
         int declarerTeam = sim.getPlayers()[sim.getDealerIndex()].getTeam();
         int aiTeam = aiIndex % 2;
 
@@ -410,71 +508,335 @@ private double evaluateScore(GameEngine sim, int aiIndex) {
         return score;
     }
 
-    private List<List<Card>> generateMultiCardCandidates(Player player, GameEngine engine,
-                                                         int requiredCount) {
-        TrumpInfo trumpInfo = engine.getTrumpInfo();
-        Card leadCard = engine.getCurrentTrick()[engine.getCurrentTrickLeader()];
-        Suit leadSuit = trumpInfo.getEffectiveSuit(leadCard);
-
-        List<Card> suitCards = new ArrayList<>();
-        List<Card> otherCards = new ArrayList<>();
-        for (Card card : player.getHand()) {
-            if (trumpInfo.getEffectiveSuit(card) == leadSuit) {
-                suitCards.add(card);
-            } else {
-                otherCards.add(card);
-            }
-        }
-
-        List<List<Card>> candidates = new ArrayList<>();
-
-        if (suitCards.size() >= requiredCount) {
-            // All cards must be from suit, generate combinations
-            generateCombinations(suitCards, requiredCount, 0, new ArrayList<>(), candidates);
-        } else {
-            // Must play all suit cards + fill from others
-            List<Card> forced = new ArrayList<>(suitCards);
-            int remaining = requiredCount - forced.size();
-            if (remaining > 0) {
-                List<List<Card>> otherCombos = new ArrayList<>();
-                generateCombinations(otherCards, remaining, 0, new ArrayList<>(), otherCombos);
-                for (List<Card> combo : otherCombos) {
-                    List<Card> full = new ArrayList<>(forced);
-                    full.addAll(combo);
-                    candidates.add(full);
-                }
-            } else {
-                candidates.add(forced);
+    private List<List<Card>> generateMultiCardCandidates(GameEngine engine, int requiredCount,
+                                                         RandomGenerator rng) {
+        LegalMoveGenerator generator = MOVE_GENERATOR.get();
+        int moveCount = generator.generate(engine);
+        List<List<Card>> candidates = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            if (generator.moveSize(i) == requiredCount) {
+                candidates.add(generator.move(i));
             }
         }
 
         // Limit candidates to avoid combinatorial explosion
         if (candidates.size() > MAX_CANDIDATES) {
-            Collections.shuffle(candidates);
+            Collections.shuffle(candidates, rng);
             candidates = new ArrayList<>(candidates.subList(0, MAX_CANDIDATES));
         }
+        return candidates;
+    }
+
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
 
-        // Validate candidates
-        candidates.removeIf(c -> !engine.isValidPlay(player.getId(), c));
+    @Override
+    public DecisionStats getLastDecisionStats() {
+        return lastDecisionStats;
+    }
 
-        return candidates;
+    /**
+     * 上一次 PIMC 搜索实际用掉的时间（毫秒），直接沿用预搜索统计时为 0。
+     */
+    long getLastSearchMillis() {
+        return lastSearchMillis;
+    }
+
+    /**
+     * 上一次 PIMC 搜索从预搜索继承的模拟次数，0 表示没有可用的预搜索统计。
+     */
+    int getLastPonderedSamples() {
+        return lastPonderedSamples;
     }
 
-    private void generateCombinations(List<Card> cards, int k, int start,
-                                      List<Card> current, List<List<Card>> result) {
-        if (current.size() == k) {
-            result.add(new ArrayList<>(current));
+    /**
+     * 人类玩家出牌前开始预搜索：在确定化中按 {@link EasyAI} 的出牌习惯假设人类的出牌，
+     * 对假设后轮到的 AI 座位的候选做 PIMC 模拟，按人类出牌的牌面组合分别累计统计。
+     * 实际出牌到来后，{@link #chooseCards(Player, GameEngine)} 从对应假设的统计继续搜索，
+     * 模拟次数已经足够时直接决策。
+     */
+    @Override
+    public void startPondering(GameEngine engine) {
+        stopPondering();
+        ponderResult = null;
+        if (engine.getPhase() != GamePhase.PLAYING || engine.getTrickCardsPlayed() == 4) {
             return;
         }
-        if (result.size() >= MAX_COMBINATIONS_PER_GENERATION) return;
-        for (int i = start; i < cards.size(); i++) {
-            current.add(cards.get(i));
-            generateCombinations(cards, k, i + 1, current, result);
-            current.remove(current.size() - 1);
+        PonderResult result = new PonderResult(engine, engine.getUndoDepth(), engine.getCurrentPlayerIndex());
+        RandomGenerator ponderRandom = random.split();
+        long deadline = System.currentTimeMillis() + MAX_PONDER_MS;
+        pondering = true;
+        ponderTask = SEARCH_POOL.submit(() -> ponder(result, deadline, ponderRandom));
+        ponderResult = result;
+    }
+
+    @Override
+    public void stopPondering() {
+        pondering = false;
+        if (ponderTask != null) {
+            try {
+                ponderTask.join();
+            } catch (RuntimeException e) {
+                // 预搜索失败只是少了统计，不影响正常决策
+                ponderResult = null;
+            }
+            ponderTask = null;
         }
     }
 
-    public CardTracker getCardTracker() {
-        return cardTracker;
+    private void ponder(PonderResult result, long deadline, RandomGenerator rng) {
+        GameEngine engine = result.engine;
+        int human = result.humanIndex;
+        // 人类出完这一墩最后一张时，下一个出牌的是赢家，轮流从三个 AI 座位的视角采样
+        boolean completesTrick = engine.getTrickCardsPlayed() == 3;
+        HandInference inference = HandInference.infer(engine);
+        int rotation = 0;
+        while (pondering && System.currentTimeMillis() < deadline) {
+            int seat = (human + 1 + (completesTrick ? rotation++ % 3 : 0)) % 4;
+            GameEngine sim = Determinizer.sample(engine, seat, cardTracker, inference, rng);
+            List<Card> humanPlay = rolloutAI.chooseCards(sim.getPlayers()[human], sim);
+            try {
+                sim.playCards(human, humanPlay);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (sim.getTrickCardsPlayed() == 4) {
+                sim.evaluateTrick();
+            }
+            if (sim.getPhase() != GamePhase.PLAYING || sim.getCurrentPlayerIndex() != seat) {
+                continue;
+            }
+            Plan plan = plan(sim.getPlayers()[seat], sim, rng);
+            if (plan.decided() != null) {
+                continue;
+            }
+            Map<Long, double[]> hypothesis = result.hypothesis(ExpertAI.faceKey(humanPlay), seat);
+            int mark = sim.getUndoDepth();
+            for (List<Card> candidate : plan.candidates()) {
+                double score = simulateWithAction(sim, seat, candidate, rng);
+                sim.undoTo(mark);
+                if (!Double.isNaN(score)) {
+                    double[] stats = hypothesis.computeIfAbsent(ExpertAI.faceKey(candidate), k -> new double[3]);
+                    stats[0] += score;
+                    stats[1] += score * score;
+                    stats[2]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 取出与实际人类出牌相符的预搜索统计作为本次搜索的初值；预搜索结果只使用一次。
+     */
+    private ScoreAccumulator takePonderedScores(Player player, GameEngine engine, List<List<Card>> candidates) {
+        ScoreAccumulator scores = new ScoreAccumulator(candidates.size());
+        lastPonderedSamples = 0;
+        PonderResult result = ponderResult;
+        if (result == null || pondering) {
+            return scores;
+        }
+        ponderResult = null;
+        if (result.engine != engine || engine.getUndoDepth() <= result.undoDepth
+            || engine.getHistoryPlayer(result.undoDepth) != result.humanIndex) {
+            return scores;
+        }
+        // 人类出牌之后只允许有一次结算墩，否则局面已经不是预搜索假设的那一个
+        for (int d = result.undoDepth + 1; d < engine.getUndoDepth(); d++) {
+            if (engine.getHistoryPlayer(d) >= 0) {
+                return scores;
+            }
+        }
+        Map<Long, double[]> hypothesis = result.hypotheses.get(
+            PonderResult.key(ExpertAI.faceKey(engine.getHistoryCards(result.undoDepth)), player.getId()));
+        if (hypothesis == null) {
+            return scores;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            double[] stats = hypothesis.get(ExpertAI.faceKey(candidates.get(i)));
+            if (stats != null) {
+                scores.add(i, stats[0], stats[1], (int) stats[2]);
+                lastPonderedSamples += (int) stats[2];
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 每个候选出牌的累计得分与模拟次数，以及逐级减半后仍在争夺的候选。
+     * 每个工作线程持有独立实例，与调用线程的实例共享候选标记（一段搜索进行中只读），每段结束后合并。
+     */
+    static final class ScoreAccumulator {
+
+        // 减半时每个候选至少要有这么多次模拟，否则本段不淘汰
+        private static final int MIN_HALVING_SAMPLES = 4;
+
+        private final double[] totalScores;
+        private final double[] squaredScores;
+        private final int[] counts;
+        private final boolean[] active;
+        // 本次决策采样的确定化数与推演中打出的牌数，不含预搜索
+        private long samples;
+        private long rolloutSteps;
+
+        ScoreAccumulator(int size) {
+            this(size, filled(size));
+        }
+
+        private ScoreAccumulator(int size, boolean[] active) {
+            this.totalScores = new double[size];
+            this.squaredScores = new double[size];
+            this.counts = new int[size];
+            this.active = active;
+        }
+
+        private static boolean[] filled(int size) {
+            boolean[] active = new boolean[size];
+            Arrays.fill(active, true);
+            return active;
+        }
+
+        ScoreAccumulator emptyCopy() {
+            return new ScoreAccumulator(counts.length, active);
+        }
+
+        boolean isActive(int index) {
+            return active[index];
+        }
+
+        /**
+         * 淘汰仍在争夺的候选中均分较低的一半（向下取整），至少保留一个。
+         */
+        void halve() {
+            List<Integer> contenders = new ArrayList<>();
+            for (int i = 0; i < active.length; i++) {
+                if (active[i]) {
+                    if (counts[i] < MIN_HALVING_SAMPLES) {
+                        return;
+                    }
+                    contenders.add(i);
+                }
+            }
+            contenders.sort(Comparator.comparingDouble(i -> -mean(i)));
+            for (int k = (contenders.size() + 1) / 2; k < contenders.size(); k++) {
+                active[contenders.get(k)] = false;
+            }
+        }
+
+        void add(int index, double score) {
+            totalScores[index] += score;
+            squaredScores[index] += score * score;
+            counts[index]++;
+        }
+
+        void add(int index, double totalScore, double squaredScore, int count) {
+            totalScores[index] += totalScore;
+            squaredScores[index] += squaredScore;
+            counts[index] += count;
+        }
+
+        /**
+         * 其余每个候选的置信上界是否都不超过最佳候选的置信下界加容差，即再模拟下去也不会换出明显更好的候选。
+         */
+        boolean isSeparated() {
+            int best = bestIndex();
+            if (counts[best] < EARLY_STOP_MIN_SAMPLES) {
+                return false;
+            }
+            double bestLower = mean(best) - EARLY_STOP_Z * standardError(best);
+            for (int i = 0; i < counts.length; i++) {
+                if (i == best || !active[i]) continue;
+                if (counts[i] < EARLY_STOP_MIN_SAMPLES
+                    || mean(i) + EARLY_STOP_Z * standardError(i) >= bestLower + EARLY_STOP_TOLERANCE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double mean(int index) {
+            return totalScores[index] / counts[index];
+        }
+
+        private double standardError(int index) {
+            int n = counts[index];
+            double variance = (squaredScores[index] - totalScores[index] * totalScores[index] / n) / (n - 1);
+            return Math.sqrt(Math.max(0, variance) / n);
+        }
+
+        int minCount() {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < counts.length; i++) {
+                if (active[i]) {
+                    min = Math.min(min, counts[i]);
+                }
+            }
+            return min;
+        }
+
+        void merge(ScoreAccumulator other) {
+            for (int i = 0; i < totalScores.length; i++) {
+                totalScores[i] += other.totalScores[i];
+                squaredScores[i] += other.squaredScores[i];
+                counts[i] += other.counts[i];
+            }
+            samples += other.samples;
+            rolloutSteps += other.rolloutSteps;
+        }
+
+        DecisionStats stats(int index) {
+            return DecisionStats.of(counts.length, samples, rolloutSteps,
+                totalScores[index], squaredScores[index], counts[index]);
+        }
+
+        int bestIndex() {
+            int bestIdx = -1;
+            double bestAvg = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < totalScores.length; i++) {
+                if (!active[i]) continue;
+                double avg = counts[i] > 0 ? totalScores[i] / counts[i] : Double.NEGATIVE_INFINITY;
+                if (bestIdx < 0 || avg > bestAvg) {
+                    bestAvg = avg;
+                    bestIdx = i;
+                }
+            }
+            return bestIdx;
+        }
+    }
+
+    /**
+     * 决策前置的结果：启发式已直接决定时 {@code decided} 非空，否则在 {@code candidates} 中做 PIMC 搜索。
+     */
+    private record Plan(List<Card> decided, List<List<Card>> candidates) {
+
+        static Plan of(Card card) {
+            return new Plan(List.of(card), null);
+        }
+    }
+
+    /**
+     * 一次预搜索的结果：开始时的引擎与撤销栈深度、人类座位，以及每个假设下各候选的累计得分和模拟次数。
+     * 只由预搜索线程写入，调用线程在预搜索结束后读取。
+     */
+    private static final class PonderResult {
+
+        private final GameEngine engine;
+        private final int undoDepth;
+        private final int humanIndex;
+        private final Map<Long, Map<Long, double[]>> hypotheses = new HashMap<>();
+
+        PonderResult(GameEngine engine, int undoDepth, int humanIndex) {
+            this.engine = engine;
+            this.undoDepth = undoDepth;
+            this.humanIndex = humanIndex;
+        }
+
+        static long key(long humanPlayKey, int seat) {
+            return humanPlayKey * 4 + seat;
+        }
+
+        Map<Long, double[]> hypothesis(long humanPlayKey, int seat) {
+            return hypotheses.computeIfAbsent(key(humanPlayKey, seat), k -> new HashMap<>());
+        }
     }
 }
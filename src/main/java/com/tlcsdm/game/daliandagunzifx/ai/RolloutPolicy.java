@@ -0,0 +1,512 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.PlayType;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * 模拟推演专用的出牌策略：规则与 {@link EasyAI#chooseCards(Player, GameEngine)} 相同
+ * （领出 A 或短套、跟牌时队友赢就给分、有分才争、垫牌保护特殊主牌等），但只在预分配的数组上按下标计算，
+ * 不建分组 Map、不用 Stream、不复制手牌。
+ * <p>
+ * 返回的出牌列表是内部缓冲区，下次调用前有效，调用方应立即交给 {@link GameEngine#playCards(int, List)}。
+ * 死棒模式下必须成组跟出的棒子/滚子很少出现，这种情况仍交给 {@link EasyAI} 处理。
+ * 实例不是线程安全的，每个线程各用一个实例。
+ */
+final class RolloutPolicy {
+
+    // 有效花色编号：0~3 为副牌花色，主牌统一为 4
+    private static final int TRUMP = Suit.values().length;
+    // 过滤条件：-1 表示全部手牌，NON_TRUMP 表示全部副牌，其余取值为有效花色编号
+    private static final int ALL = -1;
+    private static final int NON_TRUMP = -2;
+    private static final int FORCED_TRUMP_POINTS = 15;
+
+    private final EasyAI fallback = new EasyAI();
+    private final LegalMoveGenerator generator = new LegalMoveGenerator();
+    private final List<Card> move = new ArrayList<>(3);
+    private final int[] faceCounts = new int[Card.FACE_COUNT];
+
+    // 当前出牌者的手牌，按下标并列存放
+    private Card[] cards = new Card[64];
+    private int[] strength = new int[64];
+    private int[] suit = new int[64];
+    private int[] points = new int[64];
+    private boolean[] special = new boolean[64];
+    private boolean[] chosen = new boolean[64];
+    private int size;
+
+    // 当前墩
+    private int seat;
+    private int leadSuit;
+    private int winner;
+    private int winStrength;
+    private int trickPoints;
+
+    /**
+     * 为当前出牌者选择出牌。{@code aggressive} 对应 {@link EasyAI#setAggressive(boolean)}。
+     */
+    List<Card> choose(GameEngine engine, boolean aggressive) {
+        seat = engine.getCurrentPlayerIndex();
+        Player player = engine.getPlayers()[seat];
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        load(player.getHand(), trumpInfo);
+        move.clear();
+
+        PlayType trickType = engine.getCurrentTrickPlayType();
+        if (trickType == null) {
+            if (!leadMulti()) {
+                move.add(cards[lead(aggressive)]);
+            }
+            return move;
+        }
+
+        readTrick(engine, trumpInfo, trickType);
+        int required = switch (trickType) {
+            case SINGLE -> 1;
+            case PAIR, BANG -> 2;
+            case GUNZI -> 3;
+        };
+        if (required == 1) {
+            move.add(cards[follow(aggressive)]);
+            return move;
+        }
+        if (!engine.isLiveBang() && (trickType == PlayType.BANG || trickType == PlayType.GUNZI)
+            && count(leadSuit) >= required) {
+            return fallback.chooseCards(player, engine);
+        }
+        followMulti(required);
+        if (!engine.isValidPlay(seat, move)) {
+            return fallback.chooseCards(player, engine);
+        }
+        return move;
+    }
+
+    /**
+     * 随机选一手合法出牌，供 ε-greedy 探索使用；没有合法出牌时返回 null。
+     */
+    List<Card> randomMove(GameEngine engine, RandomGenerator rng) {
+        int count = generator.generate(engine);
+        if (count == 0) {
+            return null;
+        }
+        int index = rng.nextInt(count);
+        move.clear();
+        for (int p = 0; p < generator.moveSize(index); p++) {
+            move.add(generator.card(index, p));
+        }
+        return move;
+    }
+
+    private void load(List<Card> hand, TrumpInfo trumpInfo) {
+        size = hand.size();
+        if (cards.length < size) {
+            int length = Math.max(size, cards.length * 2);
+            cards = new Card[length];
+            strength = new int[length];
+            suit = new int[length];
+            points = new int[length];
+            special = new boolean[length];
+            chosen = new boolean[length];
+        }
+        Rank trumpRank = trumpInfo.getTrumpRank();
+        for (int i = 0; i < size; i++) {
+            Card card = hand.get(i);
+            Suit effective = trumpInfo.getEffectiveSuit(card);
+            Rank rank = card.getRank();
+            cards[i] = card;
+            strength[i] = trumpInfo.getCardStrength(card);
+            suit[i] = effective == null ? TRUMP : effective.ordinal();
+            points[i] = card.getPoints();
+            special[i] = rank == Rank.BIG_JOKER || rank == Rank.SMALL_JOKER || rank == Rank.TWO || rank == trumpRank;
+            chosen[i] = false;
+        }
+    }
+
+    /**
+     * 与 {@link EasyAI#getCurrentTrickWinner(GameEngine)} 相同：每家只比第一张牌，棒子/滚子墩只有同牌型才能比。
+     */
+    private void readTrick(GameEngine engine, TrumpInfo trumpInfo, PlayType trickType) {
+        List<Card>[] trick = engine.getCurrentTrickCards();
+        int leader = engine.getCurrentTrickLeader();
+        Suit lead = trumpInfo.getEffectiveSuit(trick[leader].get(0));
+        leadSuit = lead == null ? TRUMP : lead.ordinal();
+        winner = leader;
+        winStrength = -1;
+        trickPoints = 0;
+        boolean grouped = trickType == PlayType.BANG || trickType == PlayType.GUNZI;
+        for (int offset = 0; offset < 4; offset++) {
+            int i = (leader + offset) % 4;
+            List<Card> played = trick[i];
+            if (played == null || played.isEmpty()) continue;
+            for (Card card : played) {
+                trickPoints += card.getPoints();
+            }
+            if (grouped && engine.determinePlayType(played) != trickType) continue;
+            Card card = played.get(0);
+            if (trumpInfo.isTrump(card) || trumpInfo.getEffectiveSuit(card) == lead) {
+                int s = trumpInfo.getCardStrength(card);
+                if (s > winStrength) {
+                    winStrength = s;
+                    winner = i;
+                }
+            }
+        }
+    }
+
+    // ---- 领出 ----
+
+    /**
+     * 领出强副牌 A 或小主的滚子/棒子，与 {@link EasyAI#chooseLeadMulti(Player, GameEngine)} 的优先顺序相同。
+     */
+    private boolean leadMulti() {
+        int strongGunzi = -1;
+        int strongBang = -1;
+        int smallGunzi = -1;
+        int smallBang = -1;
+        for (int i = 0; i < size; i++) {
+            faceCounts[cards[i].getFaceIndex()]++;
+        }
+        for (int i = 0; i < size; i++) {
+            int face = cards[i].getFaceIndex();
+            int count = faceCounts[face];
+            if (count < 2) continue;
+            // 每种牌面只看第一次出现的那张
+            faceCounts[face] = -count;
+            boolean strong = suit[i] != TRUMP && cards[i].getRank() == Rank.ACE;
+            boolean small = suit[i] == TRUMP && strength[i] < EasyAI.SMALL_TRUMP_THRESHOLD;
+            if (count >= 3) {
+                if (strong && (strongGunzi < 0 || strength[i] > strength[strongGunzi])) strongGunzi = i;
+                if (small && (smallGunzi < 0 || strength[i] < strength[smallGunzi])) smallGunzi = i;
+            }
+            if (strong && (strongBang < 0 || strength[i] > strength[strongBang])) strongBang = i;
+            if (small && (smallBang < 0 || strength[i] < strength[smallBang])) smallBang = i;
+        }
+        for (int i = 0; i < size; i++) {
+            faceCounts[cards[i].getFaceIndex()] = 0;
+        }
+        if (strongGunzi >= 0) return addGroup(strongGunzi, 3);
+        if (strongBang >= 0) return addGroup(strongBang, 2);
+        if (smallGunzi >= 0) return addGroup(smallGunzi, 3);
+        if (smallBang >= 0) return addGroup(smallBang, 2);
+        return false;
+    }
+
+    private boolean addGroup(int first, int count) {
+        int face = cards[first].getFaceIndex();
+        for (int i = first; i < size && move.size() < count; i++) {
+            if (cards[i].getFaceIndex() == face) {
+                move.add(cards[i]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单张领出，与 {@link EasyAI#chooseLead(Player, List, TrumpInfo)} 相同。
+     */
+    private int lead(boolean aggressive) {
+        for (int s = 0; s < TRUMP; s++) {
+            for (int i = 0; i < size; i++) {
+                if (suit[i] == s && cards[i].getRank() == Rank.ACE) return i;
+            }
+        }
+        if (aggressive) {
+            int gamble = -1;
+            for (int s = 0; s < TRUMP; s++) {
+                int card = extreme(s, true, false, true);
+                if (card >= 0 && (gamble < 0 || strength[card] > strength[gamble])) gamble = card;
+            }
+            if (gamble >= 0) return gamble;
+        }
+
+        // 短套：张数不超过阈值且有非分牌，取最短的花色里最小的非分牌
+        int shortSuit = -1;
+        int shortSize = Integer.MAX_VALUE;
+        for (int s = 0; s < TRUMP; s++) {
+            int count = count(s);
+            if (count > 0 && count <= EasyAI.SHORT_SUIT_THRESHOLD && count < shortSize && hasNonPoint(s)) {
+                shortSize = count;
+                shortSuit = s;
+            }
+        }
+        if (shortSuit >= 0) {
+            return extreme(shortSuit, true, false, false);
+        }
+
+        // 最长的副牌花色：优先最大的非分牌，只有分牌时出最大的
+        int longSuit = -1;
+        int longSize = 0;
+        for (int s = 0; s < TRUMP; s++) {
+            int count = count(s);
+            if (count > longSize) {
+                longSize = count;
+                longSuit = s;
+            }
+        }
+        if (longSuit >= 0) {
+            int card = extreme(longSuit, true, false, true);
+            return card >= 0 ? card : extreme(longSuit, false, false, true);
+        }
+
+        int trump = extreme(TRUMP, false, true, false);
+        return trump >= 0 ? trump : extreme(ALL, false, false, false);
+    }
+
+    // ---- 跟单张 ----
+
+    /**
+     * 跟单张，与 {@link EasyAI#chooseFollow(Player, List, GameEngine)} 相同。
+     */
+    private int follow(boolean aggressive) {
+        boolean partnerWinning = winner == (seat + 2) % 4;
+        if (count(leadSuit) > 0) {
+            if (partnerWinning) {
+                return pointsForPartner(leadSuit);
+            }
+            if (trickPoints > 0 || !hasNonPointNormal(leadSuit) || aggressive) {
+                int beat = lowestBeating(leadSuit);
+                if (beat >= 0) return beat;
+            }
+            return playLow(leadSuit);
+        }
+
+        boolean hasNonTrump = count(TRUMP) < size;
+        if (partnerWinning) {
+            return pointsForPartner(hasNonTrump ? NON_TRUMP : ALL);
+        }
+        boolean hasTrump = count(TRUMP) > 0;
+        if (aggressive && trickPoints > 0 && hasTrump) {
+            int ruff = lowestBeating(TRUMP);
+            if (ruff >= 0) return ruff;
+        }
+        if (hasNonPointNormal(NON_TRUMP)) {
+            return playLow(NON_TRUMP);
+        }
+        if (hasTrump) {
+            int ruff = lowestBeating(TRUMP);
+            if (ruff >= 0) return ruff;
+        }
+        if (hasNonTrump) {
+            return playLow(NON_TRUMP);
+        }
+        if (hasTrump && trickPoints >= FORCED_TRUMP_POINTS) {
+            // 与 EasyAI#playTrump 相同：出能管上的最小主牌，管不上就出最小的主牌
+            int beat = -1;
+            for (int i = 0; i < size; i++) {
+                if (suit[i] == TRUMP && strength[i] > winStrength && (beat < 0 || strength[i] < strength[beat])) beat = i;
+            }
+            return beat >= 0 ? beat : extreme(TRUMP, false, false, false);
+        }
+        return playLow(ALL);
+    }
+
+    private boolean matches(int i, int filter) {
+        return filter == ALL || (filter == NON_TRUMP ? suit[i] != TRUMP : suit[i] == filter);
+    }
+
+    private int count(int filter) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (matches(i, filter)) count++;
+        }
+        return count;
+    }
+
+    private boolean hasNonPoint(int filter) {
+        for (int i = 0; i < size; i++) {
+            if (matches(i, filter) && points[i] == 0) return true;
+        }
+        return false;
+    }
+
+    private boolean hasNonPointNormal(int filter) {
+        for (int i = 0; i < size; i++) {
+            if (matches(i, filter) && points[i] == 0 && !special[i]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 在满足 {@code filter} 的牌中取牌力最小（{@code max} 时最大）的一张；
+     * {@code nonPoint} 只看非分牌，{@code normal} 只看非特殊主牌。没有时返回 -1。
+     */
+    private int extreme(int filter, boolean nonPoint, boolean normal, boolean max) {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (!matches(i, filter) || (nonPoint && points[i] != 0) || (normal && special[i])) continue;
+            if (best < 0 || (max ? strength[i] > strength[best] : strength[i] < strength[best])) best = i;
+        }
+        return best;
+    }
+
+    /**
+     * 能管上当前赢家的最小非特殊牌，没有时返回 -1。
+     */
+    private int lowestBeating(int filter) {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (!matches(i, filter) || special[i] || strength[i] <= winStrength) continue;
+            if (best < 0 || strength[i] < strength[best]) best = i;
+        }
+        return best;
+    }
+
+    /**
+     * 与 {@link EasyAI#playLow(List, TrumpInfo)} 相同：最小的普通非分牌，其次最小的非特殊牌，最后最小的牌。
+     */
+    private int playLow(int filter) {
+        int card = extreme(filter, true, true, false);
+        if (card < 0) card = extreme(filter, false, true, false);
+        return card >= 0 ? card : extreme(filter, false, false, false);
+    }
+
+    /**
+     * 与 {@link EasyAI#playPointsForPartner(List, TrumpInfo)} 相同：普通牌中分最多的，没有分牌时出最小的普通牌，
+     * 只剩特殊主牌时出最小的。
+     */
+    private int pointsForPartner(int filter) {
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (matches(i, filter) && !special[i] && points[i] > 0 && (best < 0 || points[i] > points[best])) best = i;
+        }
+        if (best >= 0) return best;
+        int low = extreme(filter, false, true, false);
+        return low >= 0 ? low : extreme(filter, false, false, false);
+    }
+
+    // ---- 跟棒子/滚子 ----
+
+    /**
+     * 活棒模式下跟多张，与 {@link EasyAI#chooseMultiCards(Player, GameEngine, int)} 相同。
+     */
+    private void followMulti(int required) {
+        boolean partnerWinning = winner == (seat + 2) % 4;
+        // 同花色：从弱到强，特殊主牌最后，队友没赢时分牌靠后
+        while (move.size() < required) {
+            int pick = pickMin(i -> suit[i] == leadSuit, i -> {
+                if (special[i]) return strength[i] + EasyAI.SORT_PRIORITY_OFFSET;
+                if (!partnerWinning && points[i] > 0) return strength[i] + EasyAI.POINT_CARD_PENALTY_OFFSET;
+                return strength[i];
+            });
+            if (pick < 0) break;
+            take(pick);
+        }
+        int remaining = required - move.size();
+        if (remaining == 0) return;
+
+        if (partnerWinning) {
+            // 队友赢：先垫分多的副牌，再用主牌
+            fill(required, i -> suit[i] != leadSuit && suit[i] != TRUMP, i -> -points[i] * 10000 + strength[i]);
+        } else if (!takeWinningTrumpGroup(remaining)) {
+            // 管不上：先垫副牌（分牌和 A 靠后），副牌不够再用主牌
+            fill(required, i -> suit[i] != leadSuit && suit[i] != TRUMP, i -> {
+                if (points[i] > 0) return strength[i] + EasyAI.SORT_PRIORITY_OFFSET;
+                if (cards[i].getRank() == Rank.ACE) return strength[i] + EasyAI.POINT_CARD_PENALTY_OFFSET;
+                return strength[i];
+            });
+        }
+        fill(required, i -> suit[i] != leadSuit && suit[i] == TRUMP,
+            i -> special[i] ? strength[i] + EasyAI.SORT_PRIORITY_OFFSET : strength[i]);
+    }
+
+    /**
+     * 与 {@link EasyAI#findWinningTrumpGroup(List, GameEngine, int, TrumpInfo)} 相同：本墩分够时，
+     * 用能管上的最小非特殊主牌组补齐。
+     */
+    private boolean takeWinningTrumpGroup(int remaining) {
+        if (trickPoints < EasyAI.MIN_POINTS_FOR_TRUMP_OVERRIDE || leadSuit == TRUMP) return false;
+        for (int i = 0; i < size; i++) {
+            if (suit[i] == TRUMP) faceCounts[cards[i].getFaceIndex()]++;
+        }
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            if (suit[i] != TRUMP || special[i] || faceCounts[cards[i].getFaceIndex()] < remaining) continue;
+            if (strength[i] > winStrength && (best < 0 || strength[i] < strength[best])) best = i;
+        }
+        for (int i = 0; i < size; i++) {
+            faceCounts[cards[i].getFaceIndex()] = 0;
+        }
+        if (best < 0) return false;
+        int face = cards[best].getFaceIndex();
+        for (int i = best; i < size && remaining > 0; i++) {
+            if (!chosen[i] && cards[i].getFaceIndex() == face) {
+                take(i);
+                remaining--;
+            }
+        }
+        return true;
+    }
+
+    private void fill(int required, IndexFilter filter, IndexKey key) {
+        while (move.size() < required) {
+            int pick = pickMin(filter, key);
+            if (pick < 0) return;
+            take(pick);
+        }
+    }
+
+    private int pickMin(IndexFilter filter, IndexKey key) {
+        int best = -1;
+        int bestKey = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (chosen[i] || !filter.test(i)) continue;
+            int k = key.of(i);
+            if (best < 0 || k < bestKey) {
+                best = i;
+                bestKey = k;
+            }
+        }
+        return best;
+    }
+
+    private void take(int i) {
+        chosen[i] = true;
+        move.add(cards[i]);
+    }
+
+    @FunctionalInterface
+    private interface IndexFilter {
+        boolean test(int i);
+    }
+
+    @FunctionalInterface
+    private interface IndexKey {
+        int of(int i);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.util.Arrays;
+
+/**
+ * 搜索型 AI 的思考时间管理：按当前墩的分数和是否临近扣底给每次决策分配时间（底牌是否有分只有庄家知道），
+ * 并限制每个座位在一局中的总思考时间。同一局内按座位累计已用时间，换局（或换引擎）时清零。
+ * <p>
+ * 只在决策线程上调用，不做同步。
+ */
+public final class TimeManager {
+
+    // 墩中分数每多这么多分，分配时间增加一倍基础时间
+    private static final double POINTS_PER_BASE = 50.0;
+    // 手牌不超过这么多张时视为临近最后一墩，底牌有分时加时
+    private static final int LATE_HAND_SIZE = 3;
+    private static final double LATE_KITTY_FACTOR = 1.5;
+    // 每次需要搜索的决策大约对应三次出牌，用于估算本局剩余的搜索次数
+    private static final int PLAYS_PER_SEARCH = 3;
+
+    private final long baseMs;
+    private final long maxMs;
+    private final long minMs;
+    private final long roundBudgetMs;
+    private final long[] spentMs = new long[4];
+    private GameEngine roundEngine;
+    private int roundNumber;
+
+    /**
+     * @param baseMs        普通决策的思考时间
+     * @param maxMs         单次决策的思考时间上限
+     * @param minMs         单次决策的思考时间下限，本局预算用完后仍保证的时间
+     * @param roundBudgetMs 每个座位一局的思考时间预算
+     */
+    public TimeManager(long baseMs, long maxMs, long minMs, long roundBudgetMs) {
+        if (minMs <= 0 || baseMs < minMs || maxMs < baseMs) {
+            throw new IllegalArgumentException("Require 0 < minMs <= baseMs <= maxMs");
+        }
+        if (roundBudgetMs < minMs) {
+            throw new IllegalArgumentException("Round budget must be at least minMs");
+        }
+        this.baseMs = baseMs;
+        this.maxMs = maxMs;
+        this.minMs = minMs;
+        this.roundBudgetMs = roundBudgetMs;
+    }
+
+    /**
+     * 为 {@code seat} 在当前局面的一次决策分配思考时间（毫秒）。
+     *
+     * @param trickPoints 当前墩中已有的分数
+     */
+    public long allocate(GameEngine engine, int seat, int trickPoints) {
+        syncRound(engine);
+        double stakes = 1.0 + Math.max(0, trickPoints) / POINTS_PER_BASE;
+        int handSize = engine.getPlayers()[seat].getHand().size();
+        if (handSize <= LATE_HAND_SIZE && kittyMayHavePoints(engine, seat)) {
+            // 最后一墩底牌分翻倍归赢家，临近时多想
+            stakes *= LATE_KITTY_FACTOR;
+        }
+        long wanted = Math.min(maxMs, Math.round(baseMs * stakes));
+        long remaining = roundBudgetMs - spentMs[seat];
+        long searchesLeft = Math.max(1, (handSize + PLAYS_PER_SEARCH - 1) / PLAYS_PER_SEARCH);
+        long share = remaining / searchesLeft;
+        return Math.max(minMs, Math.min(wanted, share));
+    }
+
+    /**
+     * 记录 {@code seat} 一次决策实际用掉的时间。
+     */
+    public void record(GameEngine engine, int seat, long elapsedMs) {
+        syncRound(engine);
+        spentMs[seat] += Math.max(0, elapsedMs);
+    }
+
+    /**
+     * 返回 {@code seat} 本局已用的思考时间（毫秒）。
+     */
+    public long getSpentMs(GameEngine engine, int seat) {
+        syncRound(engine);
+        return spentMs[seat];
+    }
+
+    public long getRoundBudgetMs() {
+        return roundBudgetMs;
+    }
+
+    private void syncRound(GameEngine engine) {
+        if (engine != roundEngine || engine.getRoundNumber() != roundNumber) {
+            roundEngine = engine;
+            roundNumber = engine.getRoundNumber();
+            Arrays.fill(spentMs, 0);
+        }
+    }
+
+    /**
+     * 底牌是否可能有分。只有庄家扣的底、看得到底牌；其他座位看不到，一律按可能有分处理。
+     */
+    private static boolean kittyMayHavePoints(GameEngine engine, int seat) {
+        if (seat != engine.getDealerIndex()) {
+            return true;
+        }
+        for (Card card : engine.getKitty()) {
+            if (card.getPoints() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
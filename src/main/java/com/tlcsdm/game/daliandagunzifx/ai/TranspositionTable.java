@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 以 {@link com.tlcsdm.game.daliandagunzifx.engine.GameEngine#getStateHash()} 为键的置换表，容量固定，
+ * 可由多个搜索线程无锁共享。
+ * <p>
+ * 每个条目占两个 long，分别存 {@code key ^ data} 与 {@code data}。读取时用 data 还原 key 并与查询的哈希比对，
+ * 条目被其他线程写到一半或已换成别的局面时比对失败，按未命中处理，因此读写都不需要加锁。
+ * 条目两两成桶：第一格按深度优先保留，第二格总是覆盖。
+ * <p>
+ * data 的低 32 位为评估值，其上依次为 8 位深度、2 位界类型和 1 位有效标记。
+ */
+public final class TranspositionTable {
+
+    /** 界类型：精确值。 */
+    public static final int EXACT = 0;
+    /** 界类型：真实值不低于存储值。 */
+    public static final int LOWER_BOUND = 1;
+    /** 界类型：真实值不高于存储值。 */
+    public static final int UPPER_BOUND = 2;
+    /** {@link #probe(long)} 未命中时的返回值。 */
+    public static final long MISS = 0L;
+    public static final int MAX_DEPTH = 0xFF;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final long VALID = 1L << 42;
+
+    private final AtomicLongArray slots;
+    private final int bucketMask;
+
+    /**
+     * @param capacity 至少能容纳的条目数，向上取整为 2 的幂（最少 2 个）
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        int entries = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.slots = new AtomicLongArray(entries * 2);
+        this.bucketMask = entries / 2 - 1;
+    }
+
+    public int capacity() {
+        return slots.length() / 2;
+    }
+
+    /**
+     * 查找 {@code hash} 对应的条目，命中时返回打包的 data（用 {@link #value(long)} 等方法解包），否则返回 {@link #MISS}。
+     */
+    public long probe(long hash) {
+        int base = bucket(hash);
+        for (int slot = base; slot < base + 4; slot += 2) {
+            long data = slots.getOpaque(slot + 1);
+            if (data != MISS && (slots.getOpaque(slot) ^ data) == hash) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * 存入 {@code hash} 的评估结果。深度超出 {@link #MAX_DEPTH} 时按最大值存储。
+     */
+    public void store(long hash, int value, int depth, int bound) {
+        if (bound < EXACT || bound > UPPER_BOUND) {
+            throw new IllegalArgumentException("Invalid bound: " + bound);
+        }
+        long data = (value & 0xFFFFFFFFL)
+            | ((long) Math.clamp(depth, 0, MAX_DEPTH) << DEPTH_SHIFT)
+            | ((long) bound << BOUND_SHIFT)
+            | VALID;
+        int base = bucket(hash);
+        long existing = slots.getOpaque(base + 1);
+        // 同一局面、空格或深度不低于已有条目时写入深度优先格，否则写入总是覆盖格
+        int slot = existing == MISS || (slots.getOpaque(base) ^ existing) == hash
+            || depth(data) >= depth(existing) ? base : base + 2;
+        slots.setOpaque(slot, hash ^ data);
+        slots.setOpaque(slot + 1, data);
+    }
+
+    /**
+     * 清空全部条目。与其他线程的读写并发时，清空期间写入的条目可能保留。
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setOpaque(i, 0L);
+        }
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    private int bucket(long hash) {
+        // 折叠高低 32 位后取桶号
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) << 2;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link GameEngine} 主要状态转换的 JFR 事件，持续时间即该转换的耗时。未开启录制时几乎没有开销。
+ * <p>
+ * 出牌与结算墩在 AI 推演中每秒发生数十万次，默认关闭，需要时在录制配置中单独开启。
+ */
+final class EngineEvents {
+
+    private static final String CATEGORY = "DaGunZi";
+    private static final String SUBCATEGORY = "Engine";
+
+    private EngineEvents() {
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.RoundStart")
+    @Label("Round Start")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("洗牌发牌，开始新的一局")
+    @StackTrace(false)
+    static final class RoundStart extends Event {
+
+        @Label("Round Number")
+        int roundNumber;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.Tribute")
+    @Label("Tribute")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("进贡或还贡转移一张牌")
+    @StackTrace(false)
+    static final class Tribute extends Event {
+
+        @Label("From")
+        int from;
+
+        @Label("To")
+        int to;
+
+        @Label("Card")
+        String card;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.TrumpDeclaration")
+    @Label("Trump Declaration")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("叫主或由底牌定主，庄家收起底牌")
+    @StackTrace(false)
+    static final class TrumpDeclaration extends Event {
+
+        @Label("Declarer")
+        @Description("叫主的玩家，由底牌定主时为 -1")
+        int declarer;
+
+        @Label("Dealer")
+        int dealer;
+
+        @Label("Trump Suit")
+        String trumpSuit;
+
+        @Label("Trump Rank")
+        String trumpRank;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.Kitty")
+    @Label("Kitty")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("庄家扣底，进入出牌阶段")
+    @StackTrace(false)
+    static final class Kitty extends Event {
+
+        @Label("Dealer")
+        int dealer;
+
+        @Label("Kitty Points")
+        int kittyPoints;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.PlayCards")
+    @Label("Play Cards")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("一名玩家出牌")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PlayCards extends Event {
+
+        @Label("Seat")
+        int seat;
+
+        @Label("Cards")
+        int cards;
+
+        @Label("Play Type")
+        String playType;
+
+        @Label("Trick Cards Played")
+        int trickCardsPlayed;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.TrickEvaluation")
+    @Label("Trick Evaluation")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("结算一墩")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class TrickEvaluation extends Event {
+
+        @Label("Winner")
+        int winner;
+
+        @Label("Trick Points")
+        @Description("本墩分数，最后一墩含翻倍的底分")
+        int trickPoints;
+
+        @Label("Defender Points")
+        int defenderPoints;
+
+        @Label("Phase")
+        String phase;
+    }
+
+    @Name("com.tlcsdm.game.daliandagunzifx.RoundEnd")
+    @Label("Round End")
+    @Category({CATEGORY, SUBCATEGORY})
+    @Description("结算一局")
+    @StackTrace(false)
+    static final class RoundEnd extends Event {
+
+        @Label("Defender Points")
+        int defenderPoints;
+
+        @Label("Winning Team")
+        int winningTeam;
+
+        @Label("Level Change")
+        int levelChange;
+
+        @Label("Tribute Count")
+        int tributeCount;
+
+        @Label("Phase")
+        String phase;
+    }
+}
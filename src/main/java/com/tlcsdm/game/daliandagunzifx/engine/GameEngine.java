@@ -33,20 +33,25 @@
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class GameEngine {
 
+    private static final GameEngineListener[] NO_LISTENERS = new GameEngineListener[0];
+
     private final Player[] players;
     private TrumpInfo trumpInfo;
     private GamePhase phase;
     private int currentPlayerIndex;
     private int dealerIndex;
     private List<Card> kitty;
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "rawtypes"})
     private final List<Card>[] currentTrickCards = new List[4];
     private PlayType currentTrickPlayType;
     private int currentTrickLeader;
@@ -59,11 +64,33 @@ public class GameEngine {
     private int previousTributeCount;
     private boolean lastTrickWonByDefender;
     private int nextDealerIndex;
+    // 本局进贡/还贡时公开转移的牌，按发生顺序记录，供确定化采样把这些牌固定在接收方手里
+    private List<CardTransfer> cardTransfers = new ArrayList<>();
+    // 本局叫主的玩家（底牌定主时为 -1）与表示过不叫的玩家位掩码，供 AI 推断手牌
+    private int trumpDeclarer = -1;
+    private int trumpPassMask;
+    // 局面的 Zobrist 哈希：手牌归属、当前墩的牌、底牌、轮到出牌的座位、主牌与庄家，出牌与结算时增量维护
+    private long stateHash;
     // 活棒（true）：领出棒子/滚子时，跟牌方不强制拆/保持牌组，可自由出同花色单张等。
     // 死棒（false）：跟牌方手中有同花色对子/三条时必须保持牌组完整。默认活棒。
     private boolean liveBang = true;
+    // 出牌阶段的撤销栈：playCards/evaluateTrick 每次压入一条记录，记录对象复用以避免分配
+    private UndoRecord[] undoStack = new UndoRecord[16];
+    private int undoDepth;
+    // 发牌、随机定主与随机定庄使用的随机数生成器，注入相同种子即可复现整局
+    private RandomGenerator random;
+    // 牌局进程监听器（如对局记录），副本不继承，搜索推演不会触发回调
+    private GameEngineListener[] listeners = NO_LISTENERS;
 
     public GameEngine(Player[] players) {
+        this(players, new SplittableRandom());
+    }
+
+    /**
+     * @param players 四名玩家
+     * @param random  发牌与随机定主使用的随机数生成器
+     */
+    public GameEngine(Player[] players, RandomGenerator random) {
         if (players.length != 4) {
             throw new IllegalArgumentException("Exactly 4 players required");
         }
@@ -76,6 +103,40 @@ public GameEngine(Player[] players) {
         this.previousTributeCount = 0;
         this.lastTrickWonByDefender = false;
         this.nextDealerIndex = -1;
+        this.random = Objects.requireNonNull(random);
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * 替换随机数生成器，之后的发牌与随机定主都使用它。
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = Objects.requireNonNull(random);
+    }
+
+    /**
+     * 添加牌局进程监听器。监听器在发牌、叫主、进贡、扣底、出牌与结算之后同步回调，
+     * {@link #copy()} 得到的副本不带监听器。
+     */
+    public void addListener(GameEngineListener listener) {
+        Objects.requireNonNull(listener);
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(GameEngineListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEngineListener[] remaining = new GameEngineListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return;
+            }
+        }
     }
 
     /**
@@ -89,33 +150,63 @@ public boolean isLiveBang() {
      * 设置活棒/死棒模式。{@code true} 为活棒（不强制保持牌组），{@code false} 为死棒（强制保持牌组）。
      */
     public void setLiveBang(boolean liveBang) {
+        if (this.liveBang != liveBang) {
+            stateHash ^= Zobrist.DEAD_BANG;
+        }
         this.liveBang = liveBang;
     }
 
     public void startNewRound() {
+        Deck deck = new Deck();
+        deck.shuffle(random);
+        startNewRound(deck.deal(162));
+    }
+
+    /**
+     * 按给定牌序开始新一局：前 156 张依次每人发 39 张，最后 6 张为底牌。
+     * 用于回放对局记录，正常开局由 {@link #startNewRound()} 洗牌后调用。
+     *
+     * @param cards 162 张牌，按发牌顺序排列
+     */
+    public void startNewRound(List<Card> cards) {
+        if (cards.size() != 162) {
+            throw new IllegalArgumentException("Exactly 162 cards required");
+        }
+        EngineEvents.RoundStart event = new EngineEvents.RoundStart();
+        event.begin();
         roundNumber++;
+        undoDepth = 0;
         defenderPoints = 0;
         totalCardsPlayed = 0;
         trickCardsPlayed = 0;
         lastTrickWonByDefender = false;
         currentTrickPlayType = null;
         kitty = new ArrayList<>();
+        cardTransfers = new ArrayList<>();
+        trumpDeclarer = -1;
+        trumpPassMask = 0;
         for (int i = 0; i < 4; i++) {
             currentTrickCards[i] = null;
             players[i].getHand().clear();
         }
 
-        Deck deck = new Deck();
-        deck.shuffle();
-
         // Deal 39 cards to each player
         for (int i = 0; i < 4; i++) {
-            players[i].addCards(deck.deal(39));
+            players[i].addCards(cards.subList(i * 39, (i + 1) * 39));
         }
         // Remaining 6 cards go to kitty
-        kitty = deck.deal(6);
+        kitty = new ArrayList<>(cards.subList(156, 162));
+        recomputeStateHash();
 
         phase = GamePhase.DEALING;
+        if (event.shouldCommit()) {
+            event.roundNumber = roundNumber;
+            event.phase = phase.name();
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.roundStarted(this);
+        }
     }
 
     public boolean isTributeRequired() {
@@ -141,14 +232,15 @@ public void performTribute(int giverIndex, Card tributeCard, Card returnCard) {
             throw new IllegalArgumentException("Receiver does not have the return card");
         }
 
-        giver.removeCards(List.of(tributeCard));
-        receiver.addCards(List.of(tributeCard));
-        receiver.removeCards(List.of(returnCard));
-        giver.addCards(List.of(returnCard));
+        transferCard(giverIndex, tributeCard, receiverIndex);
+        transferCard(receiverIndex, returnCard, giverIndex);
     }
 
     public void finishTribute() {
-        phase = GamePhase.DEALING;
+        // 亮主之后才进贡时保持扣底阶段，否则 setKitty 会因阶段不符而失败
+        if (phase != GamePhase.PREPARING_KITTY) {
+            phase = GamePhase.DEALING;
+        }
     }
 
     public int getPreviousWinningTeam() {
@@ -201,10 +293,8 @@ public String performAutoTribute() {
             }
             if (returnCard == null) break;
 
-            giver.removeCards(List.of(bestCard));
-            receiver.addCards(List.of(bestCard));
-            receiver.removeCards(List.of(returnCard));
-            giver.addCards(List.of(returnCard));
+            transferCard(giverIndex, bestCard, receiverIndex);
+            transferCard(receiverIndex, returnCard, giverIndex);
 
             if (!messages.isEmpty()) messages.append("；");
             messages.append(giver.getName()).append(" 进贡 ").append(bestCard.getDisplayName())
@@ -299,16 +389,41 @@ public Card getTributeCard(int giverIndex) {
      * 执行进贡的"给"步骤：进贡方将贡牌转给接收方。
      */
     public void executeTributeGive(int giverIndex, Card tributeCard, int receiverIndex) {
-        players[giverIndex].removeCards(List.of(tributeCard));
-        players[receiverIndex].addCards(List.of(tributeCard));
+        transferCard(giverIndex, tributeCard, receiverIndex);
     }
 
     /**
      * 执行进贡的"还"步骤：接收方将回贡牌还给进贡方。
      */
     public void executeTributeReturn(int receiverIndex, Card returnCard, int giverIndex) {
-        players[receiverIndex].removeCards(List.of(returnCard));
-        players[giverIndex].addCards(List.of(returnCard));
+        transferCard(receiverIndex, returnCard, giverIndex);
+    }
+
+    private void transferCard(int fromIndex, Card card, int toIndex) {
+        EngineEvents.Tribute event = new EngineEvents.Tribute();
+        event.begin();
+        players[fromIndex].removeCards(List.of(card));
+        players[toIndex].addCards(List.of(card));
+        CardTransfer transfer = new CardTransfer(fromIndex, toIndex, card);
+        cardTransfers.add(transfer);
+        stateHash ^= Zobrist.card(fromIndex, card.getId()) ^ Zobrist.card(toIndex, card.getId());
+        if (event.shouldCommit()) {
+            event.from = fromIndex;
+            event.to = toIndex;
+            event.card = card.getDisplayName();
+            event.phase = phase.name();
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.cardTransferred(this, transfer);
+        }
+    }
+
+    /**
+     * 本局进贡与还贡转移过的牌（按发生顺序，只读）。进贡和还贡都当众进行，所有玩家都知道这些牌的去向。
+     */
+    public List<CardTransfer> getCardTransfers() {
+        return Collections.unmodifiableList(cardTransfers);
     }
 
     /**
@@ -336,9 +451,12 @@ public void declareTrump(int playerIndex, Suit suit) {
         if (phase != GamePhase.DEALING && phase != GamePhase.DECLARING_TRUMP) {
             throw new IllegalStateException("Cannot declare trump in phase: " + phase);
         }
+        EngineEvents.TrumpDeclaration event = new EngineEvents.TrumpDeclaration();
+        event.begin();
         dealerIndex = playerIndex;
+        trumpDeclarer = playerIndex;
         Rank currentLevel = teamLevels[players[playerIndex].getTeam()];
-        trumpInfo = new TrumpInfo(suit, currentLevel);
+        trumpInfo = TrumpInfo.of(suit, currentLevel);
         phase = GamePhase.PREPARING_KITTY;
 
         // Dealer picks up the kitty
@@ -347,6 +465,46 @@ public void declareTrump(int playerIndex, Suit suit) {
         for (Player player : players) {
             player.sortHand(trumpInfo);
         }
+        recomputeStateHash();
+        commitTrumpDeclaration(event);
+    }
+
+    private void commitTrumpDeclaration(EngineEvents.TrumpDeclaration event) {
+        if (event.shouldCommit()) {
+            event.declarer = trumpDeclarer;
+            event.dealer = dealerIndex;
+            event.trumpSuit = trumpInfo.getTrumpSuit().name();
+            event.trumpRank = trumpInfo.getTrumpRank().name();
+            event.phase = phase.name();
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.trumpDeclared(this);
+        }
+    }
+
+    /**
+     * 记录玩家表示不叫主（首局为不亮王）。只影响 {@link #hasPassedTrump(int)}，不改变叫主流程。
+     */
+    public void passTrump(int playerIndex) {
+        if (phase != GamePhase.DEALING && phase != GamePhase.DECLARING_TRUMP) {
+            throw new IllegalStateException("Cannot pass trump in phase: " + phase);
+        }
+        trumpPassMask |= 1 << playerIndex;
+        for (GameEngineListener listener : listeners) {
+            listener.trumpPassed(this, playerIndex);
+        }
+    }
+
+    public boolean hasPassedTrump(int playerIndex) {
+        return (trumpPassMask & (1 << playerIndex)) != 0;
+    }
+
+    /**
+     * 本局叫主（首局为亮王）的玩家；由底牌定主时返回 -1。
+     */
+    public int getTrumpDeclarer() {
+        return trumpDeclarer;
     }
 
     /**
@@ -357,7 +515,7 @@ public void declareTrump(int playerIndex, Suit suit) {
      */
     public Suit declareTrumpRandomSuit(int playerIndex) {
         Suit[] suits = Suit.values();
-        Suit randomSuit = suits[java.util.concurrent.ThreadLocalRandom.current().nextInt(suits.length)];
+        Suit randomSuit = suits[random.nextInt(suits.length)];
         declareTrump(playerIndex, randomSuit);
         return randomSuit;
     }
@@ -366,8 +524,7 @@ public Suit declareTrumpRandomSuit(int playerIndex) {
      * Check if a player has at least one Big Joker card.
      */
     public boolean playerHasBigJoker(int playerIndex) {
-        return players[playerIndex].getHand().stream()
-            .anyMatch(c -> c.getRank() == Rank.BIG_JOKER);
+        return players[playerIndex].countCardsOfRank(Rank.BIG_JOKER) > 0;
     }
 
     /**
@@ -381,6 +538,8 @@ public int declareTrumpFromKitty() {
         if (phase != GamePhase.DEALING && phase != GamePhase.DECLARING_TRUMP) {
             throw new IllegalStateException("Cannot declare trump from kitty in phase: " + phase);
         }
+        EngineEvents.TrumpDeclaration event = new EngineEvents.TrumpDeclaration();
+        event.begin();
 
         // Count suits in kitty (non-joker cards only)
         java.util.Map<Suit, Integer> suitCounts = new java.util.EnumMap<>(Suit.class);
@@ -415,10 +574,10 @@ public int declareTrumpFromKitty() {
                 }
             }
         } else {
-            dealerIndex = new java.util.Random().nextInt(4);
+            dealerIndex = random.nextInt(4);
         }
         Rank currentLevel = teamLevels[players[dealerIndex].getTeam()];
-        trumpInfo = new TrumpInfo(minSuit, currentLevel);
+        trumpInfo = TrumpInfo.of(minSuit, currentLevel);
         phase = GamePhase.PREPARING_KITTY;
 
         // Dealer picks up the kitty
@@ -427,6 +586,8 @@ public int declareTrumpFromKitty() {
         for (Player player : players) {
             player.sortHand(trumpInfo);
         }
+        recomputeStateHash();
+        commitTrumpDeclaration(event);
 
         return dealerIndex;
     }
@@ -442,6 +603,8 @@ public int declareTrumpFromKittyForDealer(int specifiedDealer) {
         if (phase != GamePhase.DEALING && phase != GamePhase.DECLARING_TRUMP) {
             throw new IllegalStateException("Cannot declare trump from kitty in phase: " + phase);
         }
+        EngineEvents.TrumpDeclaration event = new EngineEvents.TrumpDeclaration();
+        event.begin();
 
         java.util.Map<Suit, Integer> suitCounts = new java.util.EnumMap<>(Suit.class);
         for (Suit s : Suit.values()) {
@@ -464,13 +627,15 @@ public int declareTrumpFromKittyForDealer(int specifiedDealer) {
 
         dealerIndex = specifiedDealer;
         Rank currentLevel = teamLevels[players[dealerIndex].getTeam()];
-        trumpInfo = new TrumpInfo(minSuit, currentLevel);
+        trumpInfo = TrumpInfo.of(minSuit, currentLevel);
         phase = GamePhase.PREPARING_KITTY;
 
         players[dealerIndex].addCards(new ArrayList<>(kitty));
         for (Player player : players) {
             player.sortHand(trumpInfo);
         }
+        recomputeStateHash();
+        commitTrumpDeclaration(event);
 
         return dealerIndex;
     }
@@ -489,9 +654,12 @@ public void setKitty(List<Card> kittyCards) {
         if (!players[dealerIndex].hasCards(kittyCards)) {
             throw new IllegalArgumentException("Dealer does not have all specified kitty cards");
         }
+        EngineEvents.Kitty event = new EngineEvents.Kitty();
+        event.begin();
 
         players[dealerIndex].removeCards(kittyCards);
         kitty = new ArrayList<>(kittyCards);
+        undoDepth = 0;
 
         // Sort all hands after kitty is set
         for (Player player : players) {
@@ -502,6 +670,20 @@ public void setKitty(List<Card> kittyCards) {
         currentTrickLeader = dealerIndex;
         currentPlayerIndex = dealerIndex;
         phase = GamePhase.PLAYING;
+        recomputeStateHash();
+        if (event.shouldCommit()) {
+            int kittyPoints = 0;
+            for (Card card : kitty) {
+                kittyPoints += card.getPoints();
+            }
+            event.dealer = dealerIndex;
+            event.kittyPoints = kittyPoints;
+            event.phase = phase.name();
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.kittySet(this);
+        }
     }
 
     public boolean isValidPlay(int playerIndex, Card card) {
@@ -518,7 +700,8 @@ public boolean isValidPlay(int playerIndex, List<Card> cards) {
         if (cards == null || cards.isEmpty()) {
             return false;
         }
-        if (!players[playerIndex].hasCards(cards)) {
+        Player player = players[playerIndex];
+        if (!player.hasCards(cards)) {
             return false;
         }
 
@@ -545,10 +728,10 @@ public boolean isValidPlay(int playerIndex, List<Card> cards) {
         Card leadCard = leadCards.get(0);
         Suit leadSuit = trumpInfo.getEffectiveSuit(leadCard);
 
-        List<Card> suitCardsInHand = players[playerIndex].getCardsOfSuit(leadSuit, trumpInfo);
+        int suitCountInHand = player.countCardsOfSuit(leadSuit, trumpInfo);
         int requiredCount = cards.size();
 
-        if (suitCardsInHand.size() >= requiredCount) {
+        if (suitCountInHand >= requiredCount) {
             // Has enough suit cards — all played cards must be of lead suit
             for (Card card : cards) {
                 Suit cardSuit = trumpInfo.getEffectiveSuit(card);
@@ -558,17 +741,22 @@ public boolean isValidPlay(int playerIndex, List<Card> cards) {
             }
             // 保持牌组完整（仅死棒模式）：领出棒子(BANG)或滚子(GUNZI)时，跟牌方持有同
             // 花色对子/三条时必须使用；活棒模式（默认）下不做此要求。
-            if (!liveBang && !isValidGroupedFollow(cards, suitCardsInHand)) {
+            if (!liveBang && !isValidGroupedFollow(cards, player.maxIdenticalCountOfSuit(leadSuit, trumpInfo))) {
                 return false;
             }
 
-        } else if (!suitCardsInHand.isEmpty()) {
-            // Has some suit cards but not enough — must play all suit cards
-            for (Card suitCard : suitCardsInHand) {
-                if (!cards.contains(suitCard)) {
-                    return false;
+        } else if (suitCountInHand > 0) {
+            // Has some suit cards but not enough — must play all suit cards.
+            // 出的牌已确认都在手中且互不重复，只需核对其中同花色的张数
+            int playedSuitCount = 0;
+            for (Card card : cards) {
+                if (trumpInfo.getEffectiveSuit(card) == leadSuit) {
+                    playedSuitCount++;
                 }
             }
+            if (playedSuitCount != suitCountInHand) {
+                return false;
+            }
         }
         return true;
     }
@@ -629,15 +817,14 @@ private int getPlayTypeCardCount(PlayType playType) {
      *       played cards must contain a pair (pair + single).</li>
      * </ul>
      *
-     * @param cards           the cards the follower wants to play (all lead suit)
-     * @param suitCardsInHand all lead-suit cards currently in the follower's hand
+     * @param cards        the cards the follower wants to play (all lead suit)
+     * @param maxAvailable the largest identical group among the follower's lead-suit cards
      * @return true if the play respects the grouping rule
      */
-    private boolean isValidGroupedFollow(List<Card> cards, List<Card> suitCardsInHand) {
+    private boolean isValidGroupedFollow(List<Card> cards, int maxAvailable) {
         if (currentTrickPlayType != PlayType.BANG && currentTrickPlayType != PlayType.GUNZI) {
             return true;
         }
-        int maxAvailable = maxIdenticalCount(suitCardsInHand);
         if (currentTrickPlayType == PlayType.BANG) {
             // Holding a pair forces a pair to be played
             return maxAvailable < 2 || determinePlayType(cards) == PlayType.BANG;
@@ -648,29 +835,11 @@ private boolean isValidGroupedFollow(List<Card> cards, List<Card> suitCardsInHan
         }
         if (maxAvailable == 2) {
             // No triple but a pair available — played cards must contain a pair
-            return maxIdenticalCount(cards) >= 2;
+            return Player.maxIdenticalCount(cards) >= 2;
         }
         return true;
     }
 
-    /**
-     * Returns the size of the largest group of identical cards (same suit and rank)
-     * within the given list.
-     */
-    private int maxIdenticalCount(List<Card> cards) {
-        Map<String, Integer> counts = new HashMap<>();
-        int max = 0;
-        for (Card card : cards) {
-            String key = (card.getSuit() == null ? "JOKER" : card.getSuit().name())
-                + "_" + card.getRank().name();
-            int value = counts.merge(key, 1, Integer::sum);
-            if (value > max) {
-                max = value;
-            }
-        }
-        return max;
-    }
-
     public void playCard(int playerIndex, Card card) {
         playCards(playerIndex, List.of(card));
     }
@@ -679,25 +848,57 @@ public void playCards(int playerIndex, List<Card> cards) {
         if (!isValidPlay(playerIndex, cards)) {
             throw new IllegalArgumentException("Invalid play by player " + playerIndex);
         }
+        EngineEvents.PlayCards event = new EngineEvents.PlayCards();
+        event.begin();
+
+        UndoRecord record = pushUndoRecord();
+        record.playerIndex = playerIndex;
 
         if (trickCardsPlayed == 0) {
             currentTrickPlayType = determinePlayType(cards);
         }
 
-        currentTrickCards[playerIndex] = new ArrayList<>(cards);
-        players[playerIndex].removeCards(cards);
+        List<Card> played = new ArrayList<>(cards);
+        currentTrickCards[playerIndex] = played;
+        record.cards = played;
+        if (record.positions.length < played.size()) {
+            record.positions = new int[played.size()];
+        }
+        players[playerIndex].removeCards(played, record.positions);
+        for (Card card : played) {
+            stateHash ^= Zobrist.card(playerIndex, card.getId())
+                ^ Zobrist.card(Zobrist.TRICK + playerIndex, card.getId());
+        }
         trickCardsPlayed++;
         totalCardsPlayed += cards.size();
 
         if (trickCardsPlayed < 4) {
-            currentPlayerIndex = (currentPlayerIndex + 1) % 4;
+            moveTo((currentPlayerIndex + 1) % 4);
+        }
+        if (event.shouldCommit()) {
+            event.seat = playerIndex;
+            event.cards = played.size();
+            event.playType = currentTrickPlayType.name();
+            event.trickCardsPlayed = trickCardsPlayed;
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.cardsPlayed(this, playerIndex, played);
         }
     }
 
+    private void moveTo(int playerIndex) {
+        stateHash ^= Zobrist.toMove(currentPlayerIndex) ^ Zobrist.toMove(playerIndex);
+        currentPlayerIndex = playerIndex;
+    }
+
     public int evaluateTrick() {
         if (trickCardsPlayed != 4) {
             throw new IllegalStateException("Trick is not complete");
         }
+        EngineEvents.TrickEvaluation event = new EngineEvents.TrickEvaluation();
+        event.begin();
+        pushUndoRecord().playerIndex = -1;
 
         List<Card> leadCards = currentTrickCards[currentTrickLeader];
         Card leadCard = leadCards.get(0);
@@ -782,16 +983,26 @@ public int evaluateTrick() {
 
         // Prepare for next trick
         currentTrickLeader = winnerIndex;
-        currentPlayerIndex = winnerIndex;
+        moveTo(winnerIndex);
         trickCardsPlayed = 0;
         currentTrickPlayType = null;
         for (int i = 0; i < 4; i++) {
+            for (Card card : currentTrickCards[i]) {
+                stateHash ^= Zobrist.card(Zobrist.TRICK + i, card.getId());
+            }
             currentTrickCards[i] = null;
         }
 
         if (isLastTrick) {
             phase = GamePhase.ROUND_END;
         }
+        if (event.shouldCommit()) {
+            event.winner = winnerIndex;
+            event.trickPoints = trickPoints;
+            event.defenderPoints = defenderPoints;
+            event.phase = phase.name();
+            event.commit();
+        }
 
         return winnerIndex;
     }
@@ -813,6 +1024,8 @@ public RoundResult calculateRoundResult() {
         if (phase != GamePhase.ROUND_END) {
             throw new IllegalStateException("Round is not over");
         }
+        EngineEvents.RoundEnd event = new EngineEvents.RoundEnd();
+        event.begin();
         int declarerTeam = players[dealerIndex].getTeam();
         int bloods = getKittyBloods();
         RoundResult result = new RoundResult(defenderPoints, declarerTeam, bloods, lastTrickWonByDefender);
@@ -825,9 +1038,44 @@ public RoundResult calculateRoundResult() {
         } else {
             nextDealerIndex = (dealerIndex + 1) % 4; // 顺时针下一个（闲家）
         }
+        if (event.shouldCommit()) {
+            event.defenderPoints = defenderPoints;
+            event.winningTeam = result.getWinningTeam();
+            event.levelChange = result.getLevelChange();
+            event.tributeCount = result.getTributeCount();
+            event.phase = phase.name();
+            event.commit();
+        }
+        for (GameEngineListener listener : listeners) {
+            listener.roundEnded(this, result);
+        }
         return result;
     }
 
+    /**
+     * 按本局结果为胜方升级。升过 10 即打碎 10，该队赢得整场游戏，级别停在 10。
+     *
+     * @return 胜方是否因此赢得整场游戏
+     */
+    public boolean applyLevelChange(RoundResult result) {
+        if (result.getWinningTeam() < 0 || result.getLevelChange() <= 0) {
+            return false;
+        }
+        int team = result.getWinningTeam();
+        int newVal = teamLevels[team].getValue() + result.getLevelChange();
+        if (newVal > Rank.TEN.getValue()) {
+            teamLevels[team] = Rank.TEN;
+            return true;
+        }
+        for (Rank r : Rank.values()) {
+            if (r.getValue() == newVal && r != Rank.SMALL_JOKER && r != Rank.BIG_JOKER) {
+                teamLevels[team] = r;
+                break;
+            }
+        }
+        return false;
+    }
+
     public int getKittyBloods() {
         int bloods = 0;
         for (Card card : kitty) {
@@ -914,21 +1162,175 @@ public int getTotalCardsPlayed() {
         return totalCardsPlayed;
     }
 
+    /**
+     * 局面的 Zobrist 哈希，由各家手牌、当前墩已出的牌、底牌、轮到出牌的座位、主牌与庄家以及活棒/死棒决定，
+     * 不含已得分数与出牌顺序：经不同出牌顺序到达的相同局面哈希相同，适合作为置换表的键，
+     * 表中应存放与已得分数无关的值（例如剩余可得分数）。
+     * <p>
+     * 发牌、进贡、定主、扣底时重算，{@link #playCards(int, List)}、{@link #evaluateTrick()} 与 {@link #undo()} 中增量维护。
+     * 绕过引擎直接修改手牌（如确定化采样）后需调用 {@link #recomputeStateHash()}。
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * 按当前手牌与牌局状态重新计算 {@link #getStateHash()} 并返回。
+     */
+    public long recomputeStateHash() {
+        long hash = Zobrist.toMove(currentPlayerIndex) ^ Zobrist.trump(trumpInfo, dealerIndex);
+        if (!liveBang) {
+            hash ^= Zobrist.DEAD_BANG;
+        }
+        for (Card card : kitty) {
+            hash ^= Zobrist.card(Zobrist.KITTY, card.getId());
+        }
+        for (int i = 0; i < 4; i++) {
+            for (Card card : players[i].getHand()) {
+                hash ^= Zobrist.card(i, card.getId());
+            }
+            if (currentTrickCards[i] != null) {
+                for (Card card : currentTrickCards[i]) {
+                    hash ^= Zobrist.card(Zobrist.TRICK + i, card.getId());
+                }
+            }
+        }
+        stateHash = hash;
+        return hash;
+    }
+
     public int getNextDealerIndex() {
         return nextDealerIndex;
     }
 
+    /**
+     * 恢复两局之间的比赛状态（读取存档时使用），之后的 {@link #startNewRound()} 按这些状态继续：
+     * 两队级别、已打局数、上局胜方与进贡数、预定的下一局庄家。
+     */
+    public void restoreMatchState(Rank[] teamLevels, int roundNumber, int previousWinningTeam,
+                                  int previousTributeCount, int nextDealerIndex) {
+        if (phase != GamePhase.ROUND_END) {
+            throw new IllegalStateException("Cannot restore match state in phase: " + phase);
+        }
+        this.teamLevels[0] = teamLevels[0];
+        this.teamLevels[1] = teamLevels[1];
+        this.roundNumber = roundNumber;
+        this.previousWinningTeam = previousWinningTeam;
+        this.previousTributeCount = previousTributeCount;
+        this.nextDealerIndex = nextDealerIndex;
+    }
+
+    /**
+     * 当前可撤销的步数。进入出牌阶段或开始新一局时清零。
+     */
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /**
+     * 撤销最近一次 {@link #playCards(int, List)} 或 {@link #evaluateTrick()}，把牌局恢复到该操作之前的状态，
+     * 手牌顺序也原样还原。搜索可以在同一个引擎上前进再回退，而不必为每次采样调用 {@link #copy()}。
+     *
+     * @throws IllegalStateException 没有可撤销的操作
+     */
+    public void undo() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        UndoRecord record = undoStack[--undoDepth];
+        if (record.playerIndex >= 0) {
+            players[record.playerIndex].restoreCards(record.cards, record.positions);
+            record.cards = null;
+        }
+        phase = record.phase;
+        currentPlayerIndex = record.currentPlayerIndex;
+        currentTrickPlayType = record.currentTrickPlayType;
+        currentTrickLeader = record.currentTrickLeader;
+        trickCardsPlayed = record.trickCardsPlayed;
+        totalCardsPlayed = record.totalCardsPlayed;
+        defenderPoints = record.defenderPoints;
+        lastTrickWonByDefender = record.lastTrickWonByDefender;
+        stateHash = record.stateHash;
+        for (int i = 0; i < 4; i++) {
+            currentTrickCards[i] = record.trickCards[i];
+            record.trickCards[i] = null;
+        }
+    }
+
+    /**
+     * 连续撤销，直到撤销栈深度回到 {@code depth}（通常是之前 {@link #getUndoDepth()} 的返回值）。
+     */
+    public void undoTo(int depth) {
+        if (depth < 0 || depth > undoDepth) {
+            throw new IllegalArgumentException("Invalid undo depth: " + depth);
+        }
+        while (undoDepth > depth) {
+            undo();
+        }
+    }
+
+    /**
+     * 返回撤销栈中第 {@code depth} 条记录的出牌者（{@code depth} 小于 {@link #getUndoDepth()}），
+     * 该记录为结算一墩时返回 -1。撤销栈按顺序记录了本局出牌阶段的全部操作，因此也可当作出牌历史读取。
+     */
+    public int getHistoryPlayer(int depth) {
+        return historyRecord(depth).playerIndex;
+    }
+
+    /**
+     * 返回撤销栈中第 {@code depth} 条记录打出的牌，结算墩的记录返回空列表。
+     */
+    public List<Card> getHistoryCards(int depth) {
+        UndoRecord record = historyRecord(depth);
+        return record.playerIndex >= 0 ? Collections.unmodifiableList(record.cards) : List.of();
+    }
+
+    private UndoRecord historyRecord(int depth) {
+        if (depth < 0 || depth >= undoDepth) {
+            throw new IndexOutOfBoundsException("History depth " + depth + " out of " + undoDepth);
+        }
+        return undoStack[depth];
+    }
+
+    private UndoRecord pushUndoRecord() {
+        if (undoDepth == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+        }
+        UndoRecord record = undoStack[undoDepth];
+        if (record == null) {
+            record = new UndoRecord();
+            undoStack[undoDepth] = record;
+        }
+        undoDepth++;
+        record.phase = phase;
+        record.currentPlayerIndex = currentPlayerIndex;
+        record.currentTrickPlayType = currentTrickPlayType;
+        record.currentTrickLeader = currentTrickLeader;
+        record.trickCardsPlayed = trickCardsPlayed;
+        record.totalCardsPlayed = totalCardsPlayed;
+        record.defenderPoints = defenderPoints;
+        record.lastTrickWonByDefender = lastTrickWonByDefender;
+        record.stateHash = stateHash;
+        System.arraycopy(currentTrickCards, 0, record.trickCards, 0, 4);
+        return record;
+    }
+
     public GameEngine copy() {
         Player[] newPlayers = new Player[4];
         for (int i = 0; i < 4; i++) {
             newPlayers[i] = players[i].copy();
         }
-        GameEngine copy = new GameEngine(newPlayers);
+        // 副本共享随机数生成器：搜索用的副本只在出牌阶段推演，不会再发牌或随机定主
+        GameEngine copy = new GameEngine(newPlayers, this.random);
         copy.trumpInfo = this.trumpInfo;
         copy.phase = this.phase;
         copy.currentPlayerIndex = this.currentPlayerIndex;
         copy.dealerIndex = this.dealerIndex;
         copy.kitty = new ArrayList<>(this.kitty);
+        copy.cardTransfers = new ArrayList<>(this.cardTransfers);
+        copy.trumpDeclarer = this.trumpDeclarer;
+        copy.trumpPassMask = this.trumpPassMask;
+        copy.stateHash = this.stateHash;
         for (int i = 0; i < 4; i++) {
             copy.currentTrickCards[i] = this.currentTrickCards[i] != null
                 ? new ArrayList<>(this.currentTrickCards[i]) : null;
@@ -948,4 +1350,26 @@ public GameEngine copy() {
         copy.liveBang = this.liveBang;
         return copy;
     }
+
+    /**
+     * 一步出牌或结算墩的撤销记录：操作前的牌局状态，以及出牌时从手牌移除的牌和它们的原下标。
+     */
+    private static final class UndoRecord {
+
+        private GamePhase phase;
+        private int currentPlayerIndex;
+        private PlayType currentTrickPlayType;
+        private int currentTrickLeader;
+        private int trickCardsPlayed;
+        private int totalCardsPlayed;
+        private int defenderPoints;
+        private boolean lastTrickWonByDefender;
+        private long stateHash;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private final List<Card>[] trickCards = new List[4];
+        // 出牌者下标，-1 表示结算墩
+        private int playerIndex;
+        private List<Card> cards;
+        private int[] positions = new int[3];
+    }
 }
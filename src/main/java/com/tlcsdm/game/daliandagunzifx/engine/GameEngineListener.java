@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.util.List;
+
+/**
+ * 牌局进程监听器，由 {@link GameEngine#addListener(GameEngineListener)} 注册。
+ * 每个回调都在对应操作完成、引擎状态更新之后同步调用，默认实现为空。
+ * 撤销（{@link GameEngine#undo()}）不回调，监听器只应挂在真实对局的引擎上。
+ */
+public interface GameEngineListener {
+
+    /**
+     * 发牌完成。此时各家手牌与底牌就是发出的牌。
+     */
+    default void roundStarted(GameEngine engine) {
+    }
+
+    default void trumpPassed(GameEngine engine, int playerIndex) {
+    }
+
+    /**
+     * 主牌与庄家已确定（叫主或底牌定主），庄家已拿起底牌。
+     * 底牌定主时 {@link GameEngine#getTrumpDeclarer()} 为 -1。
+     */
+    default void trumpDeclared(GameEngine engine) {
+    }
+
+    /**
+     * 进贡或还贡转移了一张牌。
+     */
+    default void cardTransferred(GameEngine engine, CardTransfer transfer) {
+    }
+
+    /**
+     * 庄家扣底完成，{@link GameEngine#getKitty()} 为扣下的底牌。
+     */
+    default void kittySet(GameEngine engine) {
+    }
+
+    /**
+     * @param cards 本次出的牌（只读）
+     */
+    default void cardsPlayed(GameEngine engine, int playerIndex, List<Card> cards) {
+    }
+
+    default void roundEnded(GameEngine engine, RoundResult result) {
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.PlayType;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 合法出牌生成器。一次遍历当前玩家手牌，把所有合法的单张、棒子、滚子以及混合跟牌写入可复用的内部缓冲区，
+ * 结果与逐个调用 {@link GameEngine#isValidPlay(int, List)} 一致（含活棒/死棒规则）。
+ * <p>
+ * 只有牌面（花色与点数）相同、仅副数不同的出牌视为同一种出牌，只生成一次。
+ * 缓冲区在多次 {@link #generate(GameEngine)} 之间复用，容量足够后不再分配内存。
+ * 实例不是线程安全的，每个线程应使用自己的生成器。
+ */
+public final class LegalMoveGenerator {
+
+    private static final int MAX_MOVE_SIZE = 3;
+
+    // 出牌缓冲区：第 i 手牌为 moveCards[moveOffsets[i], moveOffsets[i + 1])
+    private Card[] moveCards = new Card[64];
+    private int[] moveOffsets = new int[33];
+    private int moveCount;
+
+    // 按牌面分组的手牌
+    private final int[] faceCounts = new int[Card.FACE_COUNT];
+    private final int[] faceStarts = new int[Card.FACE_COUNT];
+    private final int[] faces = new int[Card.FACE_COUNT];
+    private final int[] suitFaces = new int[Card.FACE_COUNT];
+    private final int[] otherFaces = new int[Card.FACE_COUNT];
+    private Card[] grouped = new Card[64];
+
+    // 组合过程中的当前出牌
+    private final Card[] current = new Card[MAX_MOVE_SIZE];
+
+    /**
+     * 生成当前玩家的全部合法出牌，覆盖上一次的结果。
+     *
+     * @return 合法出牌数量；非出牌阶段返回 0
+     */
+    public int generate(GameEngine engine) {
+        moveCount = 0;
+        moveOffsets[0] = 0;
+        if (engine.getPhase() != GamePhase.PLAYING) {
+            return 0;
+        }
+        Player player = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        int faceTotal = groupByFace(player.getHand());
+
+        if (engine.getTrickCardsPlayed() == 0) {
+            // 领出：每种牌面的单张、棒子、滚子
+            for (int f = 0; f < faceTotal; f++) {
+                int face = faces[f];
+                int available = Math.min(faceCounts[face], MAX_MOVE_SIZE);
+                for (int take = 1; take <= available; take++) {
+                    for (int i = 0; i < take; i++) {
+                        current[i] = grouped[faceStarts[face] + i];
+                    }
+                    emit(take);
+                }
+            }
+            clearFaces(faceTotal);
+            return moveCount;
+        }
+
+        int required = requiredCount(engine.getCurrentTrickPlayType());
+        Card leadCard = engine.getCurrentTrickCards()[engine.getCurrentTrickLeader()].get(0);
+        Suit leadSuit = trumpInfo.getEffectiveSuit(leadCard);
+
+        int suitFaceTotal = 0;
+        int otherFaceTotal = 0;
+        int suitCardTotal = 0;
+        int maxSuitGroup = 0;
+        for (int f = 0; f < faceTotal; f++) {
+            int face = faces[f];
+            if (trumpInfo.getEffectiveSuit(grouped[faceStarts[face]]) == leadSuit) {
+                suitFaces[suitFaceTotal++] = face;
+                suitCardTotal += faceCounts[face];
+                maxSuitGroup = Math.max(maxSuitGroup, faceCounts[face]);
+            } else {
+                otherFaces[otherFaceTotal++] = face;
+            }
+        }
+
+        if (suitCardTotal >= required) {
+            // 够跟：全部出同花色，死棒模式下持有对子/三条时必须成组跟出
+            int minGroup = engine.isLiveBang() ? 0 : minGroupToFollow(engine.getCurrentTrickPlayType(), maxSuitGroup);
+            combine(suitFaces, suitFaceTotal, 0, required, 0, 0, minGroup);
+        } else if (suitCardTotal > 0) {
+            // 不够跟：同花色全部出，其余任意补齐
+            int depth = 0;
+            for (int f = 0; f < suitFaceTotal; f++) {
+                int face = suitFaces[f];
+                for (int i = 0; i < faceCounts[face]; i++) {
+                    current[depth++] = grouped[faceStarts[face] + i];
+                }
+            }
+            combine(otherFaces, otherFaceTotal, 0, required - depth, depth, 0, 0);
+        } else {
+            // 无此花色：任意垫牌
+            combine(faces, faceTotal, 0, required, 0, 0, 0);
+        }
+        clearFaces(faceTotal);
+        return moveCount;
+    }
+
+    /**
+     * 返回上一次生成的出牌数量。
+     */
+    public int size() {
+        return moveCount;
+    }
+
+    /**
+     * 返回第 {@code index} 手出牌的张数。
+     */
+    public int moveSize(int index) {
+        checkIndex(index);
+        return moveOffsets[index + 1] - moveOffsets[index];
+    }
+
+    /**
+     * 返回第 {@code index} 手出牌中的第 {@code position} 张牌。
+     */
+    public Card card(int index, int position) {
+        checkIndex(index);
+        int offset = moveOffsets[index] + position;
+        if (position < 0 || offset >= moveOffsets[index + 1]) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of move " + index);
+        }
+        return moveCards[offset];
+    }
+
+    /**
+     * 以新列表返回第 {@code index} 手出牌。
+     */
+    public List<Card> move(int index) {
+        checkIndex(index);
+        List<Card> result = new ArrayList<>(moveSize(index));
+        for (int i = moveOffsets[index]; i < moveOffsets[index + 1]; i++) {
+            result.add(moveCards[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 以新列表返回上一次生成的全部出牌。
+     */
+    public List<List<Card>> moves() {
+        List<List<Card>> result = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            result.add(move(i));
+        }
+        return result;
+    }
+
+    /**
+     * 收集 {@code player} 可以单独打出的每一张牌（不做牌面去重），
+     * 等价于对每张手牌调用 {@link GameEngine#isValidPlay(int, Card)}。
+     */
+    public static List<Card> legalSingles(GameEngine engine, Player player) {
+        List<Card> result = new ArrayList<>();
+        if (engine.getPhase() != GamePhase.PLAYING || player.getId() != engine.getCurrentPlayerIndex()) {
+            return result;
+        }
+        List<Card> hand = player.getHand();
+        if (engine.getTrickCardsPlayed() == 0) {
+            result.addAll(hand);
+            return result;
+        }
+        if (requiredCount(engine.getCurrentTrickPlayType()) != 1) {
+            return result;
+        }
+        TrumpInfo trumpInfo = engine.getTrumpInfo();
+        Suit leadSuit = trumpInfo.getEffectiveSuit(
+            engine.getCurrentTrickCards()[engine.getCurrentTrickLeader()].get(0));
+        for (Card card : hand) {
+            if (trumpInfo.getEffectiveSuit(card) == leadSuit) {
+                result.add(card);
+            }
+        }
+        if (result.isEmpty()) {
+            result.addAll(hand);
+        }
+        return result;
+    }
+
+    static int requiredCount(PlayType playType) {
+        if (playType == null) {
+            return 1;
+        }
+        return switch (playType) {
+            case SINGLE -> 1;
+            case PAIR, BANG -> 2;
+            case GUNZI -> 3;
+        };
+    }
+
+    /**
+     * 死棒模式下跟牌必须包含的最小同牌面组，与 GameEngine#isValidGroupedFollow 对应。
+     */
+    private static int minGroupToFollow(PlayType leadType, int maxAvailable) {
+        if (leadType == PlayType.BANG) {
+            return maxAvailable >= 2 ? 2 : 0;
+        }
+        if (leadType == PlayType.GUNZI) {
+            if (maxAvailable >= 3) {
+                return 3;
+            }
+            return maxAvailable == 2 ? 2 : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * 从 {@code faceList[from..]} 中选取 {@code remaining} 张牌（同一牌面可取多张）追加到 current[depth..]，
+     * 要求整手牌中至少有一个牌面取了 {@code minGroup} 张。
+     */
+    private void combine(int[] faceList, int faceTotal, int from, int remaining, int depth,
+                         int largestTake, int minGroup) {
+        if (remaining == 0) {
+            if (largestTake >= minGroup) {
+                emit(depth);
+            }
+            return;
+        }
+        for (int f = from; f < faceTotal; f++) {
+            int face = faceList[f];
+            int available = Math.min(faceCounts[face], remaining);
+            for (int take = 1; take <= available; take++) {
+                current[depth + take - 1] = grouped[faceStarts[face] + take - 1];
+                combine(faceList, faceTotal, f + 1, remaining - take, depth + take,
+                    Math.max(largestTake, take), minGroup);
+            }
+        }
+    }
+
+    private void emit(int length) {
+        int start = moveOffsets[moveCount];
+        if (start + length > moveCards.length) {
+            moveCards = Arrays.copyOf(moveCards, Math.max(moveCards.length * 2, start + length));
+        }
+        if (moveCount + 2 > moveOffsets.length) {
+            moveOffsets = Arrays.copyOf(moveOffsets, moveOffsets.length * 2);
+        }
+        System.arraycopy(current, 0, moveCards, start, length);
+        moveCount++;
+        moveOffsets[moveCount] = start + length;
+    }
+
+    /**
+     * 按牌面把手牌稳定地分组到 grouped 中，faces 记录各牌面首次出现的顺序。
+     *
+     * @return 不同牌面的数量
+     */
+    private int groupByFace(List<Card> hand) {
+        if (grouped.length < hand.size()) {
+            grouped = new Card[Math.max(grouped.length * 2, hand.size())];
+        }
+        int faceTotal = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            int face = hand.get(i).getFaceIndex();
+            if (faceCounts[face]++ == 0) {
+                faces[faceTotal++] = face;
+            }
+        }
+        int offset = 0;
+        for (int f = 0; f < faceTotal; f++) {
+            int face = faces[f];
+            faceStarts[face] = offset;
+            offset += faceCounts[face];
+            // 暂时借用 faceCounts 作为写入游标，下方再恢复
+            faceCounts[face] = 0;
+        }
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            int face = card.getFaceIndex();
+            grouped[faceStarts[face] + faceCounts[face]++] = card;
+        }
+        return faceTotal;
+    }
+
+    private void clearFaces(int faceTotal) {
+        for (int f = 0; f < faceTotal; f++) {
+            faceCounts[faces[f]] = 0;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + moveCount);
+        }
+    }
+}
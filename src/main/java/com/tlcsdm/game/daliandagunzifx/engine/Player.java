@@ -27,18 +27,22 @@
 package com.tlcsdm.game.daliandagunzifx.engine;
 
 import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.CardSet;
 import com.tlcsdm.game.daliandagunzifx.model.Rank;
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public class Player {
 
     private final int id;
     private final String name;
-    private final List<Card> hand;
+    private final HandList hand;
     private final int team;
     private final boolean isHuman;
     private Rank level;
@@ -46,7 +50,7 @@ public class Player {
     public Player(int id, String name, boolean isHuman) {
         this.id = id;
         this.name = name;
-        this.hand = new ArrayList<>();
+        this.hand = new HandList();
         this.team = id % 2;
         this.isHuman = isHuman;
         this.level = Rank.THREE;
@@ -88,7 +92,44 @@ public void removeCards(List<Card> cards) {
         hand.removeAll(cards);
     }
 
+    /**
+     * 逐张移除 {@code cards}，并把每张牌移除时所在的下标依次写入 {@code positions}，
+     * 以便 {@link #restoreCards(List, int[])} 原样还原手牌顺序。
+     */
+    void removeCards(List<Card> cards, int[] positions) {
+        for (int i = 0; i < cards.size(); i++) {
+            int index = hand.indexOf(cards.get(i));
+            positions[i] = index;
+            hand.remove(index);
+        }
+    }
+
+    /**
+     * 按逆序把 {@link #removeCards(List, int[])} 移除的牌插回原位置。
+     */
+    void restoreCards(List<Card> cards, int[] positions) {
+        for (int i = cards.size() - 1; i >= 0; i--) {
+            hand.add(positions[i], cards.get(i));
+        }
+    }
+
     public boolean hasCards(List<Card> cards) {
+        if (hand.isIndexed()) {
+            CardSet ids = hand.ids;
+            for (int i = 0; i < cards.size(); i++) {
+                int id = cards.get(i).getId();
+                if (!ids.contains(id)) {
+                    return false;
+                }
+                // 手牌中每张牌只有一张，同一张牌不能出现两次
+                for (int j = 0; j < i; j++) {
+                    if (cards.get(j).getId() == id) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
         List<Card> temp = new ArrayList<>(hand);
         for (Card card : cards) {
             if (!temp.remove(card)) {
@@ -116,18 +157,278 @@ public List<Card> getCardsOfSuit(Suit suit, TrumpInfo trumpInfo) {
         return result;
     }
 
+    /**
+     * 统计手牌中有效花色为 {@code suit} 的牌数（{@code suit} 为 null 表示主牌），不分配任何对象。
+     */
+    public int countCardsOfSuit(Suit suit, TrumpInfo trumpInfo) {
+        if (hand.isIndexed()) {
+            return hand.ids.countIn(trumpInfo.getEffectiveSuitMask(suit));
+        }
+        int count = 0;
+        for (Card card : hand) {
+            if (trumpInfo.getEffectiveSuit(card) == suit) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 统计手牌中某一点数的牌数。
+     */
+    public int countCardsOfRank(Rank rank) {
+        if (hand.isIndexed()) {
+            return hand.ids.countRank(rank);
+        }
+        int count = 0;
+        for (Card card : hand) {
+            if (card.getRank() == rank) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 返回手牌中有效花色为 {@code suit} 的牌里，相同花色且相同点数的最大牌组张数。
+     * 2 表示有棒子，3 表示有滚子。
+     */
+    public int maxIdenticalCountOfSuit(Suit suit, TrumpInfo trumpInfo) {
+        if (hand.isIndexed()) {
+            return hand.ids.maxIdenticalCount(trumpInfo.getEffectiveSuitMask(suit));
+        }
+        return maxIdenticalCount(getCardsOfSuit(suit, trumpInfo));
+    }
+
+    /**
+     * Returns the size of the largest group of identical cards (same suit and rank)
+     * within the given list.
+     */
+    static int maxIdenticalCount(List<Card> cards) {
+        int max = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            Card a = cards.get(i);
+            int count = 1;
+            for (int j = i + 1; j < cards.size(); j++) {
+                Card b = cards.get(j);
+                if (a.getRank() == b.getRank() && a.getSuit() == b.getSuit()) {
+                    count++;
+                }
+            }
+            if (count > max) {
+                max = count;
+            }
+        }
+        return max;
+    }
+
     public List<Card> getTrumpCards(TrumpInfo trumpInfo) {
         return getCardsOfSuit(null, trumpInfo);
     }
 
     public void sortHand(TrumpInfo trumpInfo) {
-        hand.sort(Comparator.comparingInt(trumpInfo::getCardStrength).reversed());
+        hand.sort(trumpInfo.strengthDescending());
     }
 
     public Player copy() {
         Player copy = new Player(this.id, this.name, this.isHuman);
-        copy.hand.addAll(this.hand);
+        copy.hand.copyFrom(this.hand);
         copy.level = this.level;
         return copy;
     }
+
+    /**
+     * 手牌列表：保持 {@link ArrayList} 的顺序与可直接修改的语义，同时维护一个按牌 id 索引的
+     * {@link CardSet}，使成员判断和花色统计为 O(1)。
+     * <p>
+     * 只有手牌全部为 {@link CardSet#isIndexable 可索引} 的标准牌且互不重复时索引才可用；
+     * 否则（如测试中手工构造的牌），或列表经由未覆盖的途径被修改过时，调用方退回到线性扫描。
+     * 查询不会修改索引，因此多个线程可以同时读取一副不再变动的手牌。
+     */
+    @SuppressWarnings("serial") // 手牌从不序列化；索引字段也无法脱离列表单独恢复
+    private static final class HandList extends ArrayList<Card> {
+
+        private final CardSet ids = new CardSet();
+        // 无法放入索引的牌（非标准编号或重复）的数量
+        private int foreignCount;
+        // 索引最后一次与列表同步时的 modCount
+        private int indexedModCount;
+
+        boolean isIndexed() {
+            return foreignCount == 0 && indexedModCount == modCount;
+        }
+
+        void copyFrom(HandList source) {
+            boolean sourceInSync = source.indexedModCount == source.modCount;
+            super.clear();
+            super.addAll(source);
+            if (sourceInSync) {
+                ids.copyFrom(source.ids);
+                foreignCount = source.foreignCount;
+                indexedModCount = modCount;
+            } else {
+                reindex();
+            }
+        }
+
+        @Override
+        public boolean add(Card card) {
+            boolean inSync = indexedModCount == modCount;
+            super.add(card);
+            afterAdd(inSync, card);
+            return true;
+        }
+
+        @Override
+        public void add(int index, Card card) {
+            boolean inSync = indexedModCount == modCount;
+            super.add(index, card);
+            afterAdd(inSync, card);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Card> cards) {
+            boolean inSync = indexedModCount == modCount;
+            boolean changed = super.addAll(cards);
+            afterAddAll(inSync, cards);
+            return changed;
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Card> cards) {
+            boolean inSync = indexedModCount == modCount;
+            boolean changed = super.addAll(index, cards);
+            afterAddAll(inSync, cards);
+            return changed;
+        }
+
+        @Override
+        public Card remove(int index) {
+            boolean inSync = indexedModCount == modCount;
+            Card removed = super.remove(index);
+            afterRemove(inSync, removed);
+            return removed;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean inSync = indexedModCount == modCount;
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            Card removed = super.remove(index);
+            afterRemove(inSync, removed);
+            return true;
+        }
+
+        @Override
+        public Card set(int index, Card card) {
+            Card old = super.set(index, card);
+            if (indexedModCount == modCount) {
+                if (foreignCount == 0) {
+                    ids.remove(old);
+                    track(card);
+                } else {
+                    reindex();
+                }
+            }
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            ids.clear();
+            foreignCount = 0;
+            indexedModCount = modCount;
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            boolean changed = super.removeAll(c);
+            reindex();
+            return changed;
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            boolean changed = super.retainAll(c);
+            reindex();
+            return changed;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Card> filter) {
+            boolean changed = super.removeIf(filter);
+            reindex();
+            return changed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            super.removeRange(fromIndex, toIndex);
+            reindex();
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<Card> operator) {
+            super.replaceAll(operator);
+            reindex();
+        }
+
+        @Override
+        public void sort(Comparator<? super Card> c) {
+            boolean inSync = indexedModCount == modCount;
+            super.sort(c);
+            // 排序不改变成员
+            if (inSync) {
+                indexedModCount = modCount;
+            }
+        }
+
+        private void afterAdd(boolean inSync, Card card) {
+            if (inSync) {
+                track(card);
+                indexedModCount = modCount;
+            } else {
+                reindex();
+            }
+        }
+
+        private void afterAddAll(boolean inSync, Collection<? extends Card> cards) {
+            if (inSync) {
+                for (Card card : cards) {
+                    track(card);
+                }
+                indexedModCount = modCount;
+            } else {
+                reindex();
+            }
+        }
+
+        private void afterRemove(boolean inSync, Card removed) {
+            if (inSync && foreignCount == 0) {
+                ids.remove(removed);
+                indexedModCount = modCount;
+            } else {
+                reindex();
+            }
+        }
+
+        private void track(Card card) {
+            if (!CardSet.isIndexable(card) || !ids.add(card.getId())) {
+                foreignCount++;
+            }
+        }
+
+        private void reindex() {
+            ids.clear();
+            foreignCount = 0;
+            for (int i = 0; i < size(); i++) {
+                track(get(i));
+            }
+            indexedModCount = modCount;
+        }
+    }
 }
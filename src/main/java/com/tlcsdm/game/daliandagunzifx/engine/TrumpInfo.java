@@ -27,17 +27,78 @@
 package com.tlcsdm.game.daliandagunzifx.engine;
 
 import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.CardSet;
 import com.tlcsdm.game.daliandagunzifx.model.Rank;
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
 
+import java.util.Comparator;
+
+/**
+ * 主牌信息。实例不可变，构造时按牌面预先计算好牌力、是否主牌与有效花色的查找表，
+ * 之后的查询均为一次数组访问。全部可能的组合可通过 {@link #of(Suit, Rank)} 共享复用。
+ */
 public class TrumpInfo {
 
+    // 全部 (主花色, 级牌) 组合的共享实例，主花色下标 4 表示无主
+    private static final TrumpInfo[][] CACHE = new TrumpInfo[Suit.values().length + 1][Rank.values().length];
+
+    static {
+        for (int s = 0; s < CACHE.length; s++) {
+            Suit suit = s < Suit.values().length ? Suit.values()[s] : null;
+            for (Rank rank : Rank.values()) {
+                CACHE[s][rank.ordinal()] = new TrumpInfo(suit, rank);
+            }
+        }
+    }
+
     private final Suit trumpSuit;
     private final Rank trumpRank;
+    // 按 Card#getFaceIndex() 索引的查找表
+    private final int[] strengthTable;
+    private final boolean[] trumpTable;
+    private final Suit[] effectiveSuitTable;
+    // 按有效花色划分的标准牌 id 掩码：下标为花色序号，最后一项为主牌
+    private final CardSet[] effectiveSuitMasks;
+    private final Comparator<Card> strengthDescending;
 
     public TrumpInfo(Suit trumpSuit, Rank trumpRank) {
         this.trumpSuit = trumpSuit;
         this.trumpRank = trumpRank;
+
+        this.strengthTable = new int[Card.FACE_COUNT];
+        this.trumpTable = new boolean[Card.FACE_COUNT];
+        this.effectiveSuitTable = new Suit[Card.FACE_COUNT];
+        for (Rank rank : Rank.values()) {
+            for (int s = 0; s <= Suit.values().length; s++) {
+                Suit suit = s < Suit.values().length ? Suit.values()[s] : null;
+                int face = Card.faceIndex(suit, rank);
+                boolean trump = computeIsTrump(suit, rank);
+                strengthTable[face] = computeCardStrength(suit, rank);
+                trumpTable[face] = trump;
+                effectiveSuitTable[face] = trump ? null : suit;
+            }
+        }
+
+        this.effectiveSuitMasks = new CardSet[Suit.values().length + 1];
+        for (int i = 0; i < effectiveSuitMasks.length; i++) {
+            effectiveSuitMasks[i] = new CardSet();
+        }
+        for (int id = 0; id < CardSet.CAPACITY; id++) {
+            Suit effective = effectiveSuitTable[Card.faceIndex(CardSet.suitOf(id), CardSet.rankOf(id))];
+            effectiveSuitMasks[maskIndex(effective)].add(id);
+        }
+        this.strengthDescending = (a, b) -> Integer.compare(getCardStrength(b), getCardStrength(a));
+    }
+
+    /**
+     * 返回共享的主牌信息实例，避免在模拟中重复创建和重建查找表。
+     *
+     * @param trumpSuit 主花色，null 表示无主
+     * @param trumpRank 级牌
+     */
+    public static TrumpInfo of(Suit trumpSuit, Rank trumpRank) {
+        int s = trumpSuit == null ? Suit.values().length : trumpSuit.ordinal();
+        return CACHE[s][trumpRank.ordinal()];
     }
 
     public Suit getTrumpSuit() {
@@ -49,7 +110,21 @@ public Rank getTrumpRank() {
     }
 
     public boolean isTrump(Card card) {
-        Rank rank = card.getRank();
+        return trumpTable[card.getFaceIndex()];
+    }
+
+    public int getCardStrength(Card card) {
+        return strengthTable[card.getFaceIndex()];
+    }
+
+    /**
+     * 按牌力从大到小排序的比较器（共享实例）。
+     */
+    public Comparator<Card> strengthDescending() {
+        return strengthDescending;
+    }
+
+    private boolean computeIsTrump(Suit suit, Rank rank) {
         if (rank == Rank.BIG_JOKER || rank == Rank.SMALL_JOKER) {
             return true;
         }
@@ -59,13 +134,10 @@ public boolean isTrump(Card card) {
         if (rank == trumpRank) {
             return true;
         }
-        return trumpSuit != null && card.getSuit() == trumpSuit;
+        return trumpSuit != null && suit == trumpSuit;
     }
 
-    public int getCardStrength(Card card) {
-        Rank rank = card.getRank();
-        Suit suit = card.getSuit();
-
+    private int computeCardStrength(Suit suit, Rank rank) {
         if (rank == Rank.BIG_JOKER) {
             return 1000;
         }
@@ -111,9 +183,18 @@ public static int effectiveRankStrength(Rank rank) {
      * Cards of trump rank are considered trump regardless of their actual suit.
      */
     public Suit getEffectiveSuit(Card card) {
-        if (isTrump(card)) {
-            return null;
-        }
-        return card.getSuit();
+        return effectiveSuitTable[card.getFaceIndex()];
+    }
+
+    /**
+     * 返回有效花色为 {@code suit} 的全部标准牌掩码，{@code suit} 为 null 时返回主牌掩码。
+     * 返回的集合为内部共享实例，调用方不得修改。
+     */
+    CardSet getEffectiveSuitMask(Suit suit) {
+        return effectiveSuitMasks[maskIndex(suit)];
+    }
+
+    private static int maskIndex(Suit suit) {
+        return suit == null ? Suit.values().length : suit.ordinal();
     }
 }
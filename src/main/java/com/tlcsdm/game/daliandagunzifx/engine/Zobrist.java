@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+/**
+ * {@link GameEngine#getStateHash()} 使用的 Zobrist 键。
+ * <p>
+ * 每个 (位置, 牌 id) 组合、轮到出牌的座位、(主牌, 庄家) 组合以及死棒模式各对应一个 64 位随机键，局面哈希为其异或和。
+ * 键不查表，而是用 SplitMix64 的混合函数由编号直接算出，结果固定且支持任意牌 id。
+ */
+final class Zobrist {
+
+    /** 位置 0~3 为各座位手牌，4~7 为各座位在当前墩打出的牌，8 为底牌。 */
+    static final int LOCATIONS = 9;
+    static final int TRICK = 4;
+    static final int KITTY = 8;
+
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long CARD_SALT = 0x1f83d9abfb41bd6bL;
+    private static final long MOVE_SALT = 0x5be0cd19137e2179L;
+    private static final long TRUMP_SALT = 0x6a09e667f3bcc909L;
+    /** 死棒模式的键：跟牌规则不同，同样的牌局结果也可能不同。 */
+    static final long DEAD_BANG = mix(0x3c6ef372fe94f82bL);
+
+    private Zobrist() {
+    }
+
+    static long card(int location, int cardId) {
+        return mix(CARD_SALT + ((long) cardId * LOCATIONS + location) * GAMMA);
+    }
+
+    static long toMove(int seat) {
+        return mix(MOVE_SALT + seat * GAMMA);
+    }
+
+    static long trump(TrumpInfo trumpInfo, int dealerIndex) {
+        if (trumpInfo == null) {
+            return 0;
+        }
+        int suit = trumpInfo.getTrumpSuit() == null ? Suit.values().length : trumpInfo.getTrumpSuit().ordinal();
+        long n = ((long) suit * Rank.values().length + trumpInfo.getTrumpRank().ordinal()) * 4 + dealerIndex;
+        return mix(TRUMP_SALT + n * GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -30,14 +30,29 @@
 
 public class Card {
 
+    /**
+     * 牌面（花色 + 点数）的种类数，即 {@link #getFaceIndex()} 的取值上界。
+     */
+    public static final int FACE_COUNT = Rank.values().length * (Suit.values().length + 1);
+
     private final Suit suit;
     private final Rank rank;
     private final int id;
+    private final int faceIndex;
 
     public Card(Suit suit, Rank rank, int id) {
         this.suit = suit;
         this.rank = rank;
         this.id = id;
+        this.faceIndex = faceIndex(suit, rank);
+    }
+
+    /**
+     * 返回牌面（花色 + 点数）的紧凑编号，范围 0 ~ {@link #FACE_COUNT} - 1。
+     * 三副牌中相同花色、相同点数的牌编号相同，可用作查表下标。
+     */
+    public static int faceIndex(Suit suit, Rank rank) {
+        return rank.ordinal() * (Suit.values().length + 1) + (suit == null ? Suit.values().length : suit.ordinal());
     }
 
     public Suit getSuit() {
@@ -52,6 +67,10 @@ public int getId() {
         return id;
     }
 
+    public int getFaceIndex() {
+        return faceIndex;
+    }
+
     public int getPoints() {
         return rank.getPoints();
     }
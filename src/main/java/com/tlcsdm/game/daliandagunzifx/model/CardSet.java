@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.model;
+
+/**
+ * 以三个 {@code long} 位字表示的牌集合，按 {@link Card#getId()} 建立索引。
+ * 编号方式与 {@link Deck} 一致：{@code id = 副数 × 52 + 花色序号 × 13 + 点数序号}（0~155），
+ * 小王为 156~158，大王为 159~161。
+ * <p>
+ * 增删查均为 O(1)，花色、点数统计基于 popcount，不产生任何对象分配。
+ * 只有 {@link #isIndexable(Card) 可索引} 的牌（id 与花色/点数符合上述编号）才能放入集合。
+ * 本类不是线程安全的。
+ */
+public final class CardSet {
+
+    /**
+     * 可容纳的牌数（三副牌共 162 张）。
+     */
+    public static final int CAPACITY = 162;
+
+    private static final int FACES_PER_COPY = 52;
+    private static final int RANKS_PER_SUIT = 13;
+    private static final int SMALL_JOKER_BASE = FACES_PER_COPY * 3;
+    private static final int BIG_JOKER_BASE = SMALL_JOKER_BASE + 3;
+    private static final long FACE_MASK = (1L << FACES_PER_COPY) - 1;
+
+    private static final Suit[] SUIT_OF = new Suit[CAPACITY];
+    private static final Rank[] RANK_OF = new Rank[CAPACITY];
+    private static final CardSet[] SUIT_MASKS = new CardSet[Suit.values().length];
+    private static final CardSet[] RANK_MASKS = new CardSet[Rank.values().length];
+
+    static {
+        for (int i = 0; i < SUIT_MASKS.length; i++) {
+            SUIT_MASKS[i] = new CardSet();
+        }
+        for (int i = 0; i < RANK_MASKS.length; i++) {
+            RANK_MASKS[i] = new CardSet();
+        }
+        for (int id = 0; id < CAPACITY; id++) {
+            Suit suit;
+            Rank rank;
+            if (id < SMALL_JOKER_BASE) {
+                int face = id % FACES_PER_COPY;
+                suit = Suit.values()[face / RANKS_PER_SUIT];
+                rank = Rank.values()[face % RANKS_PER_SUIT];
+                SUIT_MASKS[suit.ordinal()].add(id);
+            } else {
+                suit = null;
+                rank = id < BIG_JOKER_BASE ? Rank.SMALL_JOKER : Rank.BIG_JOKER;
+            }
+            SUIT_OF[id] = suit;
+            RANK_OF[id] = rank;
+            RANK_MASKS[rank.ordinal()].add(id);
+        }
+    }
+
+    private long w0;
+    private long w1;
+    private long w2;
+
+    public CardSet() {
+    }
+
+    public CardSet(CardSet other) {
+        copyFrom(other);
+    }
+
+    /**
+     * 判断一张牌能否放入 {@link CardSet}：id 在 0~161 之间，且花色、点数与 {@link Deck} 的编号一致。
+     */
+    public static boolean isIndexable(Card card) {
+        int id = card.getId();
+        return id >= 0 && id < CAPACITY && SUIT_OF[id] == card.getSuit() && RANK_OF[id] == card.getRank();
+    }
+
+    /**
+     * 返回标准编号下指定 id 的花色，王返回 null。
+     */
+    public static Suit suitOf(int id) {
+        return SUIT_OF[id];
+    }
+
+    /**
+     * 返回标准编号下指定 id 的点数。
+     */
+    public static Rank rankOf(int id) {
+        return RANK_OF[id];
+    }
+
+    /**
+     * 返回包含某一自然花色全部 117 张牌（不含王）的新集合。
+     */
+    public static CardSet ofSuit(Suit suit) {
+        return new CardSet(SUIT_MASKS[suit.ordinal()]);
+    }
+
+    /**
+     * 返回包含某一点数全部牌的新集合。
+     */
+    public static CardSet ofRank(Rank rank) {
+        return new CardSet(RANK_MASKS[rank.ordinal()]);
+    }
+
+    public boolean add(Card card) {
+        return add(card.getId());
+    }
+
+    /**
+     * @return 若该牌原本不在集合中则返回 true
+     */
+    public boolean add(int id) {
+        if (id < 0 || id >= CAPACITY) {
+            throw new IllegalArgumentException("Card id out of range: " + id);
+        }
+        if (contains(id)) {
+            return false;
+        }
+        setWord(id >>> 6, word(id >>> 6) | (1L << id));
+        return true;
+    }
+
+    public boolean remove(Card card) {
+        return remove(card.getId());
+    }
+
+    /**
+     * @return 若该牌原本在集合中则返回 true
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        setWord(id >>> 6, word(id >>> 6) & ~(1L << id));
+        return true;
+    }
+
+    public boolean contains(Card card) {
+        return contains(card.getId());
+    }
+
+    /**
+     * 判断集合是否包含指定 id 的牌，超出 0~161 范围的 id 返回 false。
+     */
+    public boolean contains(int id) {
+        if (id < 0 || id >= CAPACITY) {
+            return false;
+        }
+        return (word(id >>> 6) & (1L << id)) != 0;
+    }
+
+    public void addAll(CardSet other) {
+        w0 |= other.w0;
+        w1 |= other.w1;
+        w2 |= other.w2;
+    }
+
+    public void removeAll(CardSet other) {
+        w0 &= ~other.w0;
+        w1 &= ~other.w1;
+        w2 &= ~other.w2;
+    }
+
+    public void retainAll(CardSet other) {
+        w0 &= other.w0;
+        w1 &= other.w1;
+        w2 &= other.w2;
+    }
+
+    public void copyFrom(CardSet other) {
+        w0 = other.w0;
+        w1 = other.w1;
+        w2 = other.w2;
+    }
+
+    public void clear() {
+        w0 = 0;
+        w1 = 0;
+        w2 = 0;
+    }
+
+    public int size() {
+        return Long.bitCount(w0) + Long.bitCount(w1) + Long.bitCount(w2);
+    }
+
+    public boolean isEmpty() {
+        return (w0 | w1 | w2) == 0;
+    }
+
+    /**
+     * 返回本集合与 {@code mask} 交集的牌数。
+     */
+    public int countIn(CardSet mask) {
+        return Long.bitCount(w0 & mask.w0) + Long.bitCount(w1 & mask.w1) + Long.bitCount(w2 & mask.w2);
+    }
+
+    /**
+     * 返回某一自然花色（不考虑主牌）的牌数。
+     */
+    public int countSuit(Suit suit) {
+        return countIn(SUIT_MASKS[suit.ordinal()]);
+    }
+
+    /**
+     * 返回某一点数的牌数。
+     */
+    public int countRank(Rank rank) {
+        return countIn(RANK_MASKS[rank.ordinal()]);
+    }
+
+    /**
+     * 返回本集合与 {@code mask} 交集中，相同花色且相同点数的最大牌组张数（0~3）。
+     * 即交集中是否存在棒子（2）或滚子（3）。
+     */
+    public int maxIdenticalCount(CardSet mask) {
+        long a0 = w0 & mask.w0;
+        long a1 = w1 & mask.w1;
+        long a2 = w2 & mask.w2;
+        // 将三副牌各自对齐到 52 位的牌面位图，同一牌面在三副中的位置相同
+        long c0 = a0 & FACE_MASK;
+        long c1 = ((a0 >>> 52) | (a1 << 12)) & FACE_MASK;
+        long c2 = ((a1 >>> 40) | (a2 << 24)) & FACE_MASK;
+        int smallJokers = Long.bitCount((a2 >>> (SMALL_JOKER_BASE - 128)) & 0b111);
+        int bigJokers = Long.bitCount((a2 >>> (BIG_JOKER_BASE - 128)) & 0b111);
+
+        if ((c0 & c1 & c2) != 0 || smallJokers == 3 || bigJokers == 3) {
+            return 3;
+        }
+        if (((c0 & c1) | (c0 & c2) | (c1 & c2)) != 0 || smallJokers == 2 || bigJokers == 2) {
+            return 2;
+        }
+        return (a0 | a1 | a2) != 0 ? 1 : 0;
+    }
+
+    /**
+     * 返回不小于 {@code fromId} 的下一张牌的 id，没有时返回 -1。可用于无分配地遍历集合：
+     * {@code for (int id = set.nextId(0); id >= 0; id = set.nextId(id + 1))}。
+     */
+    public int nextId(int fromId) {
+        if (fromId < 0) {
+            fromId = 0;
+        }
+        for (int index = fromId >>> 6; index < 3; index++) {
+            long bits = word(index);
+            if (index == fromId >>> 6) {
+                bits &= -1L << fromId;
+            }
+            if (bits != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    private long word(int index) {
+        return switch (index) {
+            case 0 -> w0;
+            case 1 -> w1;
+            default -> w2;
+        };
+    }
+
+    private void setWord(int index, long value) {
+        switch (index) {
+            case 0 -> w0 = value;
+            case 1 -> w1 = value;
+            default -> w2 = value;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardSet other)) return false;
+        return w0 == other.w0 && w1 == other.w1 && w2 == other.w2;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(w0) * 961 + Long.hashCode(w1) * 31 + Long.hashCode(w2);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int id = nextId(0); id >= 0; id = nextId(id + 1)) {
+            if (sb.length() > 1) sb.append(", ");
+            Suit suit = SUIT_OF[id];
+            sb.append(suit == null ? "" : suit.getSymbol()).append(RANK_OF[id].getDisplayName());
+        }
+        return sb.append(']').toString();
+    }
+}
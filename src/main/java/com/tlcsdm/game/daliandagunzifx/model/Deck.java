@@ -29,6 +29,7 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 public class Deck {
 
@@ -67,6 +68,14 @@ public void shuffle() {
         dealIndex = 0;
     }
 
+    /**
+     * 用指定的随机数生成器洗牌，相同种子的生成器得到相同的牌序。
+     */
+    public void shuffle(RandomGenerator random) {
+        Collections.shuffle(cards, random);
+        dealIndex = 0;
+    }
+
     public List<Card> deal(int count) {
         if (dealIndex + count > cards.size()) {
             throw new IllegalStateException("Not enough cards remaining to deal " + count);
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 只追加的对局记录存档：数据文件与 {@link GameRecordWriter} 写出的记录流格式相同，
+ * 旁边的索引文件（数据文件名加 {@code .idx}）按顺序存放每条记录在数据文件中的 8 字节偏移。
+ * <p>
+ * 打开存档时把两个文件映射为 {@link MemorySegment}，第 n 局的偏移直接在索引的 {@code 8 + 8n} 处读出，
+ * {@link #get(long)} 返回的记录直接引用映射内存，不复制数据、也不构造牌对象，适合顺序扫描上千万局。
+ * 映射不受 2GB 限制。段在共享 arena 中分配，可多线程读取；{@link #close()} 之后取得的记录不能再访问。
+ * <p>
+ * 索引格式：魔数 {@code DGZI}、版本号与 3 字节填充共 8 字节，其后为大端 long 偏移。
+ */
+public final class GameArchive implements Closeable, Iterable<GameRecord> {
+
+    static final byte[] INDEX_MAGIC = {'D', 'G', 'Z', 'I'};
+    static final int INDEX_HEADER_LENGTH = 8;
+
+    private static final ValueLayout.OfLong OFFSET = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort LENGTH = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment data;
+    private final MemorySegment index;
+    private final long size;
+
+    private GameArchive(Arena arena, MemorySegment data, MemorySegment index, long size) {
+        this.arena = arena;
+        this.data = data;
+        this.index = index;
+        this.size = size;
+    }
+
+    public static Path indexFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".idx");
+    }
+
+    /**
+     * 只读打开存档。写入中断时索引末尾可能指向不完整的记录，这些索引项会被忽略。
+     */
+    public static GameArchive open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel dataChannel = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel indexChannel = FileChannel.open(indexFile(file), StandardOpenOption.READ)) {
+            MemorySegment data = dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size(), arena);
+            MemorySegment index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size(), arena);
+            checkHeader(data, GameRecord.MAGIC, GameRecord.VERSION, file);
+            checkHeader(index, INDEX_MAGIC, GameRecord.VERSION, indexFile(file));
+            long size = (index.byteSize() - INDEX_HEADER_LENGTH) / 8;
+            while (size > 0 && !complete(data, index.get(OFFSET, INDEX_HEADER_LENGTH + (size - 1) * 8))) {
+                size--;
+            }
+            return new GameArchive(arena, data, index, size);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 打开存档用于追加，文件不存在时创建。返回的写出器同时维护数据与索引，用法与流式写出相同。
+     * 上次写入中断导致索引与数据不一致时，先重建索引并截掉数据末尾不完整的记录。
+     */
+    public static GameRecordWriter append(Path file) throws IOException {
+        Path indexFile = indexFile(file);
+        long position = Files.exists(file) ? Files.size(file) : 0;
+        if (position == 0) {
+            Files.write(indexFile, indexHeader());
+        } else if (!indexMatches(file, position)) {
+            position = reindex(file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(position);
+            }
+        }
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        try {
+            return new GameRecordWriter(out,
+                Files.newOutputStream(indexFile, StandardOpenOption.APPEND), position);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 顺序扫描数据文件重建索引，例如为 {@link GameRecordWriter} 直接写出的记录流补建索引。
+     * 末尾不完整的记录不编入索引。
+     *
+     * @return 编入索引的记录数
+     */
+    public static long rebuildIndex(Path file) throws IOException {
+        reindex(file);
+        return (Files.size(indexFile(file)) - INDEX_HEADER_LENGTH) / 8;
+    }
+
+    /**
+     * 重建索引，返回最后一条完整记录的结束偏移。
+     */
+    private static long reindex(Path file) throws IOException {
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataOutputStream index = new DataOutputStream(new BufferedOutputStream(
+                 Files.newOutputStream(indexFile(file))))) {
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            checkHeader(data, GameRecord.MAGIC, GameRecord.VERSION, file);
+            index.write(indexHeader());
+            long offset = GameRecordWriter.STREAM_HEADER_LENGTH;
+            while (complete(data, offset)) {
+                index.writeLong(offset);
+                offset += 2 + Short.toUnsignedInt(data.get(LENGTH, offset));
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * 索引是否完整覆盖数据文件：最后一个索引项指向的记录恰好在数据末尾结束。
+     */
+    private static boolean indexMatches(Path file, long dataSize) throws IOException {
+        Path indexFile = indexFile(file);
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        long indexSize = Files.size(indexFile);
+        if (indexSize < INDEX_HEADER_LENGTH || (indexSize - INDEX_HEADER_LENGTH) % 8 != 0) {
+            return false;
+        }
+        if (indexSize == INDEX_HEADER_LENGTH) {
+            return dataSize == GameRecordWriter.STREAM_HEADER_LENGTH;
+        }
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ);
+             FileChannel data = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer offset = ByteBuffer.allocate(8);
+            index.read(offset, indexSize - 8);
+            long last = offset.getLong(0);
+            ByteBuffer length = ByteBuffer.allocate(2);
+            return last + 2 <= dataSize && data.read(length, last) == 2
+                && last + 2 + Short.toUnsignedInt(length.getShort(0)) == dataSize;
+        }
+    }
+
+    /**
+     * 存档中的记录数。
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 第 {@code n} 局（从 0 开始）的记录，直接引用映射内存。
+     */
+    public GameRecord get(long n) {
+        if (n < 0 || n >= size) {
+            throw new IndexOutOfBoundsException("Game " + n + " out of range: " + size);
+        }
+        long offset = index.get(OFFSET, INDEX_HEADER_LENGTH + n * 8);
+        int length = Short.toUnsignedInt(data.get(LENGTH, offset));
+        return new GameRecord(data.asSlice(offset + 2, length).asByteBuffer());
+    }
+
+    /**
+     * 按写入顺序遍历全部记录。
+     */
+    @Override
+    public Iterator<GameRecord> iterator() {
+        return new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public GameRecord next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static boolean complete(MemorySegment data, long offset) {
+        return offset >= GameRecordWriter.STREAM_HEADER_LENGTH && offset + 2 <= data.byteSize()
+            && offset + 2 + Short.toUnsignedInt(data.get(LENGTH, offset)) <= data.byteSize();
+    }
+
+    private static byte[] indexHeader() {
+        byte[] header = Arrays.copyOf(INDEX_MAGIC, INDEX_HEADER_LENGTH);
+        header[INDEX_MAGIC.length] = (byte) GameRecord.VERSION;
+        return header;
+    }
+
+    private static void checkHeader(MemorySegment segment, byte[] magic, int version, Path file) throws IOException {
+        if (segment.byteSize() <= magic.length
+            || segment.mismatch(MemorySegment.ofArray(magic)) != magic.length
+            || segment.get(ValueLayout.JAVA_BYTE, magic.length) != version) {
+            throw new IOException("Not a game archive file: " + file);
+        }
+    }
+}
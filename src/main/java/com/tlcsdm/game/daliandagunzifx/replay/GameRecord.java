@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Deck;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一局牌的二进制记录：种子、发牌、进贡、叫主、扣底和每一手出牌，牌用 {@link Card#getId()} 存为单个字节。
+ * <p>
+ * 记录体布局（多字节整数均为大端）：
+ * <pre>
+ *   种子 8 | 场次 4 | 局数 2 | 标志 1（bit0 活棒）| 两队级别 2 | 发牌 162（每家 39 张，最后 6 张底牌）
+ *   事件序列，每个事件以标签字节开头：
+ *     PASS     座位
+ *     DECLARE  叫主者（底牌定主为 0xFF）、庄家、主花色
+ *     TRANSFER 转出座位 &lt;&lt; 2 | 转入座位、牌
+ *     KITTY    6 张底牌
+ *     END      闲家得分 2，记录到此结束
+ *   出牌事件的标签字节为 0x80 | 座位 &lt;&lt; 5 | 张数，其后是牌；张数不小于 32 时该字段为 0，另用一字节存张数。
+ * </pre>
+ * 出牌每手只多占一个字节，一局约 500 字节。墩的结算不记录，回放时由引擎按规则重新计算。
+ * <p>
+ * 记录直接读取底层缓冲区（可以是 {@link GameArchive} 映射的文件），取种子、得分等字段不复制数据，
+ * 只有 {@link #getDeal()} 与回放才会构造牌对象。
+ */
+public final class GameRecord {
+
+    static final byte[] MAGIC = {'D', 'G', 'Z', 'R'};
+    static final int VERSION = 1;
+
+    static final int TAG_PASS = 1;
+    static final int TAG_DECLARE = 2;
+    static final int TAG_TRANSFER = 3;
+    static final int TAG_KITTY = 4;
+    static final int TAG_END = 5;
+    static final int TAG_PLAY = 0x80;
+    static final int PLAY_COUNT_MASK = 0x1F;
+
+    static final int CARD_COUNT = 162;
+    static final int DEAL_OFFSET = 17;
+    static final int HEADER_LENGTH = DEAL_OFFSET + CARD_COUNT;
+    // 记录体长度用两字节无符号数存放
+    static final int MAX_LENGTH = 0xFFFF;
+
+    // 未洗的牌按编号排列，编号即下标
+    private static final Card[] CARDS = new Deck().deal(CARD_COUNT).toArray(new Card[0]);
+
+    private final ByteBuffer data;
+
+    /**
+     * @param data 记录体，从下标 0 到 {@code limit} 为止
+     */
+    GameRecord(ByteBuffer data) {
+        int length = data.limit();
+        if (length < HEADER_LENGTH + 3 || data.get(length - 3) != TAG_END) {
+            throw new IllegalArgumentException("Corrupt game record");
+        }
+        this.data = data;
+    }
+
+    /**
+     * 牌编号对应的牌。只接受一副完整牌中的编号（0 ~ 161）。
+     */
+    static Card card(int id) {
+        if (id < 0 || id >= CARD_COUNT) {
+            throw new IllegalArgumentException("Card id out of range: " + id);
+        }
+        return CARDS[id];
+    }
+
+    public long getSeed() {
+        return data.getLong(0);
+    }
+
+    /**
+     * 所属对局的序号，同一场对局的各局序号相同。
+     */
+    public int getGame() {
+        return data.getInt(8);
+    }
+
+    public int getRoundNumber() {
+        return Short.toUnsignedInt(data.getShort(12));
+    }
+
+    public boolean isLiveBang() {
+        return (data.get(14) & 1) != 0;
+    }
+
+    public Rank getTeamLevel(int team) {
+        return Rank.values()[data.get(15 + team)];
+    }
+
+    /**
+     * 发牌顺序：前 156 张依次为 0 ~ 3 号玩家各 39 张，最后 6 张为底牌。
+     */
+    public List<Card> getDeal() {
+        return cards(data, DEAL_OFFSET, CARD_COUNT);
+    }
+
+    public int getDefenderPoints() {
+        return Short.toUnsignedInt(data.getShort(data.limit() - 2));
+    }
+
+    /**
+     * 用四名新玩家回放本局，返回停在结算前（{@code ROUND_END}）的引擎。
+     */
+    public GameEngine replay() {
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player(i, "P" + i, false);
+        }
+        GameEngine engine = new GameEngine(players);
+        replay(engine);
+        return engine;
+    }
+
+    /**
+     * 在给定引擎上回放本局：设置活棒与两队级别，按记录的牌序开局，再依次重放叫主、进贡、扣底和出牌。
+     * 引擎上注册的监听器会像真实对局一样收到回调。
+     */
+    public void replay(GameEngine engine) {
+        startRound(data, engine);
+        replayEvents(data, engine);
+    }
+
+    /**
+     * 按记录体的头部设置活棒与两队级别，并按记录的牌序开局。
+     */
+    static void startRound(ByteBuffer data, GameEngine engine) {
+        engine.setLiveBang((data.get(14) & 1) != 0);
+        engine.getTeamLevels()[0] = Rank.values()[data.get(15)];
+        engine.getTeamLevels()[1] = Rank.values()[data.get(16)];
+        engine.startNewRound(cards(data, DEAL_OFFSET, CARD_COUNT));
+    }
+
+    /**
+     * 从发牌之后依次重放事件，直到结束标签或记录体末尾（尚未结束的局）；最后一墩已出满时顺带结算。
+     */
+    static void replayEvents(ByteBuffer data, GameEngine engine) {
+        int pos = HEADER_LENGTH;
+        int end = data.limit();
+        while (pos < end) {
+            int tag = data.get(pos++) & 0xFF;
+            if ((tag & TAG_PLAY) != 0) {
+                if (engine.getTrickCardsPlayed() == 4) {
+                    engine.evaluateTrick();
+                }
+                int count = tag & PLAY_COUNT_MASK;
+                if (count == 0) {
+                    count = data.get(pos++) & 0xFF;
+                }
+                engine.playCards(tag >>> 5 & 3, cards(data, pos, count));
+                pos += count;
+                continue;
+            }
+            switch (tag) {
+                case TAG_PASS -> engine.passTrump(data.get(pos++));
+                case TAG_DECLARE -> {
+                    int declarer = data.get(pos);
+                    int dealer = data.get(pos + 1);
+                    Suit suit = Suit.values()[data.get(pos + 2)];
+                    pos += 3;
+                    if (declarer >= 0) {
+                        engine.declareTrump(declarer, suit);
+                    } else {
+                        engine.declareTrumpFromKittyForDealer(dealer);
+                    }
+                }
+                case TAG_TRANSFER -> {
+                    int seats = data.get(pos);
+                    engine.executeTributeGive(seats >>> 2, card(data.get(pos + 1) & 0xFF), seats & 3);
+                    pos += 2;
+                }
+                case TAG_KITTY -> {
+                    engine.setKitty(cards(data, pos, 6));
+                    pos += 6;
+                }
+                case TAG_END -> pos = end;
+                default -> throw new IllegalStateException("Corrupt game record: unknown tag " + tag);
+            }
+        }
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+        }
+    }
+
+    private static List<Card> cards(ByteBuffer data, int offset, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(card(data.get(offset + i) & 0xFF));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 顺序读取 {@link GameRecordWriter} 写出的记录流。只解析长度前缀，记录体原样交给 {@link GameRecord}，
+ * 需要时再取字段或回放，顺序扫描大量记录时开销很小。
+ */
+public final class GameRecordReader implements Closeable {
+
+    private final DataInputStream in;
+
+    public GameRecordReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[GameRecord.MAGIC.length];
+        try {
+            this.in.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("Not a game record stream", e);
+        }
+        if (!Arrays.equals(magic, GameRecord.MAGIC)) {
+            throw new IOException("Not a game record stream");
+        }
+        int version = this.in.read();
+        if (version != GameRecord.VERSION) {
+            throw new IOException("Unsupported game record version: " + version);
+        }
+    }
+
+    /**
+     * 读取下一条记录。
+     *
+     * @return 下一条记录，流已结束时为 {@code null}
+     * @throws EOFException 流在一条记录中途结束
+     */
+    public GameRecord next() throws IOException {
+        int high = in.read();
+        if (high < 0) {
+            return null;
+        }
+        int low = in.read();
+        if (low < 0) {
+            throw new EOFException("Truncated game record");
+        }
+        byte[] data = new byte[high << 8 | low];
+        in.readFully(data);
+        try {
+            return new GameRecord(ByteBuffer.wrap(data));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
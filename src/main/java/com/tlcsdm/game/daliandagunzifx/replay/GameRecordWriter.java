@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.engine.CardTransfer;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngineListener;
+import com.tlcsdm.game.daliandagunzifx.engine.RoundResult;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 流式写出 {@link GameRecord}。每个引擎通过 {@link #recorder(long, int)} 取得一个监听器，
+ * 监听器在内存里拼好一局，结算时整条写出；多个引擎（如并行自对弈）可以共用一个写出器。
+ * 没有结算就被放弃的局不会写出。
+ * <p>
+ * 流格式：魔数 {@code DGZR} 与版本号，其后每条记录为两字节长度加记录体。
+ * 写入 {@link GameArchive} 时还会为每条记录在索引文件中追加它在数据文件中的偏移。
+ */
+public final class GameRecordWriter implements Closeable, Flushable {
+
+    static final int STREAM_HEADER_LENGTH = GameRecord.MAGIC.length + 1;
+
+    private final OutputStream out;
+    private final DataOutputStream index;
+    // 下一条记录在数据流中的偏移
+    private long position;
+    private int recordCount;
+
+    public GameRecordWriter(OutputStream out) throws IOException {
+        this(out, null, 0);
+    }
+
+    /**
+     * @param index    索引输出，为 {@code null} 时不写索引
+     * @param position 数据流当前长度；为 0 时先写流头，否则接在已有数据之后追加
+     */
+    GameRecordWriter(OutputStream out, OutputStream index, long position) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        this.index = index != null ? new DataOutputStream(new BufferedOutputStream(index)) : null;
+        if (position == 0) {
+            this.out.write(GameRecord.MAGIC);
+            this.out.write(GameRecord.VERSION);
+            position = STREAM_HEADER_LENGTH;
+        }
+        this.position = position;
+    }
+
+    /**
+     * 创建记录一台引擎的监听器，用 {@link GameEngine#addListener} 注册。
+     *
+     * @param seed 对局的随机种子，原样写入每条记录
+     * @param game 对局序号，原样写入每条记录
+     */
+    public GameEngineListener recorder(long seed, int game) {
+        return new Recorder(seed, game);
+    }
+
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    private synchronized void write(byte[] data, int length) throws IOException {
+        out.write(length >>> 8);
+        out.write(length);
+        out.write(data, 0, length);
+        if (index != null) {
+            index.writeLong(position);
+        }
+        position += 2 + length;
+        recordCount++;
+    }
+
+    /**
+     * 先刷出数据再刷出索引。
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+        if (index != null) {
+            index.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (index != null) {
+                index.close();
+            }
+        }
+    }
+
+    private final class Recorder implements GameEngineListener {
+
+        private final long seed;
+        private final int game;
+        private final RoundEncoder encoder = new RoundEncoder();
+
+        private Recorder(long seed, int game) {
+            this.seed = seed;
+            this.game = game;
+        }
+
+        @Override
+        public void roundStarted(GameEngine engine) {
+            encoder.start(engine, seed, game);
+        }
+
+        @Override
+        public void trumpPassed(GameEngine engine, int playerIndex) {
+            encoder.pass(playerIndex);
+        }
+
+        @Override
+        public void trumpDeclared(GameEngine engine) {
+            encoder.declare(engine);
+        }
+
+        @Override
+        public void cardTransferred(GameEngine engine, CardTransfer transfer) {
+            encoder.transfer(transfer);
+        }
+
+        @Override
+        public void kittySet(GameEngine engine) {
+            encoder.kitty(engine.getKitty());
+        }
+
+        @Override
+        public void cardsPlayed(GameEngine engine, int playerIndex, List<Card> cards) {
+            encoder.play(playerIndex, cards);
+        }
+
+        @Override
+        public void roundEnded(GameEngine engine, RoundResult result) {
+            if (!encoder.isActive()) {
+                return;
+            }
+            encoder.end(result.getDefenderPoints());
+            try {
+                if (encoder.length() > GameRecord.MAX_LENGTH) {
+                    throw new IllegalStateException("Game record too long: " + encoder.length());
+                }
+                write(encoder.buffer(), encoder.length());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                encoder.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.engine.CardTransfer;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngineListener;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 进行中比赛的本地存档。注册到对局引擎上后自动保存：每局开始时重写存档（比赛状态与本局发牌），
+ * 之后扣底完成和每墩出满四手时只把新增的事件追加到文件末尾，一墩只有十几个字节，不拖慢出牌。
+ * 两局之间的升级结果由 {@link #saveBetweenRounds(GameEngine)} 保存。
+ * <p>
+ * 文件格式：魔数 {@code DGZS} 与版本号；比赛状态（两队级别、已打完的局数 2、上局胜方、进贡数、下一局预定庄家）；
+ * 有进行中的局时其后为该局的 {@link GameRecord} 记录体（没有结束标签）。
+ * 叫主、进贡等事件随扣底一起写出，扣底前中断的局恢复为刚发完牌。写入失败只记日志，不影响对局。
+ */
+public final class MatchSave implements GameEngineListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchSave.class);
+
+    static final byte[] MAGIC = {'D', 'G', 'Z', 'S'};
+    static final int MATCH_LENGTH = MAGIC.length + 8;
+
+    private final Path file;
+    private final RoundEncoder encoder = new RoundEncoder();
+    // 当前局已写入文件的编码字节数
+    private int flushed;
+    // 追加失败后文件已不完整，直到下次整体重写前不再追加
+    private boolean failed;
+
+    public MatchSave(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * 比赛结束或放弃时删除存档。
+     */
+    public void delete() {
+        encoder.reset();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除比赛存档失败", e);
+        }
+    }
+
+    /**
+     * 保存两局之间的状态，在结算并升级之后调用；下次恢复时从新的一局开始。
+     */
+    public void saveBetweenRounds(GameEngine engine) {
+        encoder.reset();
+        rewrite(engine, engine.getRoundNumber());
+    }
+
+    /**
+     * 把存档恢复到新建的引擎与记牌器上。恢复后引擎处于以下阶段之一：
+     * {@code ROUND_END} 且没有出过牌表示两局之间，应开始新的一局；{@code ROUND_END} 且牌已出完表示本局打完、尚未结算；
+     * {@code DEALING} 表示本局已发牌、尚未扣底，应从亮主继续；{@code PLAYING} 表示出牌中，最后一墩已结算。
+     * 记牌器与出过的牌一致，之后本存档接着记录这一局。
+     *
+     * @throws IOException 存档不存在或已损坏
+     */
+    public void restore(GameEngine engine, CardTracker tracker) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        if (data.length < MATCH_LENGTH || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+            || data[MAGIC.length] != GameRecord.VERSION) {
+            throw new IOException("Not a match save file: " + file);
+        }
+        int length = data.length - MATCH_LENGTH;
+        if (length > 0 && length < GameRecord.HEADER_LENGTH) {
+            throw new IOException("Truncated match save file: " + file);
+        }
+        GameEngineListener trackerReplay = new TrackerReplay(tracker);
+        try {
+            Rank[] levels = {Rank.values()[data[5]], Rank.values()[data[6]]};
+            int rounds = (data[7] & 0xFF) << 8 | (data[8] & 0xFF);
+            engine.restoreMatchState(levels, rounds, data[9], data[10], data[11]);
+            tracker.reset();
+            if (length == 0) {
+                encoder.reset();
+                return;
+            }
+            ByteBuffer round = ByteBuffer.wrap(data, MATCH_LENGTH, length).slice();
+            engine.addListener(trackerReplay);
+            GameRecord.startRound(round, engine);
+            GameRecord.replayEvents(round, engine);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt match save file: " + file, e);
+        } finally {
+            engine.removeListener(trackerReplay);
+        }
+        encoder.resume(data, MATCH_LENGTH, length);
+        flushed = length;
+        failed = false;
+    }
+
+    @Override
+    public void roundStarted(GameEngine engine) {
+        encoder.start(engine, 0, 0);
+        rewrite(engine, engine.getRoundNumber() - 1);
+    }
+
+    @Override
+    public void trumpPassed(GameEngine engine, int playerIndex) {
+        encoder.pass(playerIndex);
+    }
+
+    @Override
+    public void trumpDeclared(GameEngine engine) {
+        encoder.declare(engine);
+    }
+
+    @Override
+    public void cardTransferred(GameEngine engine, CardTransfer transfer) {
+        encoder.transfer(transfer);
+    }
+
+    @Override
+    public void kittySet(GameEngine engine) {
+        encoder.kitty(engine.getKitty());
+        append();
+    }
+
+    @Override
+    public void cardsPlayed(GameEngine engine, int playerIndex, List<Card> cards) {
+        encoder.play(playerIndex, cards);
+        if (engine.getTrickCardsPlayed() == 4) {
+            append();
+        }
+    }
+
+    /**
+     * 整体重写存档：比赛状态，加上已编码的当前局。
+     *
+     * @param rounds 已打完的局数
+     */
+    private void rewrite(GameEngine engine, int rounds) {
+        byte[] header = Arrays.copyOf(MAGIC, MATCH_LENGTH);
+        header[MAGIC.length] = (byte) GameRecord.VERSION;
+        header[5] = (byte) engine.getTeamLevels()[0].ordinal();
+        header[6] = (byte) engine.getTeamLevels()[1].ordinal();
+        header[7] = (byte) (rounds >>> 8);
+        header[8] = (byte) rounds;
+        header[9] = (byte) engine.getPreviousWinningTeam();
+        header[10] = (byte) engine.getPreviousTributeCount();
+        header[11] = (byte) engine.getNextDealerIndex();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                out.write(header);
+                if (encoder.isActive()) {
+                    out.write(encoder.buffer(), 0, encoder.length());
+                }
+            }
+            flushed = Math.max(encoder.length(), 0);
+            failed = false;
+        } catch (IOException e) {
+            failed = true;
+            log.warn("比赛存档写入失败", e);
+        }
+    }
+
+    /**
+     * 把上次写出之后新编码的事件追加到文件末尾。
+     */
+    private void append() {
+        if (failed || !encoder.isActive() || encoder.length() == flushed) {
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            out.write(encoder.buffer(), flushed, encoder.length() - flushed);
+            flushed = encoder.length();
+        } catch (IOException e) {
+            failed = true;
+            log.warn("比赛存档追加失败", e);
+        }
+    }
+
+    /**
+     * 回放存档时重建记牌器，与界面出牌时的记牌一致：跟牌方没有跟出领出花色（非主）时记为该花色已断，
+     * 再记录出过的牌。
+     */
+    private record TrackerReplay(CardTracker tracker) implements GameEngineListener {
+
+        @Override
+        public void cardsPlayed(GameEngine engine, int playerIndex, List<Card> cards) {
+            int leader = engine.getCurrentTrickLeader();
+            if (playerIndex != leader) {
+                Suit leadSuit = engine.getTrumpInfo().getEffectiveSuit(engine.getCurrentTrick()[leader]);
+                for (Card card : cards) {
+                    if (leadSuit != null && leadSuit != engine.getTrumpInfo().getEffectiveSuit(card)) {
+                        tracker.markVoidSuit(playerIndex, leadSuit);
+                        break;
+                    }
+                }
+            }
+            for (Card card : cards) {
+                tracker.cardPlayed(card, playerIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.engine.CardTransfer;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 把一局的进程按 {@link GameRecord} 的格式编码进可复用的缓冲区，对局记录与比赛存档共用。
+ * 从 {@link #start} 开始记录，未开始时其余方法什么都不做。
+ */
+final class RoundEncoder {
+
+    private byte[] buffer = new byte[512];
+    // 已编码的字节数，-1 表示没有在记录（尚未开局或已被重置）
+    private int length = -1;
+
+    boolean isActive() {
+        return length >= 0;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void reset() {
+        length = -1;
+    }
+
+    /**
+     * 从已编码的记录体继续记录，用于读取存档后接着追加。
+     */
+    void resume(byte[] data, int offset, int count) {
+        if (buffer.length < count) {
+            buffer = new byte[Math.max(count, buffer.length * 2)];
+        }
+        System.arraycopy(data, offset, buffer, 0, count);
+        length = count;
+    }
+
+    void start(GameEngine engine, long seed, int game) {
+        length = 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            put((int) (seed >>> shift));
+        }
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            put(game >>> shift);
+        }
+        put(engine.getRoundNumber() >>> 8);
+        put(engine.getRoundNumber());
+        put(engine.isLiveBang() ? 1 : 0);
+        put(engine.getTeamLevels()[0].ordinal());
+        put(engine.getTeamLevels()[1].ordinal());
+        for (Player player : engine.getPlayers()) {
+            putCards(player.getHand());
+        }
+        putCards(engine.getKitty());
+    }
+
+    void pass(int playerIndex) {
+        if (length >= 0) {
+            put(GameRecord.TAG_PASS);
+            put(playerIndex);
+        }
+    }
+
+    void declare(GameEngine engine) {
+        if (length >= 0) {
+            put(GameRecord.TAG_DECLARE);
+            put(engine.getTrumpDeclarer());
+            put(engine.getDealerIndex());
+            put(engine.getTrumpInfo().getTrumpSuit().ordinal());
+        }
+    }
+
+    void transfer(CardTransfer transfer) {
+        if (length >= 0) {
+            put(GameRecord.TAG_TRANSFER);
+            put(transfer.fromIndex() << 2 | transfer.toIndex());
+            putCard(transfer.card());
+        }
+    }
+
+    void kitty(List<Card> kitty) {
+        if (length >= 0) {
+            put(GameRecord.TAG_KITTY);
+            putCards(kitty);
+        }
+    }
+
+    void play(int playerIndex, List<Card> cards) {
+        if (length >= 0) {
+            int count = cards.size();
+            if (count <= GameRecord.PLAY_COUNT_MASK) {
+                put(GameRecord.TAG_PLAY | playerIndex << 5 | count);
+            } else {
+                put(GameRecord.TAG_PLAY | playerIndex << 5);
+                put(count);
+            }
+            putCards(cards);
+        }
+    }
+
+    void end(int defenderPoints) {
+        if (length >= 0) {
+            put(GameRecord.TAG_END);
+            put(defenderPoints >>> 8);
+            put(defenderPoints);
+        }
+    }
+
+    private void putCards(List<Card> cards) {
+        for (Card card : cards) {
+            putCard(card);
+        }
+    }
+
+    private void putCard(Card card) {
+        int id = card.getId();
+        if (id < 0 || id >= GameRecord.CARD_COUNT) {
+            throw new IllegalArgumentException("Card id out of range: " + id);
+        }
+        put(id);
+    }
+
+    private void put(int value) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = (byte) value;
+    }
+}
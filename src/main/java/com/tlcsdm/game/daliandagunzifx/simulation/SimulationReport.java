@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.simulation;
+
+/**
+ * 批量自对弈的统计结果。队伍 0 为 0、2 号座位，队伍 1 为 1、3 号座位。
+ * 每个工作线程累计自己的实例，结束后合并，累计过程不是线程安全的。
+ */
+public final class SimulationReport {
+
+    private int games;
+    private int unfinishedGames;
+    private int rounds;
+    private final int[] teamGameWins = new int[2];
+    private final int[] teamRoundWins = new int[2];
+    private int declarerRoundWins;
+    private long totalDefenderPoints;
+    private int invalidPlays;
+    private long elapsedNanos;
+
+    void recordRound(int winningTeam, boolean declarerWins, int defenderPoints) {
+        rounds++;
+        if (winningTeam >= 0) {
+            teamRoundWins[winningTeam]++;
+        }
+        if (declarerWins) {
+            declarerRoundWins++;
+        }
+        totalDefenderPoints += defenderPoints;
+    }
+
+    /**
+     * @param winningTeam 打碎 10 的队伍，-1 表示达到局数上限仍未分出胜负
+     */
+    void recordGame(int winningTeam) {
+        games++;
+        if (winningTeam >= 0) {
+            teamGameWins[winningTeam]++;
+        } else {
+            unfinishedGames++;
+        }
+    }
+
+    void recordInvalidPlay() {
+        invalidPlays++;
+    }
+
+    void merge(SimulationReport other) {
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        rounds += other.rounds;
+        for (int t = 0; t < 2; t++) {
+            teamGameWins[t] += other.teamGameWins[t];
+            teamRoundWins[t] += other.teamRoundWins[t];
+        }
+        declarerRoundWins += other.declarerRoundWins;
+        totalDefenderPoints += other.totalDefenderPoints;
+        invalidPlays += other.invalidPlays;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * 达到每场局数上限仍无队伍打碎 10 的场数，不计入任何一方的胜场。
+     */
+    public int getUnfinishedGames() {
+        return unfinishedGames;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getTeamGameWins(int team) {
+        return teamGameWins[team];
+    }
+
+    public int getTeamRoundWins(int team) {
+        return teamRoundWins[team];
+    }
+
+    public int getDeclarerRoundWins() {
+        return declarerRoundWins;
+    }
+
+    /**
+     * AI 给出非法出牌、由运行器改用第一手合法出牌代替的次数。正常应为 0。
+     */
+    public int getInvalidPlays() {
+        return invalidPlays;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 队伍的整场胜率（按已完成与未完成的全部场数计算）。
+     */
+    public double getGameWinRate(int team) {
+        return games == 0 ? 0 : (double) teamGameWins[team] / games;
+    }
+
+    public double getRoundWinRate(int team) {
+        return rounds == 0 ? 0 : (double) teamRoundWins[team] / rounds;
+    }
+
+    public double getAverageDefenderPoints() {
+        return rounds == 0 ? 0 : (double) totalDefenderPoints / rounds;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double getRoundsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rounds * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "场数 %d（未分胜负 %d），局数 %d，用时 %.2f s，%.1f 场/秒，%.1f 局/秒%n"
+                + "队伍0 场胜率 %.2f%%，局胜率 %.2f%%；队伍1 场胜率 %.2f%%，局胜率 %.2f%%%n"
+                + "庄家局胜率 %.2f%%，闲家平均得分 %.1f，非法出牌 %d",
+            games, unfinishedGames, rounds, elapsedNanos / 1e9, getGamesPerSecond(), getRoundsPerSecond(),
+            getGameWinRate(0) * 100, getRoundWinRate(0) * 100, getGameWinRate(1) * 100, getRoundWinRate(1) * 100,
+            rounds == 0 ? 0 : declarerRoundWins * 100.0 / rounds, getAverageDefenderPoints(), invalidPlays);
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.simulation;
+
+import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
+import com.tlcsdm.game.daliandagunzifx.ai.AIMetrics;
+import com.tlcsdm.game.daliandagunzifx.ai.AIStrategy;
+import com.tlcsdm.game.daliandagunzifx.ai.EasyAI;
+import com.tlcsdm.game.daliandagunzifx.ai.ExpertAI;
+import com.tlcsdm.game.daliandagunzifx.ai.HardAI;
+import com.tlcsdm.game.daliandagunzifx.ai.MediumAI;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.RoundResult;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.replay.GameArchive;
+import com.tlcsdm.game.daliandagunzifx.replay.GameRecordWriter;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * 无界面的自对弈运行器。按界面相同的流程（发牌、亮主、进贡、扣底、出牌、升级）驱动 {@link GameEngine}，
+ * 四个座位可以是任意 {@link AIStrategy} 组合，多场对局并行执行，用于批量调校 AI 启发式。
+ * <p>
+ * 一场对局从双方都打 3 开始，直到某队打碎 10 或达到局数上限。
+ * 每场对局各自创建引擎、记牌器和策略实例，对局之间没有共享的可变状态。
+ * 第 i 场对局的随机数只由种子和 i 决定，与线程数和调度顺序无关，因此给定种子即可逐场复现。
+ */
+public final class SimulationRunner {
+
+    private static final int DEFAULT_MAX_ROUNDS = 100;
+
+    private final List<SeatFactory> seats;
+    private long seed = new SplittableRandom().nextLong();
+    private boolean liveBang = true;
+    private int maxRoundsPerGame = DEFAULT_MAX_ROUNDS;
+    private GameRecordWriter recordWriter;
+
+    /**
+     * @param seats 四个座位的策略工厂，按座位号排列；每场对局都会重新创建策略
+     */
+    public SimulationRunner(List<SeatFactory> seats) {
+        if (seats.size() != 4) {
+            throw new IllegalArgumentException("Exactly 4 seats required");
+        }
+        this.seats = List.copyOf(seats);
+    }
+
+    /**
+     * 按 AI 难度创建座位工厂。困难 AI 使用串行搜索，因为并行度已由同时进行的多场对局提供。
+     */
+    public static SeatFactory seat(AILevel level) {
+        return switch (level) {
+            case EASY -> (tracker, random) -> new EasyAI();
+            case MEDIUM -> (tracker, random) -> new MediumAI(tracker);
+            case HARD -> (tracker, random) -> new HardAI(tracker, 1, random);
+            case EXPERT -> (tracker, random) -> new ExpertAI(tracker, random);
+        };
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 设置根种子。未设置时使用构造时随机选取的种子，可通过 {@link #getSeed()} 取得以便复现。
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setLiveBang(boolean liveBang) {
+        this.liveBang = liveBang;
+    }
+
+    public void setMaxRoundsPerGame(int maxRoundsPerGame) {
+        if (maxRoundsPerGame < 1) {
+            throw new IllegalArgumentException("Max rounds must be at least 1");
+        }
+        this.maxRoundsPerGame = maxRoundsPerGame;
+    }
+
+    /**
+     * 把每一局写成对局记录，记录中的种子与场次即 {@link #getSeed()} 与对局序号。{@code null} 表示不记录。
+     */
+    public void setRecordWriter(GameRecordWriter recordWriter) {
+        this.recordWriter = recordWriter;
+    }
+
+    /**
+     * 用 {@code threads} 个线程并行进行 {@code games} 场对局并汇总统计。
+     */
+    public SimulationReport run(int games, int threads) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Games must not be negative");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be at least 1");
+        }
+        long start = System.nanoTime();
+        SimulationReport report = new SimulationReport();
+        AtomicInteger nextGame = new AtomicInteger();
+        if (threads == 1) {
+            runGames(games, nextGame, report);
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "simulation-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<SimulationReport>> workers = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    workers.add(executor.submit(() -> {
+                        SimulationReport local = new SimulationReport();
+                        runGames(games, nextGame, local);
+                        return local;
+                    }));
+                }
+                for (Future<SimulationReport> worker : workers) {
+                    report.merge(worker.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Simulation interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Simulation failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private void runGames(int games, AtomicInteger nextGame, SimulationReport report) {
+        int index;
+        while ((index = nextGame.getAndIncrement()) < games) {
+            playGame(index, report);
+        }
+    }
+
+    /**
+     * 进行第 {@code index} 场对局，把每局与整场结果记入 {@code report}。
+     *
+     * @return 打碎 10 的队伍，未分胜负时为 -1
+     */
+    int playGame(int index, SimulationReport report) {
+        RandomGenerator.SplittableGenerator random = gameRandom(seed, index);
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = new Player(i, "AI" + i, false);
+        }
+        GameEngine engine = new GameEngine(players, random);
+        engine.setLiveBang(liveBang);
+        if (recordWriter != null) {
+            engine.addListener(recordWriter.recorder(seed, index));
+        }
+        CardTracker tracker = new CardTracker();
+        AIStrategy[] strategies = new AIStrategy[4];
+        for (int i = 0; i < 4; i++) {
+            strategies[i] = seats.get(i).create(tracker, random.split());
+        }
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+
+        int winner = -1;
+        for (int round = 0; round < maxRoundsPerGame && winner < 0; round++) {
+            RoundResult result = playRound(engine, tracker, strategies, generator, report);
+            report.recordRound(result.getWinningTeam(), result.isDeclarerWins(), result.getDefenderPoints());
+            if (engine.applyLevelChange(result)) {
+                winner = result.getWinningTeam();
+            }
+        }
+        report.recordGame(winner);
+        return winner;
+    }
+
+    private RoundResult playRound(GameEngine engine, CardTracker tracker, AIStrategy[] strategies,
+                                  LegalMoveGenerator generator, SimulationReport report) {
+        tracker.reset();
+        engine.startNewRound();
+        declareTrump(engine, strategies);
+        if (engine.isTributeRequired()) {
+            performTribute(engine);
+        }
+
+        int dealer = engine.getDealerIndex();
+        Player dealerPlayer = engine.getPlayers()[dealer];
+        engine.setKitty(strategies[dealer].chooseKittyCards(dealerPlayer, engine.getKitty(), engine.getTrumpInfo()));
+
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            int index = engine.getCurrentPlayerIndex();
+            List<Card> cards = AIMetrics.getInstance().chooseCards(strategies[index], engine.getPlayers()[index], engine);
+            if (!engine.isValidPlay(index, cards)) {
+                report.recordInvalidPlay();
+                generator.generate(engine);
+                cards = generator.move(0);
+            }
+            trackPlay(engine, tracker, index, cards);
+            engine.playCards(index, cards);
+        }
+        return engine.calculateRoundResult();
+    }
+
+    /**
+     * 第 {@code index} 场对局的随机数生成器：先用 SplitMix 把 (种子 + 序号) 混合成该场的种子，
+     * 避免相邻序号得到彼此平移的随机序列。
+     */
+    static RandomGenerator.SplittableGenerator gameRandom(long seed, int index) {
+        return new SplittableRandom(new SplittableRandom(seed + index).nextLong());
+    }
+
+    /**
+     * 亮主：首局由持大王者按座位顺序亮王（花色随机），非首局从预定庄家起依次询问策略叫主，
+     * 无人叫主时由底牌定主。
+     */
+    private void declareTrump(GameEngine engine, AIStrategy[] strategies) {
+        Player[] players = engine.getPlayers();
+        if (engine.isFirstRound()) {
+            for (int i = 0; i < 4; i++) {
+                if (engine.playerHasBigJoker(i)) {
+                    engine.declareTrumpRandomSuit(i);
+                    return;
+                }
+                engine.passTrump(i);
+            }
+            engine.declareTrumpFromKitty();
+            return;
+        }
+        int start = Math.max(engine.getNextDealerIndex(), 0);
+        for (int k = 0; k < 4; k++) {
+            int index = (start + k) % 4;
+            Rank rank = engine.getTeamLevels()[players[index].getTeam()];
+            Suit suit = strategies[index].chooseTrumpSuit(players[index], rank);
+            if (suit != null) {
+                engine.declareTrump(index, suit);
+                return;
+            }
+            engine.passTrump(index);
+        }
+        engine.declareTrumpFromKittyForDealer(start);
+    }
+
+    /**
+     * 进贡：与界面一致，先完成全部进贡，再由接收方依次自动回贡。
+     */
+    private void performTribute(GameEngine engine) {
+        List<int[]> gives = new ArrayList<>();
+        for (int i = 0; i < engine.getPreviousTributeCount(); i++) {
+            int[] info = engine.findNextTributeGiverInfo();
+            if (info == null) {
+                break;
+            }
+            Card tributeCard = engine.getTributeCard(info[0]);
+            if (tributeCard == null) {
+                break;
+            }
+            engine.executeTributeGive(info[0], tributeCard, info[1]);
+            gives.add(info);
+        }
+        for (int[] give : gives) {
+            Card returnCard = engine.autoSelectReturnCard(give[1]);
+            if (returnCard != null) {
+                engine.executeTributeReturn(give[1], returnCard, give[0]);
+            }
+        }
+        engine.finishTribute();
+    }
+
+    /**
+     * 与界面相同的记牌：跟牌方没有跟出领出花色（非主）时记为该花色已断，再记录出过的牌。
+     */
+    private static void trackPlay(GameEngine engine, CardTracker tracker, int playerIndex, List<Card> cards) {
+        if (engine.getTrickCardsPlayed() > 0) {
+            Card leadCard = engine.getCurrentTrick()[engine.getCurrentTrickLeader()];
+            Suit leadSuit = engine.getTrumpInfo().getEffectiveSuit(leadCard);
+            for (Card card : cards) {
+                if (leadSuit != null && leadSuit != engine.getTrumpInfo().getEffectiveSuit(card)) {
+                    tracker.markVoidSuit(playerIndex, leadSuit);
+                    break;
+                }
+            }
+        }
+        for (Card card : cards) {
+            tracker.cardPlayed(card, playerIndex);
+        }
+    }
+
+    /**
+     * 命令行入口：{@code [场数] [线程数] [座位0,座位1,座位2,座位3] [种子] [记录文件]}，座位取值为 EASY/MEDIUM/HARD。
+     * 默认 1000 场、线程数为处理器数、座位 EASY,MEDIUM,EASY,MEDIUM、随机种子、不写对局记录。
+     * 给出记录文件时对局记录追加到该 {@link GameArchive} 存档。
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String[] levels = (args.length > 2 ? args[2] : "EASY,MEDIUM,EASY,MEDIUM").split(",");
+        if (levels.length != 4) {
+            throw new IllegalArgumentException("Exactly 4 seat levels required: " + String.join(",", levels));
+        }
+        List<SeatFactory> seats = new ArrayList<>(4);
+        for (String level : levels) {
+            seats.add(seat(AILevel.valueOf(level.trim().toUpperCase())));
+        }
+        SimulationRunner runner = new SimulationRunner(seats);
+        if (args.length > 3) {
+            runner.setSeed(Long.parseLong(args[3]));
+        }
+        SimulationReport report;
+        if (args.length > 4) {
+            try (GameRecordWriter writer = GameArchive.append(Path.of(args[4]))) {
+                runner.setRecordWriter(writer);
+                report = runner.run(games, threads);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            report = runner.run(games, threads);
+        }
+        System.out.println("座位：" + String.join(",", levels) + "，种子：" + runner.getSeed());
+        System.out.println(report);
+        for (AIMetrics.Snapshot snapshot : AIMetrics.getInstance().snapshots()) {
+            System.out.println(snapshot);
+        }
+    }
+}
@@ -27,24 +27,45 @@
 package com.tlcsdm.game.daliandagunzifx.tracker;
 
 import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.CardSet;
 import com.tlcsdm.game.daliandagunzifx.model.Rank;
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * 记牌器。出过的牌按牌 id 记录在位集中，同时增量维护按牌面、花色、点数统计的已出张数，
+ * 以及每位玩家的断门位掩码，因此所有计数查询都是常数时间且不分配内存。
+ * <p>
+ * 计数按整副牌中该 id 对应的牌统计，与出牌时传入对象的花色点数无关；id 不在整副牌范围内的牌
+ * 只计入已出牌集合，不影响任何计数。
+ */
 public class CardTracker {
 
+    private static final int JOKER_SUIT_INDEX = Suit.values().length;
+
     private final List<Card> allCards;
-    private final Set<Card> playedCards;
-    private final Map<Integer, Set<Suit>> playerVoidSuits;
+    // 已出牌：id 位集 + 按 id 存放的原始对象，整副牌以外的 id 单独存放
+    private final CardSet playedIds = new CardSet();
+    private final Card[] playedById = new Card[CardSet.CAPACITY];
+    private final Set<Card> foreignPlayed = new LinkedHashSet<>();
+    // 已出张数：按牌面（Card#getFaceIndex）、按花色（下标 4 为王）、按点数
+    private final int[] playedByFace = new int[Card.FACE_COUNT];
+    private final int[] playedBySuit = new int[JOKER_SUIT_INDEX + 1];
+    private final int[] playedByRank = new int[Rank.values().length];
+    // 每位玩家的断门掩码：第 i 位对应 Suit.values()[i]，第 4 位对应 null
+    private final int[] voidMasks = new int[4];
+    // 整副牌中各花色、各点数的总张数
+    private final int[] totalBySuit = new int[JOKER_SUIT_INDEX + 1];
+    private final int[] totalByRank = new int[Rank.values().length];
+    private final int[] totalByFace = new int[Card.FACE_COUNT];
 
     public CardTracker() {
         allCards = buildFullDeck();
-        playedCards = new HashSet<>();
-        playerVoidSuits = new HashMap<>();
-        for (int i = 0; i < 4; i++) {
-            playerVoidSuits.put(i, new HashSet<>());
+        for (Card card : allCards) {
+            totalBySuit[suitIndex(card.getSuit())]++;
+            totalByRank[card.getRank().ordinal()]++;
+            totalByFace[card.getFaceIndex()]++;
         }
     }
 
@@ -69,55 +90,88 @@ private List<Card> buildFullDeck() {
     }
 
     public void reset() {
-        playedCards.clear();
-        for (Set<Suit> suits : playerVoidSuits.values()) {
-            suits.clear();
-        }
+        playedIds.clear();
+        Arrays.fill(playedById, null);
+        foreignPlayed.clear();
+        Arrays.fill(playedByFace, 0);
+        Arrays.fill(playedBySuit, 0);
+        Arrays.fill(playedByRank, 0);
+        Arrays.fill(voidMasks, 0);
     }
 
     public void cardPlayed(Card card, int playerIndex) {
-        playedCards.add(card);
+        int id = card.getId();
+        if (id < 0 || id >= CardSet.CAPACITY) {
+            foreignPlayed.add(card);
+            return;
+        }
+        if (playedIds.contains(id)) {
+            return;
+        }
+        playedIds.add(id);
+        playedById[id] = card;
+        Card deckCard = allCards.get(id);
+        playedByFace[deckCard.getFaceIndex()]++;
+        playedBySuit[suitIndex(deckCard.getSuit())]++;
+        playedByRank[deckCard.getRank().ordinal()]++;
     }
 
     public void markVoidSuit(int playerIndex, Suit suit) {
-        playerVoidSuits.computeIfAbsent(playerIndex, k -> new HashSet<>()).add(suit);
+        voidMasks[playerIndex] |= 1 << suitIndex(suit);
     }
 
     public boolean isVoid(int playerIndex, Suit suit) {
-        Set<Suit> voids = playerVoidSuits.get(playerIndex);
-        return voids != null && voids.contains(suit);
+        return (voidMasks[playerIndex] & (1 << suitIndex(suit))) != 0;
     }
 
     public int getRemainingCount(Suit suit) {
-        return (int) allCards.stream()
-            .filter(c -> c.getSuit() == suit && !playedCards.contains(c))
-            .count();
+        int index = suitIndex(suit);
+        return totalBySuit[index] - playedBySuit[index];
     }
 
     public int getRemainingCount(Rank rank) {
-        return (int) allCards.stream()
-            .filter(c -> c.getRank() == rank && !playedCards.contains(c))
-            .count();
+        return totalByRank[rank.ordinal()] - playedByRank[rank.ordinal()];
+    }
+
+    /**
+     * 返回指定花色、点数（王的花色为 null）尚未出现的张数。
+     */
+    public int getRemainingCount(Suit suit, Rank rank) {
+        int face = Card.faceIndex(suit, rank);
+        return totalByFace[face] - playedByFace[face];
     }
 
     public Set<Card> getPlayedCards() {
-        return Collections.unmodifiableSet(playedCards);
+        Set<Card> result = new LinkedHashSet<>();
+        for (int id = playedIds.nextId(0); id >= 0; id = playedIds.nextId(id + 1)) {
+            result.add(playedById[id]);
+        }
+        result.addAll(foreignPlayed);
+        return Collections.unmodifiableSet(result);
     }
 
     public int getRemainingCardCount() {
-        return allCards.size() - playedCards.size();
+        return allCards.size() - playedIds.size() - foreignPlayed.size();
     }
 
     public List<Card> getSuitRemainingCards(Suit suit) {
-        return allCards.stream()
-            .filter(c -> c.getSuit() == suit && !playedCards.contains(c))
-            .collect(Collectors.toList());
+        List<Card> result = new ArrayList<>(getRemainingCount(suit));
+        for (Card card : allCards) {
+            if (card.getSuit() == suit && !playedIds.contains(card.getId())) {
+                result.add(card);
+            }
+        }
+        return result;
     }
 
     public List<Card> getRankRemainingCards(Rank rank) {
-        return allCards.stream()
-            .filter(c -> c.getRank() == rank && !playedCards.contains(c))
-            .collect(Collectors.toList());
+        List<Card> result = new ArrayList<>(getRemainingCount(rank));
+        for (Card card : allCards) {
+            if (card.getRank() == rank && !playedIds.contains(card.getId())) {
+                result.add(card);
+            }
+        }
+        return result;
     }
 
     public Map<Suit, List<Card>> getPlayedCardsBySuit() {
@@ -125,7 +179,7 @@ public Map<Suit, List<Card>> getPlayedCardsBySuit() {
         for (Suit suit : Suit.values()) {
             result.put(suit, new ArrayList<>());
         }
-        for (Card card : playedCards) {
+        for (Card card : getPlayedCards()) {
             if (card.getSuit() != null) {
                 result.get(card.getSuit()).add(card);
             }
@@ -138,9 +192,58 @@ public Map<Rank, List<Card>> getPlayedCardsByRank() {
         for (Rank rank : Rank.values()) {
             result.put(rank, new ArrayList<>());
         }
-        for (Card card : playedCards) {
+        for (Card card : getPlayedCards()) {
             result.get(card.getRank()).add(card);
         }
         return result;
     }
+
+    /**
+     * 保存当前记牌状态，供搜索在推演后用 {@link #restore(Snapshot)} 回到此刻。
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * 恢复到 {@link #snapshot()} 时的记牌状态。快照可以重复恢复，也可以恢复到另一个记牌器上。
+     */
+    public void restore(Snapshot snapshot) {
+        playedIds.copyFrom(snapshot.playedIds);
+        System.arraycopy(snapshot.playedById, 0, playedById, 0, playedById.length);
+        foreignPlayed.clear();
+        foreignPlayed.addAll(snapshot.foreignPlayed);
+        System.arraycopy(snapshot.playedByFace, 0, playedByFace, 0, playedByFace.length);
+        System.arraycopy(snapshot.playedBySuit, 0, playedBySuit, 0, playedBySuit.length);
+        System.arraycopy(snapshot.playedByRank, 0, playedByRank, 0, playedByRank.length);
+        System.arraycopy(snapshot.voidMasks, 0, voidMasks, 0, voidMasks.length);
+    }
+
+    private static int suitIndex(Suit suit) {
+        return suit == null ? JOKER_SUIT_INDEX : suit.ordinal();
+    }
+
+    /**
+     * 记牌器某一时刻的不可变副本。
+     */
+    public static final class Snapshot {
+
+        private final CardSet playedIds = new CardSet();
+        private final Card[] playedById;
+        private final List<Card> foreignPlayed;
+        private final int[] playedByFace;
+        private final int[] playedBySuit;
+        private final int[] playedByRank;
+        private final int[] voidMasks;
+
+        private Snapshot(CardTracker tracker) {
+            playedIds.copyFrom(tracker.playedIds);
+            playedById = tracker.playedById.clone();
+            foreignPlayed = List.copyOf(tracker.foreignPlayed);
+            playedByFace = tracker.playedByFace.clone();
+            playedBySuit = tracker.playedBySuit.clone();
+            playedByRank = tracker.playedByRank.clone();
+            voidMasks = tracker.voidMasks.clone();
+        }
+    }
 }
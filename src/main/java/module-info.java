@@ -5,6 +5,7 @@
     requires javafx.base;
     requires java.prefs;
     requires java.net.http;
+    requires jdk.jfr;
     requires org.slf4j;
     requires com.dlsc.preferencesfx;
     requires org.kordamp.ikonli.javafx;
@@ -17,5 +18,7 @@
     exports com.tlcsdm.game.daliandagunzifx.engine;
     exports com.tlcsdm.game.daliandagunzifx.ai;
     exports com.tlcsdm.game.daliandagunzifx.tracker;
+    exports com.tlcsdm.game.daliandagunzifx.simulation;
+    exports com.tlcsdm.game.daliandagunzifx.replay;
     exports com.tlcsdm.game.daliandagunzifx.utils;
 }
\ No newline at end of file
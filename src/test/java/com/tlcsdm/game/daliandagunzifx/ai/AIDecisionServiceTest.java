@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIDecisionServiceTest {
+
+    private static final Card CARD = new Card(Suit.HEART, Rank.ACE, 800);
+
+    /**
+     * 在指定闩锁打开前一直阻塞的策略，记录执行决策的线程。
+     */
+    private static class BlockingStrategy implements AIStrategy {
+
+        private final CountDownLatch release;
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        BlockingStrategy(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public Suit chooseTrumpSuit(Player player, Rank trumpRank) {
+            return null;
+        }
+
+        @Override
+        public List<Card> chooseKittyCards(Player player, List<Card> kitty, TrumpInfo trumpInfo) {
+            return kitty;
+        }
+
+        @Override
+        public Card chooseCard(Player player, GameEngine engine) {
+            thread.set(Thread.currentThread());
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CARD;
+        }
+    }
+
+    @Test
+    void testDecisionRunsOffCallerThread() throws Exception {
+        // 回调放进队列，由测试线程扮演界面线程取出执行
+        LinkedBlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        BlockingStrategy strategy = new BlockingStrategy(new CountDownLatch(0));
+        AtomicReference<List<Card>> result = new AtomicReference<>();
+        try (AIDecisionService service = new AIDecisionService(callbacks::add, 0)) {
+            service.submit(strategy, new Player(1, "P1", false), null, result::set);
+
+            Runnable callback = callbacks.poll(5, TimeUnit.SECONDS);
+            assertNotNull(callback);
+            assertNull(result.get());
+            callback.run();
+        }
+        assertEquals(List.of(CARD), result.get());
+        assertNotSame(Thread.currentThread(), strategy.thread.get());
+        assertTrue(strategy.thread.get().isDaemon());
+    }
+
+    @Test
+    void testCancelAllDropsPendingResult() throws Exception {
+        LinkedBlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingStrategy strategy = new BlockingStrategy(release);
+        AtomicReference<List<Card>> result = new AtomicReference<>();
+        try (AIDecisionService service = new AIDecisionService(callbacks::add, 0)) {
+            service.submit(strategy, new Player(1, "P1", false), null, result::set);
+            assertEquals(1, service.getPendingCount());
+
+            service.cancelAll();
+            release.countDown();
+            assertEquals(0, service.getPendingCount());
+            assertNull(callbacks.poll(200, TimeUnit.MILLISECONDS));
+        }
+        assertNull(result.get());
+    }
+
+    @Test
+    void testCancelAllInterruptsRunningSearch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        // 模拟长时间搜索：像 HardAI 一样只在每次采样之间检查中断标志
+        AIStrategy searching = new BlockingStrategy(new CountDownLatch(0)) {
+            @Override
+            public Card chooseCard(Player player, GameEngine engine) {
+                started.countDown();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                stopped.countDown();
+                return CARD;
+            }
+        };
+        try (AIDecisionService service = new AIDecisionService(Runnable::run, 0)) {
+            service.submit(searching, new Player(1, "P1", false), null, cards -> fail("Should not decide"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            service.cancelAll();
+            assertTrue(stopped.await(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testCancelAfterCallbackQueuedDropsResult() throws Exception {
+        LinkedBlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AtomicReference<List<Card>> result = new AtomicReference<>();
+        try (AIDecisionService service = new AIDecisionService(callbacks::add, 0)) {
+            service.submit(new BlockingStrategy(new CountDownLatch(0)), new Player(1, "P1", false), null, result::set);
+            Runnable callback = callbacks.poll(5, TimeUnit.SECONDS);
+            assertNotNull(callback);
+
+            service.cancelAll();
+            callback.run();
+        }
+        assertNull(result.get());
+    }
+
+    @Test
+    void testMinimumDelay() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try (AIDecisionService service = new AIDecisionService(Runnable::run, 100)) {
+            service.submit(new BlockingStrategy(new CountDownLatch(0)), new Player(1, "P1", false), null,
+                cards -> done.countDown());
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testStrategyFailureSurfacesOnCallbackExecutor() throws Exception {
+        LinkedBlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+        AIStrategy failing = new BlockingStrategy(new CountDownLatch(0)) {
+            @Override
+            public Card chooseCard(Player player, GameEngine engine) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        try (AIDecisionService service = new AIDecisionService(callbacks::add, 0)) {
+            service.submit(failing, new Player(1, "P1", false), null, cards -> fail("Should not decide"));
+            Runnable callback = callbacks.poll(5, TimeUnit.SECONDS);
+            assertNotNull(callback);
+            assertThrows(IllegalStateException.class, callback::run);
+        }
+    }
+}
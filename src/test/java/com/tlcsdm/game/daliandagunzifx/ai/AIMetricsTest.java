@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIMetricsTest {
+
+    private GameEngine setupGame(long seed) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(seed));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    @Test
+    void testLatencyBuckets() {
+        assertEquals(0, AIMetrics.latencyBucket(999));
+        assertEquals(1, AIMetrics.latencyBucket(1_000));
+        assertEquals(11, AIMetrics.latencyBucket(1_500_000));
+        assertEquals(AIMetrics.LATENCY_BUCKETS - 1, AIMetrics.latencyBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testSnapshotAggregatesDecisions() {
+        AIMetrics metrics = new AIMetrics();
+        metrics.record("Test", 1_000_000, DecisionStats.NONE);
+        metrics.record("Test", 3_000_000, new DecisionStats(4, 200, 8000, 0.5, 0.1));
+        metrics.record("Test", 5_000_000, new DecisionStats(2, 300, 9000, 0.7, 0.3));
+
+        AIMetrics.Snapshot snapshot = metrics.snapshot("Test");
+        assertEquals(3, snapshot.decisions());
+        assertEquals(3.0, snapshot.meanLatencyMillis(), 1e-9);
+        assertEquals(5_000_000, snapshot.maxNanos());
+        assertEquals(2, snapshot.searches());
+        assertEquals(3.0, snapshot.meanCandidates(), 1e-9);
+        // 500 次采样用了 8 毫秒的搜索时间
+        assertEquals(62_500, snapshot.samplesPerSecond(), 1e-6);
+        assertEquals(17_000, snapshot.rolloutSteps());
+        assertEquals(0.2, snapshot.meanScoreSpread(), 1e-9);
+        // 1ms 落在 (512µs, 1024µs] 桶，中位数 3ms 在 (2048µs, 4096µs] 桶
+        assertEquals(1.024, snapshot.latencyPercentileMillis(0.1), 1e-9);
+        assertEquals(4.096, snapshot.latencyPercentileMillis(0.5), 1e-9);
+        assertNull(metrics.snapshot("Other"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshots().isEmpty());
+    }
+
+    @Test
+    void testDecisionStatsMeanAndSpread() {
+        DecisionStats stats = DecisionStats.of(3, 10, 100, 6.0, 14.0, 3);
+        assertEquals(2.0, stats.bestScore(), 1e-9);
+        assertEquals(1.0, stats.scoreSpread(), 1e-9);
+        assertTrue(Double.isNaN(DecisionStats.of(3, 1, 10, 2.0, 4.0, 1).scoreSpread()));
+    }
+
+    @Test
+    void testRecordsSearchStatistics() {
+        AIMetrics metrics = new AIMetrics();
+        GameEngine engine = setupGame(1);
+        ExpertAI ai = new ExpertAI(new CardTracker(), Long.MAX_VALUE / 2, 100, new SplittableRandom(1));
+        Player player = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+
+        metrics.chooseCards(ai, player, engine);
+        DecisionStats stats = ai.getLastDecisionStats();
+        assertEquals(100, stats.samples());
+        assertTrue(stats.candidates() > 1);
+        assertTrue(stats.rolloutSteps() > 0);
+        assertFalse(Double.isNaN(stats.bestScore()));
+
+        metrics.chooseCards(new EasyAI(), player, engine);
+        AIMetrics.Snapshot expert = metrics.snapshot("ExpertAI");
+        assertEquals(1, expert.searches());
+        assertEquals(100, expert.samples());
+        AIMetrics.Snapshot easy = metrics.snapshot("EasyAI");
+        assertEquals(1, easy.decisions());
+        assertEquals(0, easy.searches());
+    }
+}
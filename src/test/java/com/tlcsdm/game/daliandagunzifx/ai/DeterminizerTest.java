@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeterminizerTest {
+
+    private GameEngine setupGame() {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(7));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    private Set<Card> hiddenCards(GameEngine engine, int aiIndex, boolean withKitty) {
+        Set<Card> cards = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            if (i != aiIndex) cards.addAll(engine.getPlayers()[i].getHand());
+        }
+        if (withKitty) cards.addAll(engine.getKitty());
+        return cards;
+    }
+
+    @Test
+    void testSampleKeepsHandSizesAndCards() {
+        GameEngine engine = setupGame();
+        CardTracker tracker = new CardTracker();
+        SplittableRandom rng = new SplittableRandom(1);
+        for (int n = 0; n < 20; n++) {
+            GameEngine sim = Determinizer.sample(engine, 1, tracker, rng);
+            for (int i = 0; i < 4; i++) {
+                assertEquals(engine.getPlayers()[i].getHand().size(), sim.getPlayers()[i].getHand().size());
+            }
+            assertEquals(engine.getKitty().size(), sim.getKitty().size());
+            assertEquals(engine.getPlayers()[1].getHand(), sim.getPlayers()[1].getHand());
+            assertEquals(hiddenCards(engine, 1, true), hiddenCards(sim, 1, true));
+        }
+    }
+
+    @Test
+    void testKittyResampledOnlyWhenHidden() {
+        GameEngine engine = setupGame();
+        CardTracker tracker = new CardTracker();
+        SplittableRandom rng = new SplittableRandom(2);
+        Set<Card> kitty = new HashSet<>(engine.getKitty());
+        for (int n = 0; n < 20; n++) {
+            assertEquals(kitty, new HashSet<>(Determinizer.sample(engine, 0, tracker, rng).getKitty()));
+        }
+        boolean changed = false;
+        for (int n = 0; n < 20 && !changed; n++) {
+            changed = !kitty.equals(new HashSet<>(Determinizer.sample(engine, 1, tracker, rng).getKitty()));
+        }
+        assertTrue(changed, "非庄家看不到底牌，底牌应参与重新分配");
+    }
+
+    @Test
+    void testVoidsAlwaysRespected() {
+        GameEngine engine = setupGame();
+        CardTracker tracker = new CardTracker();
+        tracker.markVoidSuit(2, Suit.HEART);
+        tracker.markVoidSuit(2, Suit.DIAMOND);
+        tracker.markVoidSuit(3, Suit.HEART);
+        SplittableRandom rng = new SplittableRandom(3);
+        for (int n = 0; n < 50; n++) {
+            GameEngine sim = Determinizer.sample(engine, 1, tracker, rng);
+            for (int p = 2; p <= 3; p++) {
+                for (Card card : sim.getPlayers()[p].getHand()) {
+                    Suit suit = sim.getTrumpInfo().getEffectiveSuit(card);
+                    assertFalse(tracker.isVoid(p, suit), "P" + p + " 已断 " + suit + " 却分到了 " + card);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTributeCardsStayWithReceiver() {
+        GameEngine engine = setupGame();
+        Card tribute = engine.getPlayers()[1].getHand().get(0);
+        engine.executeTributeGive(1, tribute, 2);
+        Card returned = engine.getPlayers()[2].getHand().stream()
+            .filter(c -> !c.equals(tribute))
+            .findFirst()
+            .orElseThrow();
+        engine.executeTributeReturn(2, returned, 1);
+        assertEquals(2, engine.getCardTransfers().size());
+
+        CardTracker tracker = new CardTracker();
+        SplittableRandom rng = new SplittableRandom(4);
+        for (int n = 0; n < 30; n++) {
+            GameEngine sim = Determinizer.sample(engine, 3, tracker, rng);
+            assertTrue(sim.getPlayers()[2].getHand().contains(tribute));
+            assertTrue(sim.getPlayers()[1].getHand().contains(returned));
+        }
+    }
+
+    @Test
+    void testAssignRepairsWhenGreedyGetsStuck() {
+        // 三张牌各有两个去向，随机贪心可能把最后一张逼到已满的去向，需要沿增广路挪牌
+        int[] allowed = {0b011, 0b110, 0b101};
+        int[] capacity = {1, 1, 1, 0, 0};
+        for (long seed = 0; seed < 100; seed++) {
+            int[] owner = Determinizer.assign(allowed, null, capacity, new SplittableRandom(seed));
+            int[] used = new int[5];
+            for (int i = 0; i < owner.length; i++) {
+                assertTrue((allowed[i] & (1 << owner[i])) != 0, "seed " + seed + " 第 " + i + " 张牌去向非法");
+                used[owner[i]]++;
+            }
+            assertArrayEquals(capacity, used);
+        }
+    }
+
+    @Test
+    void testAssignFollowsLikelihood() {
+        // 两张牌都更可能在对方的去向
+        int[] allowed = {0b11, 0b11};
+        double[][] likelihood = {{0.01, 1, 1, 1, 1}, {1, 0.01, 1, 1, 1}};
+        int[] capacity = {1, 1, 0, 0, 0};
+        int unlikely = 0;
+        for (long seed = 0; seed < 1000; seed++) {
+            if (Determinizer.assign(allowed, likelihood, capacity, new SplittableRandom(seed))[0] == 0) {
+                unlikely++;
+            }
+        }
+        assertTrue(unlikely < 50, "低似然的分配出现了 " + unlikely + " 次");
+    }
+
+    @Test
+    void testAssignFillsExactSizesWhenInfeasible() {
+        // 两张牌都只能去 0 号，但 0 号只有一个空位：约束矛盾时仍要补满张数
+        int[] allowed = {0b001, 0b001};
+        int[] capacity = {1, 1, 0, 0, 0};
+        int[] owner = Determinizer.assign(allowed, null, capacity, new SplittableRandom(5));
+        List<Integer> targets = new ArrayList<>();
+        for (int target : owner) {
+            targets.add(target);
+        }
+        assertTrue(targets.contains(0));
+        assertTrue(targets.contains(1));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleDummySolverTest {
+
+    private GameEngine setupGame(long seed) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(seed));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    /**
+     * 随机出牌直到手里共剩 {@code remaining} 张以内。
+     */
+    private GameEngine playDownTo(long seed, int remaining) {
+        GameEngine engine = setupGame(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        while (156 - engine.getTotalCardsPlayed() > remaining) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            int count = generator.generate(engine);
+            engine.playCards(engine.getCurrentPlayerIndex(), generator.move(random.nextInt(count)));
+        }
+        return engine;
+    }
+
+    /**
+     * 不剪枝、不查表的极小极大，作为对照。
+     */
+    private int minimax(GameEngine engine) {
+        if (engine.getPhase() != GamePhase.PLAYING) {
+            return engine.getDefenderPoints();
+        }
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+            int value = minimax(engine);
+            engine.undo();
+            return value;
+        }
+        int current = engine.getCurrentPlayerIndex();
+        boolean maximizing = current % 2 != engine.getDealerIndex() % 2;
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        int count = generator.generate(engine);
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            engine.playCards(current, generator.move(i));
+            int value = minimax(engine);
+            engine.undo();
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    @Test
+    void testMatchesPlainMinimax() {
+        TranspositionTable table = new TranspositionTable(1 << 14);
+        DoubleDummySolver solver = new DoubleDummySolver(table);
+        for (long seed = 1; seed <= 8; seed++) {
+            GameEngine engine = playDownTo(seed, 8);
+            int expected = minimax(engine);
+            // 共享置换表连续求解不同局面，结果也必须一致
+            assertEquals(expected, solver.solve(engine), "seed " + seed);
+        }
+    }
+
+    @Test
+    void testSolveRestoresEngine() {
+        GameEngine engine = playDownTo(3, 12);
+        long hash = engine.getStateHash();
+        int depth = engine.getUndoDepth();
+        int points = engine.getDefenderPoints();
+        List<Card> hand = List.copyOf(engine.getPlayers()[1].getHand());
+
+        new DoubleDummySolver(new TranspositionTable(1 << 14)).solve(engine);
+
+        assertEquals(hash, engine.getStateHash());
+        assertEquals(depth, engine.getUndoDepth());
+        assertEquals(points, engine.getDefenderPoints());
+        assertEquals(hand, engine.getPlayers()[1].getHand());
+    }
+
+    @Test
+    void testTranspositionTableReducesWork() {
+        GameEngine engine = playDownTo(5, 12);
+        DoubleDummySolver solver = new DoubleDummySolver(new TranspositionTable(1 << 16));
+        int first = solver.solve(engine);
+        long firstNodes = solver.getNodes();
+        assertEquals(first, solver.solve(engine));
+        assertTrue(solver.getNodes() - firstNodes < firstNodes, "第二次求解应命中置换表");
+    }
+
+    @Test
+    void testFinishedRoundReturnsCurrentPoints() {
+        GameEngine engine = playDownTo(7, 0);
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+        }
+        assertEquals(GamePhase.ROUND_END, engine.getPhase());
+        assertEquals(engine.getDefenderPoints(), new DoubleDummySolver(new TranspositionTable(16)).solve(engine));
+    }
+}
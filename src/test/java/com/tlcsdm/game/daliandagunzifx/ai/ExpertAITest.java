@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpertAITest {
+
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2;
+
+    private GameEngine setupGame(long seed) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(seed));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    @Test
+    void testChooseCardsReturnsValidPlay() {
+        GameEngine engine = setupGame(1);
+        ExpertAI ai = new ExpertAI(new CardTracker(), NO_TIME_LIMIT, 200, new SplittableRandom(1));
+
+        Player currentPlayer = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        List<Card> chosen = ai.chooseCards(currentPlayer, engine);
+
+        assertTrue(currentPlayer.getHand().containsAll(chosen));
+        assertTrue(engine.isValidPlay(currentPlayer.getId(), chosen));
+        assertEquals(200, ai.getLastIterations());
+    }
+
+    @Test
+    void testFixedIterationsAreReproducible() {
+        List<Card> first = new ExpertAI(new CardTracker(), NO_TIME_LIMIT, 150, new SplittableRandom(5))
+            .chooseCards(setupGame(3).getPlayers()[0], setupGame(3));
+        List<Card> second = new ExpertAI(new CardTracker(), NO_TIME_LIMIT, 150, new SplittableRandom(5))
+            .chooseCards(setupGame(3).getPlayers()[0], setupGame(3));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testSubtreeIsReusedBetweenOwnMoves() {
+        GameEngine engine = setupGame(2);
+        ExpertAI ai = new ExpertAI(new CardTracker(), NO_TIME_LIMIT, 1000, new SplittableRandom(2));
+        EasyAI others = new EasyAI();
+
+        // 先推进到局末，剩余手牌少时搜索树能覆盖实际发生的出牌序列
+        while (engine.getTotalCardsPlayed() < 140 || engine.getCurrentPlayerIndex() != 0
+            || engine.getTrickCardsPlayed() == 4) {
+            advance(engine, others);
+        }
+
+        engine.playCards(0, ai.chooseCards(engine.getPlayers()[0], engine));
+        assertEquals(0, ai.getLastReusedVisits());
+        do {
+            advance(engine, others);
+        } while (engine.getCurrentPlayerIndex() != 0 || engine.getTrickCardsPlayed() == 4);
+
+        List<Card> next = ai.chooseCards(engine.getPlayers()[0], engine);
+        assertTrue(engine.isValidPlay(0, next));
+        assertTrue(ai.getLastReusedVisits() > 0);
+    }
+
+    @Test
+    void testSeatsKeepSeparateTrees() {
+        GameEngine engine = setupGame(4);
+        ExpertAI ai = new ExpertAI(new CardTracker(), NO_TIME_LIMIT, 100, new SplittableRandom(4));
+
+        engine.playCards(0, ai.chooseCards(engine.getPlayers()[0], engine));
+        engine.playCards(1, ai.chooseCards(engine.getPlayers()[1], engine));
+        // 座位 1 还没有出过牌的历史，不能继承座位 0 的子树
+        assertEquals(0, ai.getLastReusedVisits());
+    }
+
+    @Test
+    void testFaceKeyIgnoresOrderAndIds() {
+        int small = new Card(Suit.HEART, Rank.FIVE, 800).getFaceIndex();
+        int large = new Card(Suit.HEART, Rank.KING, 801).getFaceIndex();
+        assertEquals(ExpertAI.faceKey(new int[]{small, large}), ExpertAI.faceKey(new int[]{large, small}));
+        assertNotEquals(ExpertAI.faceKey(new int[]{small, small}), ExpertAI.faceKey(new int[]{small}));
+    }
+
+    private static void advance(GameEngine engine, EasyAI ai) {
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+            return;
+        }
+        int current = engine.getCurrentPlayerIndex();
+        engine.playCards(current, ai.chooseCards(engine.getPlayers()[current], engine));
+    }
+}
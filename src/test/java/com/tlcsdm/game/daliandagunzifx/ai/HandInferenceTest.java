@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.engine.TrumpInfo;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandInferenceTest {
+
+    private Player[] createPlayers() {
+        return new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+    }
+
+    private void setKitty(GameEngine engine) {
+        List<Card> kittyCards = engine.getPlayers()[engine.getDealerIndex()].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+    }
+
+    @Test
+    void testFirstRoundJokerDeclaration() {
+        GameEngine engine = new GameEngine(createPlayers(), new SplittableRandom(11));
+        engine.startNewRound();
+        engine.passTrump(1);
+        engine.declareTrump(2, Suit.HEART);
+
+        HandInference inference = HandInference.infer(engine);
+        Card bigJoker = new Card(null, Rank.BIG_JOKER, 900);
+        assertEquals(HandInference.FIRST_ROUND_PASS_FACTOR, inference.weight(1, bigJoker), 1e-9);
+        assertEquals(HandInference.DECLARED_TRUMP_FACTOR, inference.weight(2, bigJoker), 1e-9);
+        assertEquals(1.0, inference.weight(3, bigJoker), 1e-9);
+    }
+
+    @Test
+    void testLaterRoundDeclarationUsesLevelCards() {
+        GameEngine engine = new GameEngine(createPlayers(), new SplittableRandom(12));
+        engine.startNewRound();
+        engine.startNewRound();
+        engine.passTrump(1);
+        engine.declareTrump(0, Suit.SPADE);
+
+        HandInference inference = HandInference.infer(engine);
+        assertEquals(HandInference.PASSED_TRUMP_FACTOR,
+            inference.weight(1, new Card(Suit.HEART, Rank.THREE, 900)), 1e-9);
+        assertEquals(HandInference.DECLARED_TRUMP_FACTOR,
+            inference.weight(0, new Card(Suit.SPADE, Rank.THREE, 901)), 1e-9);
+        assertEquals(1.0, inference.weight(0, new Card(Suit.HEART, Rank.THREE, 902)), 1e-9);
+    }
+
+    @Test
+    void testTributeGiverHoldsNothingHigher() {
+        GameEngine engine = new GameEngine(createPlayers(), new SplittableRandom(13));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        setKitty(engine);
+        // 取一张点数居中的牌当贡牌，保证上下都有可比较的牌面
+        List<Card> sorted = engine.getPlayers()[1].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .sorted(Comparator.comparingInt(c -> TrumpInfo.effectiveRankStrength(c.getRank())))
+            .toList();
+        Card tribute = sorted.stream()
+            .filter(c -> c.getRank() != sorted.get(0).getRank() && c.getRank() != sorted.get(sorted.size() - 1).getRank())
+            .findFirst()
+            .orElseThrow();
+        engine.executeTributeGive(1, tribute, 0);
+
+        HandInference inference = HandInference.infer(engine);
+        int strength = TrumpInfo.effectiveRankStrength(tribute.getRank());
+        for (Rank rank : Rank.values()) {
+            if (rank == Rank.SMALL_JOKER || rank == Rank.BIG_JOKER) continue;
+            double expected = TrumpInfo.effectiveRankStrength(rank) > strength ? HandInference.TRIBUTE_FACTOR : 1.0;
+            assertEquals(expected, inference.weight(1, new Card(Suit.CLUB, rank, 900)), 1e-9);
+        }
+        assertEquals(HandInference.TRIBUTE_FACTOR, inference.weight(1, new Card(null, Rank.BIG_JOKER, 901)), 1e-9);
+        assertEquals(1.0, inference.weight(2, new Card(null, Rank.BIG_JOKER, 902)), 1e-9);
+    }
+
+    @Test
+    void testPointTrickInferences() {
+        GameEngine engine = new GameEngine(createPlayers(), new SplittableRandom(14));
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        setKitty(engine);
+        Player[] players = engine.getPlayers();
+        Card heart10 = new Card(Suit.HEART, Rank.TEN, 800);
+        Card heart5 = new Card(Suit.HEART, Rank.FIVE, 801);
+        Card heart4 = new Card(Suit.HEART, Rank.FOUR, 802);
+        Card club8 = new Card(Suit.CLUB, Rank.EIGHT, 803);
+        List<List<Card>> hands = List.of(
+            List.of(heart10, new Card(Suit.CLUB, Rank.FOUR, 804)),
+            List.of(heart5, new Card(Suit.CLUB, Rank.SIX, 805)),
+            List.of(heart4, new Card(Suit.CLUB, Rank.SEVEN, 806)),
+            List.of(club8, new Card(Suit.CLUB, Rank.NINE, 807)));
+        for (int i = 0; i < 4; i++) {
+            players[i].getHand().clear();
+            players[i].addCards(hands.get(i));
+        }
+        engine.playCard(0, heart10);
+        engine.playCard(1, heart5);
+        engine.playCard(2, heart4);
+        engine.playCard(3, club8);
+
+        HandInference inference = HandInference.infer(engine);
+        // P1 跟了红桃却没压过对手的 10 分
+        assertEquals(HandInference.NOT_BEATEN_FACTOR, inference.weight(1, new Card(Suit.HEART, Rank.ACE, 900)), 1e-9);
+        assertEquals(1.0, inference.weight(1, new Card(Suit.HEART, Rank.NINE, 901)), 1e-9);
+        // P3 没有红桃，对手赢着分墩也没用主毙
+        assertEquals(HandInference.NOT_RUFFED_FACTOR, inference.weight(3, new Card(Suit.SPADE, Rank.SEVEN, 902)), 1e-9);
+        // P2 不是最后一家，对家赢着也不能断定没有分牌
+        assertEquals(1.0, inference.weight(2, new Card(Suit.HEART, Rank.KING, 903)), 1e-9);
+    }
+}
@@ -35,6 +35,7 @@
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -157,4 +158,171 @@ void testHardAIChooseKittyCards() {
         // All kitty cards should be from dealer's hand
         assertTrue(dealer.getHand().containsAll(kittyCards));
     }
+
+    @Test
+    void testHardAIParallelSearchReturnsValidPlay() {
+        GameEngine engine = setupGame();
+        CardTracker tracker = new CardTracker();
+        HardAI ai = new HardAI(tracker, 4);
+        assertEquals(4, ai.getParallelism());
+
+        Player leader = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        Card leaderCard = leader.getHand().stream()
+            .filter(c -> engine.isValidPlay(leader.getId(), c))
+            .findFirst().orElseThrow();
+        engine.playCard(leader.getId(), leaderCard);
+
+        Player follower = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        int originalHandSize = follower.getHand().size();
+        Card chosen = ai.chooseCard(follower, engine);
+
+        assertNotNull(chosen);
+        assertTrue(engine.isValidPlay(follower.getId(), chosen));
+        assertEquals(originalHandSize, follower.getHand().size());
+        assertEquals(1, engine.getTrickCardsPlayed());
+    }
+
+    @Test
+    void testHardAIRejectsInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new HardAI(new CardTracker(), 0));
+    }
+
+    @Test
+    void testStopPonderingWithoutStartIsNoOp() {
+        HardAI ai = new HardAI(new CardTracker(), 1);
+        ai.stopPondering();
+        ai.stopPondering();
+    }
+
+    @Test
+    void testPonderedStatisticsAreReusedAfterHumanPlay() throws Exception {
+        GameEngine engine = setupGame();
+        HardAI ai = new HardAI(new CardTracker(), 1, new SplittableRandom(5));
+        EasyAI easy = new EasyAI();
+        boolean reused = false;
+        // 玩家 0 扮演人类：轮到它出一墩的最后一张时预搜索，再按预搜索假设的出牌习惯出牌；
+        // 赢墩的 AI 领出需要 PIMC 决策，检查是否继承了预搜索统计
+        for (int attempt = 0; attempt < 8 && !reused && !engine.isRoundOver(); ) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            int current = engine.getCurrentPlayerIndex();
+            if (current != 0 || engine.getTrickCardsPlayed() != 3) {
+                engine.playCards(current, easy.chooseCards(engine.getPlayers()[current], engine));
+                continue;
+            }
+            ai.startPondering(engine);
+            Thread.sleep(1000);
+            ai.stopPondering();
+            engine.playCards(0, easy.chooseCards(engine.getPlayers()[0], engine));
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+            }
+            Player next = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+            if (next.getId() == 0) {
+                continue;
+            }
+            List<Card> chosen = ai.chooseCards(next, engine);
+            assertTrue(engine.isValidPlay(next.getId(), chosen));
+            engine.playCards(next.getId(), chosen);
+            reused = ai.getLastPonderedSamples() > 0;
+            attempt++;
+        }
+        assertTrue(reused);
+    }
+
+    @Test
+    void testPonderingIgnoredWhenPositionDiffers() throws Exception {
+        GameEngine engine = setupGame();
+        HardAI ai = new HardAI(new CardTracker(), 1, new SplittableRandom(3));
+        ai.startPondering(engine);
+        Thread.sleep(50);
+        ai.stopPondering();
+
+        // 预搜索之后又多出了几手牌，统计不再对应当前局面
+        EasyAI easy = new EasyAI();
+        for (int i = 0; i < 4; i++) {
+            int current = engine.getCurrentPlayerIndex();
+            engine.playCards(current, easy.chooseCards(engine.getPlayers()[current], engine));
+        }
+        engine.evaluateTrick();
+        int current = engine.getCurrentPlayerIndex();
+        engine.playCards(current, easy.chooseCards(engine.getPlayers()[current], engine));
+
+        Player next = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        List<Card> chosen = ai.chooseCards(next, engine);
+        assertTrue(engine.isValidPlay(next.getId(), chosen));
+        assertEquals(0, ai.getLastPonderedSamples());
+    }
+
+    @Test
+    void testSearchRespectsTimeManager() {
+        GameEngine engine = setupGame();
+        HardAI ai = new HardAI(new CardTracker(), 1, new SplittableRandom(8));
+        ai.setTimeManager(new TimeManager(100, 200, 50, 1000));
+
+        Player leader = engine.getPlayers()[engine.getCurrentPlayerIndex()];
+        Card chosen = ai.chooseCard(leader, engine);
+        assertTrue(engine.isValidPlay(leader.getId(), chosen));
+        // 领出一定经过 PIMC：用时不超过分配的时间（留出一次模拟的余量）
+        assertTrue(ai.getLastSearchMillis() <= 1000, "took " + ai.getLastSearchMillis());
+        assertEquals(ai.getLastSearchMillis(), ai.getTimeManager().getSpentMs(engine, leader.getId()));
+    }
+
+    @Test
+    void testHalvingKeepsBetterHalf() {
+        HardAI.ScoreAccumulator scores = new HardAI.ScoreAccumulator(5);
+        double[] means = {10, 50, 30, 40, 20};
+        for (int i = 0; i < means.length; i++) {
+            for (int n = 0; n < 4; n++) {
+                scores.add(i, means[i]);
+            }
+        }
+        scores.halve();
+        // 5 个候选保留 3 个：均分 50、40、30
+        assertFalse(scores.isActive(0));
+        assertTrue(scores.isActive(1));
+        assertTrue(scores.isActive(2));
+        assertTrue(scores.isActive(3));
+        assertFalse(scores.isActive(4));
+
+        scores.halve();
+        scores.halve();
+        assertEquals(1, scores.bestIndex());
+        assertTrue(scores.isActive(1));
+        assertFalse(scores.isActive(2));
+        assertFalse(scores.isActive(3));
+    }
+
+    @Test
+    void testHalvingWaitsForEnoughSamples() {
+        HardAI.ScoreAccumulator scores = new HardAI.ScoreAccumulator(3);
+        scores.add(0, 1);
+        scores.add(1, 2);
+        scores.add(2, 3);
+        scores.halve();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(scores.isActive(i));
+        }
+    }
+
+    @Test
+    void testEliminatedCandidateIsNeverBest() {
+        HardAI.ScoreAccumulator scores = new HardAI.ScoreAccumulator(3);
+        for (int n = 0; n < 4; n++) {
+            scores.add(0, 100);
+            scores.add(1, 90);
+            scores.add(2, 10);
+        }
+        scores.halve();
+        assertFalse(scores.isActive(2));
+
+        // 工作线程的计分器共享候选标记，合并后被淘汰的候选即使均分更高也不会入选
+        HardAI.ScoreAccumulator worker = scores.emptyCopy();
+        assertFalse(worker.isActive(2));
+        scores.add(2, 100000);
+        scores.merge(worker);
+        assertEquals(0, scores.bestIndex());
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RolloutPolicyTest {
+
+    private GameEngine setupGame(long seed, boolean liveBang) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(seed));
+        engine.setLiveBang(liveBang);
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    private static List<Integer> faces(List<Card> cards) {
+        return cards.stream().map(Card::getFaceIndex).toList();
+    }
+
+    @Test
+    void testPlaysSameCardsAsEasyAI() {
+        RolloutPolicy policy = new RolloutPolicy();
+        for (long seed = 1; seed <= 12; seed++) {
+            boolean aggressive = seed % 3 == 0;
+            EasyAI easy = new EasyAI();
+            easy.setAggressive(aggressive);
+            GameEngine engine = setupGame(seed, seed % 2 == 0);
+            while (engine.getPhase() == GamePhase.PLAYING) {
+                if (engine.getTrickCardsPlayed() == 4) {
+                    engine.evaluateTrick();
+                    continue;
+                }
+                int seat = engine.getCurrentPlayerIndex();
+                List<Card> expected = easy.chooseCards(engine.getPlayers()[seat], engine);
+                List<Card> actual = policy.choose(engine, aggressive);
+                assertEquals(faces(expected), faces(actual),
+                    "seed " + seed + " after " + engine.getTotalCardsPlayed() + " cards");
+                engine.playCards(seat, actual);
+            }
+        }
+    }
+
+    @Test
+    void testRandomMovesAreLegal() {
+        RolloutPolicy policy = new RolloutPolicy();
+        SplittableRandom random = new SplittableRandom(7);
+        for (long seed = 1; seed <= 5; seed++) {
+            GameEngine engine = setupGame(seed, true);
+            while (engine.getPhase() == GamePhase.PLAYING) {
+                if (engine.getTrickCardsPlayed() == 4) {
+                    engine.evaluateTrick();
+                    continue;
+                }
+                int seat = engine.getCurrentPlayerIndex();
+                List<Card> play = random.nextBoolean() ? policy.randomMove(engine, random) : policy.choose(engine, false);
+                assertNotNull(play);
+                assertTrue(engine.isValidPlay(seat, play));
+                engine.playCards(seat, play);
+            }
+            assertEquals(156, engine.getTotalCardsPlayed());
+        }
+    }
+
+    @Test
+    void testReusesResultBuffer() {
+        RolloutPolicy policy = new RolloutPolicy();
+        GameEngine engine = setupGame(3, true);
+        List<Card> first = policy.choose(engine, false);
+        List<Card> second = policy.choose(engine, false);
+        assertSame(first, second);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeManagerTest {
+
+    private GameEngine setupGame() {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players);
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    @Test
+    void testInvalidConfigurationRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeManager(100, 200, 0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TimeManager(100, 50, 10, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TimeManager(100, 200, 10, 5));
+    }
+
+    @Test
+    void testHighStakesGetMoreTime() {
+        GameEngine engine = setupGame();
+        TimeManager manager = new TimeManager(1000, 3000, 100, 1_000_000);
+        long quiet = manager.allocate(engine, 1, 0);
+        long contested = manager.allocate(engine, 1, 25);
+        long capped = manager.allocate(engine, 1, 300);
+
+        assertEquals(1000, quiet);
+        assertTrue(contested > quiet);
+        assertEquals(3000, capped);
+    }
+
+    /**
+     * 只保留三张手牌，模拟临近最后一墩。
+     */
+    private static void keepThreeCards(Player player) {
+        List<Card> hand = new ArrayList<>(player.getHand().subList(0, 3));
+        player.getHand().clear();
+        player.getHand().addAll(hand);
+    }
+
+    private static void setKittyPoints(GameEngine engine, boolean withPoints) {
+        for (int i = 0; i < engine.getKitty().size(); i++) {
+            engine.getKitty().set(i, withPoints && i == 0
+                ? new Card(Suit.HEART, Rank.TEN, 900 + i)
+                : new Card(Suit.HEART, Rank.THREE, 900 + i));
+        }
+    }
+
+    @Test
+    void testLateTrickWithKittyPointsGetsMoreTime() {
+        GameEngine engine = setupGame();
+        TimeManager manager = new TimeManager(1000, 3000, 100, 1_000_000);
+        // 庄家扣的底，知道底牌有没有分
+        keepThreeCards(engine.getPlayers()[0]);
+        setKittyPoints(engine, false);
+        assertEquals(1000, manager.allocate(engine, 0, 0));
+        setKittyPoints(engine, true);
+        assertEquals(1500, manager.allocate(engine, 0, 0));
+    }
+
+    @Test
+    void testNonDealerAllocationIgnoresKittyContents() {
+        GameEngine engine = setupGame();
+        TimeManager manager = new TimeManager(1000, 3000, 100, 1_000_000);
+        keepThreeCards(engine.getPlayers()[1]);
+        setKittyPoints(engine, false);
+        long withoutPoints = manager.allocate(engine, 1, 0);
+        setKittyPoints(engine, true);
+        long withPoints = manager.allocate(engine, 1, 0);
+
+        assertEquals(withoutPoints, withPoints);
+        // 看不到底牌的座位按底牌可能有分加时
+        assertEquals(1500, withPoints);
+    }
+
+    @Test
+    void testRoundBudgetLimitsAllocation() {
+        GameEngine engine = setupGame();
+        TimeManager manager = new TimeManager(1000, 3000, 100, 5000);
+        // 39 张手牌约需 13 次搜索，5 秒预算平均每次不到 1 秒
+        assertEquals(5000 / 13, manager.allocate(engine, 1, 0));
+
+        manager.record(engine, 1, 5000);
+        assertEquals(5000, manager.getSpentMs(engine, 1));
+        assertEquals(100, manager.allocate(engine, 1, 0));
+        // 预算按座位分开计算
+        assertEquals(0, manager.getSpentMs(engine, 2));
+    }
+
+    @Test
+    void testBudgetResetsForNewRound() {
+        GameEngine engine = setupGame();
+        TimeManager manager = new TimeManager(1000, 3000, 100, 5000);
+        manager.record(engine, 1, 5000);
+
+        GameEngine next = setupGame();
+        assertEquals(0, manager.getSpentMs(next, 1));
+    }
+}
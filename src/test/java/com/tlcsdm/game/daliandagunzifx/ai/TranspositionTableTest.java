@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1024);
+        table.store(0x1234_5678_9abcL, -75, 12, TranspositionTable.LOWER_BOUND);
+        long entry = table.probe(0x1234_5678_9abcL);
+        assertNotEquals(TranspositionTable.MISS, entry);
+        assertEquals(-75, TranspositionTable.value(entry));
+        assertEquals(12, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234_5678_9abdL));
+
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(0x1234_5678_9abcL));
+    }
+
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(1024, new TranspositionTable(1000).capacity());
+        assertEquals(2, new TranspositionTable(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void testDeeperEntryIsKeptInBucket() {
+        // 容量 2 只有一个桶：深的条目占住深度优先格，浅的条目轮流写入另一格
+        TranspositionTable table = new TranspositionTable(2);
+        table.store(1L, 10, 20, TranspositionTable.EXACT);
+        table.store(2L, 20, 3, TranspositionTable.EXACT);
+        table.store(3L, 30, 5, TranspositionTable.EXACT);
+        assertEquals(10, TranspositionTable.value(table.probe(1L)));
+        assertEquals(TranspositionTable.MISS, table.probe(2L));
+        assertEquals(30, TranspositionTable.value(table.probe(3L)));
+
+        // 同一局面总是原地更新
+        table.store(1L, 11, 2, TranspositionTable.UPPER_BOUND);
+        assertEquals(11, TranspositionTable.value(table.probe(1L)));
+    }
+
+    @Test
+    void testConcurrentAccessNeverReturnsForeignData() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(64);
+        AtomicInteger corrupted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long seed = t;
+            threads.add(new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long hash = random.nextLong(1, 512) * 0x9e3779b97f4a7c15L;
+                    // 值由哈希决定，命中的条目若值对不上就说明读到了别的局面的数据
+                    int expected = (int) (hash >>> 40);
+                    long entry = table.probe(hash);
+                    if (entry != TranspositionTable.MISS && TranspositionTable.value(entry) != expected) {
+                        corrupted.incrementAndGet();
+                    }
+                    table.store(hash, expected, (int) (hash & 0xF), TranspositionTable.EXACT);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, corrupted.get());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineEventsTest {
+
+    private static final String PREFIX = "com.tlcsdm.game.daliandagunzifx.";
+
+    private List<RecordedEvent> playRound(Recording recording) throws Exception {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players, new SplittableRandom(1));
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        recording.start();
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        engine.setKitty(players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList());
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            generator.generate(engine);
+            engine.playCards(engine.getCurrentPlayerIndex(), generator.move(0));
+        }
+        engine.calculateRoundResult();
+        recording.stop();
+
+        Path file = Files.createTempFile("engine-events", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith(PREFIX))
+                .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(PREFIX + name)).count();
+    }
+
+    @Test
+    void testLifecycleEvents() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "RoundStart");
+            recording.enable(PREFIX + "TrumpDeclaration");
+            recording.enable(PREFIX + "Kitty");
+            recording.enable(PREFIX + "RoundEnd");
+            events = playRound(recording);
+        }
+        assertEquals(1, count(events, "RoundStart"));
+        assertEquals(1, count(events, "Kitty"));
+
+        RecordedEvent trump = events.stream()
+            .filter(e -> e.getEventType().getName().equals(PREFIX + "TrumpDeclaration"))
+            .findFirst().orElseThrow();
+        assertEquals(0, trump.getInt("declarer"));
+        assertEquals("SPADE", trump.getString("trumpSuit"));
+        assertEquals("PREPARING_KITTY", trump.getString("phase"));
+
+        RecordedEvent end = events.stream()
+            .filter(e -> e.getEventType().getName().equals(PREFIX + "RoundEnd"))
+            .findFirst().orElseThrow();
+        assertEquals("ROUND_END", end.getString("phase"));
+        assertTrue(end.getInt("defenderPoints") >= 0);
+    }
+
+    @Test
+    void testPlayAndTrickEventsWhenEnabled() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "PlayCards");
+            recording.enable(PREFIX + "TrickEvaluation");
+            events = playRound(recording);
+        }
+        long trickCount = count(events, "TrickEvaluation");
+        assertTrue(trickCount > 0);
+        assertEquals(trickCount * 4, count(events, "PlayCards"));
+        int defenderPoints = events.stream()
+            .filter(e -> e.getEventType().getName().equals(PREFIX + "TrickEvaluation"))
+            .mapToInt(e -> e.getInt("defenderPoints"))
+            .max().orElseThrow();
+        assertTrue(defenderPoints >= 0);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineHashTest {
+
+    private GameEngine setupGame() {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players);
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    private void playRandomCard(GameEngine engine, Random random) {
+        int current = engine.getCurrentPlayerIndex();
+        List<Card> legal = new ArrayList<>();
+        for (Card card : engine.getPlayers()[current].getHand()) {
+            if (engine.isValidPlay(current, card)) {
+                legal.add(card);
+            }
+        }
+        engine.playCard(current, legal.get(random.nextInt(legal.size())));
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+        }
+    }
+
+    @Test
+    void testIncrementalHashMatchesRecompute() {
+        GameEngine engine = setupGame();
+        Random random = new Random(42);
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            playRandomCard(engine, random);
+            long incremental = engine.getStateHash();
+            assertEquals(incremental, engine.recomputeStateHash());
+        }
+    }
+
+    @Test
+    void testUndoRestoresHash() {
+        GameEngine engine = setupGame();
+        long start = engine.getStateHash();
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            playRandomCard(engine, random);
+        }
+        long middle = engine.getStateHash();
+        engine.playCard(engine.getCurrentPlayerIndex(), engine.getPlayers()[engine.getCurrentPlayerIndex()].getHand().stream()
+            .filter(c -> engine.isValidPlay(engine.getCurrentPlayerIndex(), c))
+            .findFirst()
+            .orElseThrow());
+        assertNotEquals(middle, engine.getStateHash());
+        engine.undo();
+        assertEquals(middle, engine.getStateHash());
+        engine.undoTo(0);
+        assertEquals(start, engine.getStateHash());
+        assertEquals(engine.getStateHash(), engine.copy().getStateHash());
+    }
+
+    @Test
+    void testLiveBangIsPartOfHash() {
+        GameEngine engine = setupGame();
+        long live = engine.getStateHash();
+        engine.setLiveBang(false);
+        assertNotEquals(live, engine.getStateHash());
+        assertEquals(engine.getStateHash(), engine.recomputeStateHash());
+        engine.setLiveBang(true);
+        assertEquals(live, engine.getStateHash());
+    }
+
+    @Test
+    void testDifferentOrdersReachSameHash() {
+        GameEngine first = setupGame();
+        Player[] players = first.getPlayers();
+        // 每家三张红桃，庄家两墩都用最大的牌赢下；两条线路交换两墩的出牌顺序
+        int id = 800;
+        List<List<Card>> hands = new ArrayList<>();
+        Rank[][] ranks = {
+            {Rank.ACE, Rank.KING, Rank.FOUR},
+            {Rank.FIVE, Rank.SIX, Rank.SEVEN},
+            {Rank.EIGHT, Rank.NINE, Rank.TEN},
+            {Rank.JACK, Rank.QUEEN, Rank.FOUR}
+        };
+        for (Rank[] row : ranks) {
+            List<Card> hand = new ArrayList<>();
+            for (Rank rank : row) {
+                hand.add(new Card(Suit.HEART, rank, id++));
+            }
+            hands.add(hand);
+        }
+        for (int i = 0; i < 4; i++) {
+            players[i].getHand().clear();
+            players[i].addCards(hands.get(i));
+        }
+        first.recomputeStateHash();
+        GameEngine second = first.copy();
+
+        for (int trick = 0; trick < 2; trick++) {
+            for (int i = 0; i < 4; i++) {
+                first.playCard(i, hands.get(i).get(trick));
+                second.playCard(i, hands.get(i).get(1 - trick));
+            }
+            assertEquals(0, first.evaluateTrick());
+            assertEquals(0, second.evaluateTrick());
+        }
+        assertEquals(first.getStateHash(), second.getStateHash());
+        assertEquals(first.getStateHash(), first.recomputeStateHash());
+    }
+
+    @Test
+    void testHashDistinguishesHandOwnership() {
+        GameEngine engine = setupGame();
+        GameEngine swapped = engine.copy();
+        Card fromP1 = swapped.getPlayers()[1].getHand().get(0);
+        Card fromP2 = swapped.getPlayers()[2].getHand().get(0);
+        swapped.getPlayers()[1].getHand().set(0, fromP2);
+        swapped.getPlayers()[2].getHand().set(0, fromP1);
+        assertNotEquals(engine.getStateHash(), swapped.recomputeStateHash());
+    }
+}
@@ -34,6 +34,7 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -656,6 +657,34 @@ void testExecuteTributeGiveAndReturn() {
         assertFalse(players[1].hasCards(List.of(club4)), "接收方不应再有回贡牌");
     }
 
+    @Test
+    void testFinishTributeAfterTrumpKeepsKittyPhase() {
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        engine.finishTribute();
+        assertEquals(GamePhase.PREPARING_KITTY, engine.getPhase(), "亮主后进贡结束应仍可扣底");
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        assertEquals(GamePhase.PLAYING, engine.getPhase());
+    }
+
+    @Test
+    void testApplyLevelChange() {
+        assertFalse(engine.applyLevelChange(new RoundResult(60, 0)));
+        assertEquals(Rank.FOUR, engine.getTeamLevels()[0]);
+        assertEquals(Rank.THREE, engine.getTeamLevels()[1]);
+
+        engine.getTeamLevels()[1] = Rank.NINE;
+        // 闲家队伍 1 得 130 分升 1 级到 10，尚未打碎
+        assertFalse(engine.applyLevelChange(new RoundResult(130, 0)));
+        assertEquals(Rank.TEN, engine.getTeamLevels()[1]);
+        assertTrue(engine.applyLevelChange(new RoundResult(130, 0)));
+        assertEquals(Rank.TEN, engine.getTeamLevels()[1]);
+    }
+
     @Test
     void testGetTributeCard() {
         engine.startNewRound();
@@ -754,4 +783,29 @@ void testAutoTributeUsesSingleGiver() {
         }
         // 若 400 次内未出现多贡场景，不视为失败（场景较罕见）。
     }
+
+    @Test
+    void testSeededEngineDealsReproducibly() {
+        List<List<Integer>> first = dealWithSeed(7L);
+        assertEquals(first, dealWithSeed(7L));
+        assertNotEquals(first, dealWithSeed(8L));
+    }
+
+    private static List<List<Integer>> dealWithSeed(long seed) {
+        Player[] seated = new Player[]{
+            new Player(0, "P0", false),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine seeded = new GameEngine(seated, new SplittableRandom(seed));
+        seeded.startNewRound();
+        seeded.declareTrumpFromKitty();
+        List<List<Integer>> hands = new ArrayList<>();
+        for (Player player : seated) {
+            hands.add(player.getHand().stream().map(Card::getId).toList());
+        }
+        hands.add(List.of(seeded.getDealerIndex()));
+        return hands;
+    }
 }
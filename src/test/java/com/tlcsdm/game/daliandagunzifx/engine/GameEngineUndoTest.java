@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineUndoTest {
+
+    private GameEngine setupGame() {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players);
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kittyCards = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kittyCards);
+        return engine;
+    }
+
+    @Test
+    void testUndoWithoutMovesThrows() {
+        GameEngine engine = setupGame();
+        assertEquals(0, engine.getUndoDepth());
+        assertThrows(IllegalStateException.class, engine::undo);
+        assertThrows(IllegalArgumentException.class, () -> engine.undoTo(1));
+    }
+
+    @Test
+    void testUndoSinglePlayRestoresHandOrder() {
+        GameEngine engine = setupGame();
+        Player leader = engine.getPlayers()[0];
+        List<Card> handBefore = new ArrayList<>(leader.getHand());
+        Card card = leader.getHand().get(5);
+
+        engine.playCard(0, card);
+        assertEquals(1, engine.getUndoDepth());
+        assertFalse(leader.getHand().contains(card));
+
+        engine.undo();
+        assertEquals(handBefore, leader.getHand());
+        assertEquals(0, engine.getTrickCardsPlayed());
+        assertEquals(0, engine.getCurrentPlayerIndex());
+        assertNull(engine.getCurrentTrickPlayType());
+        assertTrue(engine.isValidPlay(0, card));
+    }
+
+    @Test
+    void testUndoWholeRoundRestoresEveryState() {
+        GameEngine engine = setupGame();
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        Random random = new Random(7);
+        List<String> states = new ArrayList<>();
+
+        while (!engine.isRoundOver()) {
+            states.add(describe(engine));
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+            } else {
+                int count = generator.generate(engine);
+                engine.playCards(engine.getCurrentPlayerIndex(), generator.move(random.nextInt(count)));
+            }
+        }
+        assertEquals(states.size(), engine.getUndoDepth());
+
+        // 先一次回退到中途，再逐步回退到开局
+        engine.undoTo(states.size() / 2);
+        assertEquals(states.get(states.size() / 2), describe(engine));
+
+        for (int i = states.size() / 2 - 1; i >= 0; i--) {
+            engine.undo();
+            assertEquals(states.get(i), describe(engine), "State mismatch after undo to step " + i);
+        }
+        assertEquals(0, engine.getUndoDepth());
+        assertEquals(GamePhase.PLAYING, engine.getPhase());
+    }
+
+    @Test
+    void testCopyStartsWithEmptyUndoStack() {
+        GameEngine engine = setupGame();
+        engine.playCard(0, engine.getPlayers()[0].getHand().get(0));
+        GameEngine copy = engine.copy();
+        assertEquals(1, engine.getUndoDepth());
+        assertEquals(0, copy.getUndoDepth());
+    }
+
+    @Test
+    void testHistoryFollowsUndoStack() {
+        GameEngine engine = setupGame();
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        List<List<Card>> plays = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            generator.generate(engine);
+            List<Card> move = generator.move(0);
+            plays.add(move);
+            engine.playCards(engine.getCurrentPlayerIndex(), move);
+        }
+        engine.evaluateTrick();
+
+        assertEquals(5, engine.getUndoDepth());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, engine.getHistoryPlayer(i));
+            assertEquals(plays.get(i), engine.getHistoryCards(i));
+        }
+        assertEquals(-1, engine.getHistoryPlayer(4));
+        assertTrue(engine.getHistoryCards(4).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.getHistoryPlayer(5));
+
+        engine.undoTo(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.getHistoryCards(2));
+    }
+
+    private static String describe(GameEngine engine) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(engine.getPhase()).append('|')
+            .append(engine.getCurrentPlayerIndex()).append('|')
+            .append(engine.getCurrentTrickLeader()).append('|')
+            .append(engine.getCurrentTrickPlayType()).append('|')
+            .append(engine.getTrickCardsPlayed()).append('|')
+            .append(engine.getTotalCardsPlayed()).append('|')
+            .append(engine.getDefenderPoints()).append('|')
+            .append(engine.isLastTrickWonByDefender()).append('|')
+            .append(Arrays.toString(engine.getCurrentTrickCards()));
+        for (Player player : engine.getPlayers()) {
+            sb.append('|');
+            for (Card card : player.getHand()) {
+                sb.append(card.getId()).append(',');
+            }
+        }
+        return sb.toString();
+    }
+}
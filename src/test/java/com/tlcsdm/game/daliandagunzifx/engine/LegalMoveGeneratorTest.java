@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.PlayType;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalMoveGeneratorTest {
+
+    private GameEngine setupGame(boolean liveBang) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", false),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players);
+        engine.setLiveBang(liveBang);
+        engine.startNewRound();
+        engine.declareTrump(0, Suit.SPADE);
+        List<Card> kitty = players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList();
+        engine.setKitty(kitty);
+        return engine;
+    }
+
+    @Test
+    void testLeaderMovesCoverEveryFaceGroup() {
+        GameEngine engine = setupGame(true);
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        int count = generator.generate(engine);
+        assertEquals(count, generator.size());
+        assertEquals(bruteForce(engine), signatures(generator));
+        for (int i = 0; i < count; i++) {
+            assertTrue(engine.isValidPlay(0, generator.move(i)));
+        }
+    }
+
+    @Test
+    void testMatchesIsValidPlayThroughWholeRound() {
+        for (boolean liveBang : new boolean[]{true, false}) {
+            GameEngine engine = setupGame(liveBang);
+            LegalMoveGenerator generator = new LegalMoveGenerator();
+            Random random = new Random(liveBang ? 1 : 2);
+            while (engine.getPhase() == GamePhase.PLAYING && !engine.isRoundOver()) {
+                if (engine.getTrickCardsPlayed() == 4) {
+                    engine.evaluateTrick();
+                    continue;
+                }
+                int count = generator.generate(engine);
+                assertTrue(count > 0);
+                assertEquals(bruteForce(engine), signatures(generator),
+                    "liveBang=" + liveBang + ", trick type " + engine.getCurrentTrickPlayType());
+                engine.playCards(engine.getCurrentPlayerIndex(), generator.move(random.nextInt(count)));
+            }
+        }
+    }
+
+    @Test
+    void testLegalSinglesMatchesIsValidPlay() {
+        GameEngine engine = setupGame(true);
+        Player leader = engine.getPlayers()[0];
+        assertEquals(leader.getHand(), LegalMoveGenerator.legalSingles(engine, leader));
+        assertTrue(LegalMoveGenerator.legalSingles(engine, engine.getPlayers()[1]).isEmpty());
+
+        engine.playCard(0, leader.getHand().get(leader.getHand().size() - 1));
+        Player follower = engine.getPlayers()[1];
+        List<Card> expected = new ArrayList<>();
+        for (Card card : follower.getHand()) {
+            if (engine.isValidPlay(1, card)) {
+                expected.add(card);
+            }
+        }
+        assertEquals(expected, LegalMoveGenerator.legalSingles(engine, follower));
+    }
+
+    @Test
+    void testNoMovesOutsidePlayingPhase() {
+        Player[] players = new Player[]{
+            new Player(0, "P0", false),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        GameEngine engine = new GameEngine(players);
+        engine.startNewRound();
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        assertEquals(0, generator.generate(engine));
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.move(0));
+    }
+
+    /**
+     * 枚举当前玩家手牌的全部 1~3 张组合，用 isValidPlay 过滤后按牌面去重。
+     */
+    private static Set<String> bruteForce(GameEngine engine) {
+        int playerIndex = engine.getCurrentPlayerIndex();
+        List<Card> hand = engine.getPlayers()[playerIndex].getHand();
+        int maxSize = engine.getTrickCardsPlayed() == 0 ? 3 : requiredCount(engine.getCurrentTrickPlayType());
+        Set<String> result = new HashSet<>();
+        int n = hand.size();
+        for (int i = 0; i < n; i++) {
+            check(engine, playerIndex, List.of(hand.get(i)), result);
+            if (maxSize < 2) {
+                continue;
+            }
+            for (int j = i + 1; j < n; j++) {
+                check(engine, playerIndex, List.of(hand.get(i), hand.get(j)), result);
+                if (maxSize < 3) {
+                    continue;
+                }
+                for (int k = j + 1; k < n; k++) {
+                    check(engine, playerIndex, List.of(hand.get(i), hand.get(j), hand.get(k)), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void check(GameEngine engine, int playerIndex, List<Card> cards, Set<String> result) {
+        if (engine.isValidPlay(playerIndex, cards)) {
+            result.add(signature(cards));
+        }
+    }
+
+    private static Set<String> signatures(LegalMoveGenerator generator) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < generator.size(); i++) {
+            assertTrue(result.add(signature(generator.move(i))), "Duplicate move " + generator.move(i));
+        }
+        return result;
+    }
+
+    private static String signature(List<Card> cards) {
+        int[] faces = cards.stream().mapToInt(Card::getFaceIndex).sorted().toArray();
+        return Arrays.toString(faces);
+    }
+
+    private static int requiredCount(PlayType playType) {
+        return switch (playType) {
+            case SINGLE -> 1;
+            case PAIR, BANG -> 2;
+            case GUNZI -> 3;
+        };
+    }
+}
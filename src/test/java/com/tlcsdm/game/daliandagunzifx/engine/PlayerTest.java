@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.engine;
+
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Deck;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTest {
+
+    private Player dealtPlayer() {
+        Deck deck = new Deck();
+        deck.shuffle();
+        Player player = new Player(0, "P0", false);
+        player.addCards(deck.deal(45));
+        return player;
+    }
+
+    @Test
+    void testSuitCountsMatchLinearScan() {
+        Player player = dealtPlayer();
+        TrumpInfo trumpInfo = new TrumpInfo(Suit.HEART, Rank.FIVE);
+        for (Suit suit : Suit.values()) {
+            assertEquals(player.getCardsOfSuit(suit, trumpInfo).size(),
+                player.countCardsOfSuit(suit, trumpInfo));
+        }
+        assertEquals(player.getTrumpCards(trumpInfo).size(), player.countCardsOfSuit(null, trumpInfo));
+    }
+
+    @Test
+    void testMaxIdenticalCountMatchesLinearScan() {
+        Player player = dealtPlayer();
+        TrumpInfo trumpInfo = new TrumpInfo(Suit.CLUB, Rank.KING);
+        for (Suit suit : new Suit[]{Suit.SPADE, Suit.HEART, Suit.DIAMOND, Suit.CLUB, null}) {
+            assertEquals(Player.maxIdenticalCount(player.getCardsOfSuit(suit, trumpInfo)),
+                player.maxIdenticalCountOfSuit(suit, trumpInfo));
+        }
+    }
+
+    @Test
+    void testHasCardsTracksDirectListChanges() {
+        Player player = dealtPlayer();
+        List<Card> hand = player.getHand();
+        Card first = hand.get(0);
+        Card second = hand.get(1);
+        assertTrue(player.hasCards(List.of(first, second)));
+        assertFalse(player.hasCards(List.of(first, first)));
+
+        hand.remove(first);
+        assertFalse(player.hasCards(List.of(first)));
+        hand.subList(0, 1).clear();
+        assertFalse(player.hasCards(List.of(second)));
+        hand.add(first);
+        assertTrue(player.hasCards(List.of(first)));
+        hand.clear();
+        assertFalse(player.hasCards(List.of(first)));
+        assertEquals(0, player.countCardsOfRank(Rank.BIG_JOKER));
+    }
+
+    @Test
+    void testNonStandardCardsFallBackToLinearScan() {
+        Player player = new Player(1, "P1", false);
+        Card spadeA1 = new Card(Suit.SPADE, Rank.ACE, 800);
+        Card spadeA2 = new Card(Suit.SPADE, Rank.ACE, 801);
+        Card spadeQ = new Card(Suit.SPADE, Rank.QUEEN, 802);
+        player.addCards(List.of(spadeA1, spadeA2, spadeQ));
+        TrumpInfo trumpInfo = new TrumpInfo(Suit.HEART, Rank.THREE);
+
+        assertTrue(player.hasCards(List.of(spadeA1, spadeQ)));
+        assertEquals(3, player.countCardsOfSuit(Suit.SPADE, trumpInfo));
+        assertEquals(2, player.maxIdenticalCountOfSuit(Suit.SPADE, trumpInfo));
+        player.removeCards(List.of(spadeA2));
+        assertEquals(1, player.maxIdenticalCountOfSuit(Suit.SPADE, trumpInfo));
+    }
+
+    @Test
+    void testCopyKeepsIndependentIndex() {
+        Player player = dealtPlayer();
+        Player copy = player.copy();
+        List<Card> removed = new ArrayList<>(copy.getHand().subList(0, 3));
+        copy.removeCards(removed);
+        assertTrue(player.hasCards(removed));
+        assertFalse(copy.hasCards(removed));
+        assertEquals(player.getHand().size() - 3, copy.getHand().size());
+    }
+}
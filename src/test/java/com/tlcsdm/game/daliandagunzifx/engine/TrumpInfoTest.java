@@ -145,4 +145,67 @@ void testEffectiveRankStrengthTwoAboveAce() {
         assertTrue(TrumpInfo.effectiveRankStrength(Rank.KING)
             > TrumpInfo.effectiveRankStrength(Rank.THREE));
     }
+
+    @Test
+    void testOfReturnsSharedInstance() {
+        TrumpInfo info = TrumpInfo.of(Suit.SPADE, Rank.FIVE);
+        assertSame(info, TrumpInfo.of(Suit.SPADE, Rank.FIVE));
+        assertEquals(Suit.SPADE, info.getTrumpSuit());
+        assertEquals(Rank.FIVE, info.getTrumpRank());
+        TrumpInfo noTrump = TrumpInfo.of(null, Rank.ACE);
+        assertSame(noTrump, TrumpInfo.of(null, Rank.ACE));
+        assertNull(noTrump.getTrumpSuit());
+    }
+
+    @Test
+    void testLookupTablesMatchRuleDefinition() {
+        // 主牌花色含无主（null），主牌级别覆盖 2、普通级别与 A
+        Suit[] trumpSuits = {Suit.SPADE, Suit.HEART, Suit.CLUB, Suit.DIAMOND, null};
+        Rank[] trumpRanks = {Rank.TWO, Rank.THREE, Rank.TEN, Rank.JACK, Rank.ACE};
+        for (Suit trumpSuit : trumpSuits) {
+            for (Rank trumpRank : trumpRanks) {
+                TrumpInfo info = TrumpInfo.of(trumpSuit, trumpRank);
+                int id = 800;
+                for (Rank rank : Rank.values()) {
+                    boolean joker = rank == Rank.SMALL_JOKER || rank == Rank.BIG_JOKER;
+                    for (Suit suit : joker ? new Suit[]{null} : Suit.values()) {
+                        Card card = new Card(suit, rank, id++);
+                        String face = trumpSuit + "/" + trumpRank + ": " + card;
+                        assertEquals(expectedStrength(trumpSuit, trumpRank, card), info.getCardStrength(card), face);
+                        assertEquals(expectedTrump(trumpSuit, trumpRank, card), info.isTrump(card), face);
+                        assertEquals(expectedTrump(trumpSuit, trumpRank, card) ? null : suit,
+                            info.getEffectiveSuit(card), face);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 按规则逐条判断的牌力，作为查找表的对照。
+     */
+    private static int expectedStrength(Suit trumpSuit, Rank trumpRank, Card card) {
+        Rank rank = card.getRank();
+        boolean inTrumpSuit = trumpSuit != null && card.getSuit() == trumpSuit;
+        if (rank == Rank.BIG_JOKER) {
+            return 1000;
+        }
+        if (rank == Rank.SMALL_JOKER) {
+            return 999;
+        }
+        if (rank == trumpRank) {
+            return inTrumpSuit ? 998 : 997;
+        }
+        if (rank == Rank.TWO) {
+            return inTrumpSuit ? 996 : 995;
+        }
+        int rankStrength = rank.getValue();
+        return inTrumpSuit ? 900 + rankStrength : rankStrength;
+    }
+
+    private static boolean expectedTrump(Suit trumpSuit, Rank trumpRank, Card card) {
+        Rank rank = card.getRank();
+        return rank == Rank.BIG_JOKER || rank == Rank.SMALL_JOKER || rank == Rank.TWO || rank == trumpRank
+            || (trumpSuit != null && card.getSuit() == trumpSuit);
+    }
 }
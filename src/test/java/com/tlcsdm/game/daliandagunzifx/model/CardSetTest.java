@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSetTest {
+
+    @Test
+    void testDeckCardsAreIndexable() {
+        Deck deck = new Deck();
+        for (Card card : deck.deal(162)) {
+            assertTrue(CardSet.isIndexable(card), card + " should be indexable");
+            assertEquals(card.getSuit(), CardSet.suitOf(card.getId()));
+            assertEquals(card.getRank(), CardSet.rankOf(card.getId()));
+        }
+    }
+
+    @Test
+    void testNonStandardCardIsNotIndexable() {
+        assertFalse(CardSet.isIndexable(new Card(Suit.SPADE, Rank.TEN, 800)));
+        assertFalse(CardSet.isIndexable(new Card(Suit.HEART, Rank.ACE, 0)));
+    }
+
+    @Test
+    void testAddRemoveContains() {
+        CardSet set = new CardSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0));
+        assertTrue(set.add(63));
+        assertTrue(set.add(64));
+        assertTrue(set.add(161));
+        assertFalse(set.add(64));
+        assertEquals(4, set.size());
+        assertTrue(set.contains(161));
+        assertFalse(set.contains(162));
+        assertFalse(set.contains(-1));
+
+        assertTrue(set.remove(63));
+        assertFalse(set.remove(63));
+        assertFalse(set.contains(63));
+        assertEquals(3, set.size());
+        assertThrows(IllegalArgumentException.class, () -> set.add(800));
+    }
+
+    @Test
+    void testSuitAndRankCounts() {
+        CardSet all = new CardSet();
+        for (Card card : new Deck().deal(162)) {
+            all.add(card);
+        }
+        for (Suit suit : Suit.values()) {
+            assertEquals(39, all.countSuit(suit));
+        }
+        assertEquals(12, all.countRank(Rank.TWO));
+        assertEquals(3, all.countRank(Rank.SMALL_JOKER));
+        assertEquals(3, all.countRank(Rank.BIG_JOKER));
+        assertEquals(CardSet.ofSuit(Suit.HEART), intersection(all, CardSet.ofSuit(Suit.HEART)));
+    }
+
+    @Test
+    void testMaxIdenticalCount() {
+        Deck deck = new Deck();
+        List<Card> all = deck.deal(162);
+        CardSet set = new CardSet();
+        CardSet everything = new CardSet();
+        for (Card card : all) {
+            everything.add(card);
+        }
+        assertEquals(0, set.maxIdenticalCount(everything));
+
+        // 三副牌中同一张黑桃A的 id 相差 52
+        Card aceOfSpades = all.stream()
+            .filter(c -> c.getSuit() == Suit.SPADE && c.getRank() == Rank.ACE)
+            .findFirst().orElseThrow();
+        int id = aceOfSpades.getId();
+        set.add(id);
+        set.add(0);
+        assertEquals(1, set.maxIdenticalCount(everything));
+        set.add(id + 52);
+        assertEquals(2, set.maxIdenticalCount(everything));
+        set.add(id + 104);
+        assertEquals(3, set.maxIdenticalCount(everything));
+        assertEquals(1, set.maxIdenticalCount(CardSet.ofRank(Rank.TWO)));
+
+        CardSet jokers = new CardSet();
+        jokers.add(156);
+        jokers.add(159);
+        assertEquals(1, jokers.maxIdenticalCount(everything));
+        jokers.add(157);
+        assertEquals(2, jokers.maxIdenticalCount(everything));
+        jokers.add(158);
+        assertEquals(3, jokers.maxIdenticalCount(everything));
+    }
+
+    @Test
+    void testNextIdIteratesInOrder() {
+        CardSet set = new CardSet();
+        set.add(3);
+        set.add(64);
+        set.add(130);
+        assertEquals(3, set.nextId(0));
+        assertEquals(64, set.nextId(4));
+        assertEquals(130, set.nextId(65));
+        assertEquals(-1, set.nextId(131));
+    }
+
+    private static CardSet intersection(CardSet a, CardSet b) {
+        CardSet result = new CardSet(a);
+        result.retainAll(b);
+        return result;
+    }
+}
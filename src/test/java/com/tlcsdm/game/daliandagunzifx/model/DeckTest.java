@@ -29,6 +29,7 @@
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -80,4 +81,17 @@ void testDeckShuffle() {
         }
         assertTrue(different, "Shuffled deck should differ from unshuffled deck");
     }
+
+    @Test
+    void testSeededShuffleIsReproducible() {
+        Deck deck1 = new Deck();
+        deck1.shuffle(new SplittableRandom(42));
+        Deck deck2 = new Deck();
+        deck2.shuffle(new SplittableRandom(42));
+        List<Card> a = deck1.deal(162);
+        List<Card> b = deck2.deal(162);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getId(), b.get(i).getId());
+        }
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
+import com.tlcsdm.game.daliandagunzifx.simulation.SimulationRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private static SimulationRunner runner(long seed) {
+        SimulationRunner runner = new SimulationRunner(List.of(SimulationRunner.seat(AILevel.EASY),
+            SimulationRunner.seat(AILevel.EASY), SimulationRunner.seat(AILevel.EASY),
+            SimulationRunner.seat(AILevel.EASY)));
+        runner.setSeed(seed);
+        runner.setMaxRoundsPerGame(3);
+        return runner;
+    }
+
+    private static int appendGames(Path file, long seed) throws IOException {
+        SimulationRunner runner = runner(seed);
+        try (GameRecordWriter writer = GameArchive.append(file)) {
+            runner.setRecordWriter(writer);
+            return runner.run(2, 1).getRounds();
+        }
+    }
+
+    private static List<Integer> readStream(Path file) throws IOException {
+        List<Integer> points = new ArrayList<>();
+        try (GameRecordReader reader = new GameRecordReader(Files.newInputStream(file))) {
+            for (GameRecord record = reader.next(); record != null; record = reader.next()) {
+                points.add(record.getDefenderPoints());
+            }
+        }
+        return points;
+    }
+
+    @Test
+    void testAppendAndRandomAccess() throws IOException {
+        Path dir = Files.createTempDirectory("archive");
+        Path file = dir.resolve("games.dgz");
+        int first = appendGames(file, 1);
+        int second = appendGames(file, 2);
+        List<Integer> points = readStream(file);
+        assertEquals(first + second, points.size());
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(first + second, archive.size());
+            assertEquals(1, archive.get(0).getSeed());
+            assertEquals(2, archive.get(first).getSeed());
+            GameRecord last = archive.get(archive.size() - 1);
+            assertEquals(points.get(points.size() - 1).intValue(), last.getDefenderPoints());
+            assertEquals(last.getDefenderPoints(), last.replay().getDefenderPoints());
+            int n = 0;
+            for (GameRecord record : archive) {
+                assertEquals(points.get(n++).intValue(), record.getDefenderPoints());
+            }
+            assertEquals(points.size(), n);
+            assertThrows(IndexOutOfBoundsException.class, () -> archive.get(archive.size()));
+        }
+    }
+
+    @Test
+    void testRebuildIndexForPlainStream() throws IOException {
+        Path dir = Files.createTempDirectory("archive");
+        Path file = dir.resolve("games.dgz");
+        SimulationRunner runner = runner(3);
+        int rounds;
+        try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(file))) {
+            runner.setRecordWriter(writer);
+            rounds = runner.run(2, 1).getRounds();
+        }
+        assertEquals(rounds, GameArchive.rebuildIndex(file));
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(rounds, archive.size());
+            assertEquals(readStream(file).get(1).intValue(), archive.get(1).getDefenderPoints());
+        }
+    }
+
+    @Test
+    void testAppendRecoversFromTruncatedWrite() throws IOException {
+        Path dir = Files.createTempDirectory("archive");
+        Path file = dir.resolve("games.dgz");
+        int first = appendGames(file, 4);
+        // 模拟写入中断：数据文件末尾留下半条记录
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(first - 1, archive.size());
+        }
+        int second = appendGames(file, 5);
+        assertEquals(first - 1 + second, readStream(file).size());
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(first - 1 + second, archive.size());
+            assertEquals(5, archive.get(archive.size() - 1).getSeed());
+        }
+    }
+
+    @Test
+    void testRejectsForeignFile() throws IOException {
+        Path file = Files.createTempFile("archive", ".dgz");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+        Files.write(GameArchive.indexFile(file), new byte[8]);
+        assertThrows(IOException.class, () -> GameArchive.open(file));
+    }
+}
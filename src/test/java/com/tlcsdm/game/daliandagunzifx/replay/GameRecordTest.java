@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.simulation.SimulationReport;
+import com.tlcsdm.game.daliandagunzifx.simulation.SimulationRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameRecordTest {
+
+    private static Player[] players() {
+        return new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+    }
+
+    @Test
+    void testRecordReplaysSameRound() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GameRecordWriter writer = new GameRecordWriter(bytes);
+        Player[] players = players();
+        GameEngine engine = new GameEngine(players, new SplittableRandom(5));
+        engine.addListener(writer.recorder(5, 0));
+        engine.startNewRound();
+        List<Card> deal = new ArrayList<>();
+        for (Player player : players) {
+            deal.addAll(player.getHand());
+        }
+        deal.addAll(engine.getKitty());
+        engine.passTrump(1);
+        engine.declareTrump(0, Suit.HEART);
+        engine.setKitty(players[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList());
+        List<Card> kitty = new ArrayList<>(engine.getKitty());
+        LegalMoveGenerator generator = new LegalMoveGenerator();
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            if (engine.getTrickCardsPlayed() == 4) {
+                engine.evaluateTrick();
+                continue;
+            }
+            generator.generate(engine);
+            engine.playCards(engine.getCurrentPlayerIndex(), generator.move(generator.size() - 1));
+        }
+        int defenderPoints = engine.calculateRoundResult().getDefenderPoints();
+        writer.close();
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()));
+        GameRecord record = reader.next();
+        assertNotNull(record);
+        assertNull(reader.next());
+        assertEquals(5, record.getSeed());
+        assertEquals(1, record.getRoundNumber());
+        assertEquals(deal, record.getDeal());
+        assertEquals(defenderPoints, record.getDefenderPoints());
+        assertTrue(bytes.size() < 600, "record size " + bytes.size());
+
+        GameEngine replayed = record.replay();
+        assertEquals(GamePhase.ROUND_END, replayed.getPhase());
+        assertEquals(0, replayed.getDealerIndex());
+        assertEquals(Suit.HEART, replayed.getTrumpInfo().getTrumpSuit());
+        assertTrue(replayed.hasPassedTrump(1));
+        assertEquals(kitty, replayed.getKitty());
+        assertEquals(defenderPoints, replayed.getDefenderPoints());
+        assertEquals(engine.getStateHash(), replayed.getStateHash());
+    }
+
+    @Test
+    void testSimulationRecordsEveryRound() throws IOException {
+        SimulationRunner runner = new SimulationRunner(List.of(SimulationRunner.seat(AILevel.EASY),
+            SimulationRunner.seat(AILevel.MEDIUM), SimulationRunner.seat(AILevel.EASY),
+            SimulationRunner.seat(AILevel.MEDIUM)));
+        runner.setSeed(11);
+        runner.setMaxRoundsPerGame(6);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GameRecordWriter writer = new GameRecordWriter(bytes);
+        runner.setRecordWriter(writer);
+        SimulationReport report = runner.run(2, 1);
+        writer.close();
+        assertEquals(report.getRounds(), writer.getRecordCount());
+
+        GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()));
+        int records = 0;
+        int tributes = 0;
+        for (GameRecord record = reader.next(); record != null; record = reader.next()) {
+            records++;
+            assertEquals(11, record.getSeed());
+            GameEngine replayed = record.replay();
+            assertEquals(GamePhase.ROUND_END, replayed.getPhase());
+            assertEquals(record.getDefenderPoints(), replayed.calculateRoundResult().getDefenderPoints());
+            tributes += replayed.getCardTransfers().size();
+        }
+        assertEquals(report.getRounds(), records);
+        assertTrue(tributes > 0, "expected at least one round with tribute");
+    }
+
+    @Test
+    void testRejectsForeignStream() {
+        assertThrows(IOException.class,
+            () -> new GameRecordReader(new ByteArrayInputStream(new byte[]{'P', 'K', 3, 4, 1})));
+        assertThrows(IOException.class, () -> new GameRecordReader(new ByteArrayInputStream(new byte[0])));
+    }
+}
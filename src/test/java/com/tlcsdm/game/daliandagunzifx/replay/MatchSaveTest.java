@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.replay;
+
+import com.tlcsdm.game.daliandagunzifx.engine.GameEngine;
+import com.tlcsdm.game.daliandagunzifx.engine.GamePhase;
+import com.tlcsdm.game.daliandagunzifx.engine.LegalMoveGenerator;
+import com.tlcsdm.game.daliandagunzifx.engine.Player;
+import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Rank;
+import com.tlcsdm.game.daliandagunzifx.model.Suit;
+import com.tlcsdm.game.daliandagunzifx.tracker.CardTracker;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSaveTest {
+
+    private final LegalMoveGenerator generator = new LegalMoveGenerator();
+
+    private static GameEngine newEngine(long seed) {
+        Player[] players = new Player[]{
+            new Player(0, "P0", true),
+            new Player(1, "P1", false),
+            new Player(2, "P2", false),
+            new Player(3, "P3", false)
+        };
+        return new GameEngine(players, new SplittableRandom(seed));
+    }
+
+    private static Path saveFile() throws IOException {
+        return Files.createTempDirectory("match").resolve("match.sav");
+    }
+
+    private static void declareAndBury(GameEngine engine) {
+        engine.passTrump(1);
+        engine.declareTrump(0, Suit.SPADE);
+        engine.setKitty(engine.getPlayers()[0].getHand().stream()
+            .filter(c -> c.getRank() != Rank.SMALL_JOKER && c.getRank() != Rank.BIG_JOKER)
+            .limit(6)
+            .toList());
+    }
+
+    /**
+     * 与界面相同的记牌后出牌。
+     */
+    private void playTrick(GameEngine engine, CardTracker tracker) {
+        if (engine.getTrickCardsPlayed() == 4) {
+            engine.evaluateTrick();
+        }
+        for (int i = 0; i < 4; i++) {
+            int index = engine.getCurrentPlayerIndex();
+            generator.generate(engine);
+            List<Card> cards = generator.move(generator.size() - 1);
+            if (engine.getTrickCardsPlayed() > 0) {
+                Card leadCard = engine.getCurrentTrick()[engine.getCurrentTrickLeader()];
+                Suit leadSuit = engine.getTrumpInfo().getEffectiveSuit(leadCard);
+                for (Card card : cards) {
+                    if (leadSuit != null && leadSuit != engine.getTrumpInfo().getEffectiveSuit(card)) {
+                        tracker.markVoidSuit(index, leadSuit);
+                        break;
+                    }
+                }
+            }
+            engine.playCards(index, cards);
+            for (Card card : cards) {
+                tracker.cardPlayed(card, index);
+            }
+        }
+    }
+
+    private static void assertSameTracker(CardTracker expected, CardTracker actual) {
+        assertEquals(expected.getPlayedCards(), actual.getPlayedCards());
+        for (int player = 0; player < 4; player++) {
+            for (Suit suit : Suit.values()) {
+                assertEquals(expected.isVoid(player, suit), actual.isVoid(player, suit));
+            }
+        }
+    }
+
+    @Test
+    void testResumeMidRound() throws IOException {
+        Path file = saveFile();
+        GameEngine engine = newEngine(3);
+        CardTracker tracker = new CardTracker();
+        MatchSave original = new MatchSave(file);
+        engine.addListener(original);
+        engine.startNewRound();
+        declareAndBury(engine);
+        for (int trick = 0; trick < 10; trick++) {
+            playTrick(engine, tracker);
+        }
+        long beforeTrick = Files.size(file);
+        playTrick(engine, tracker);
+        // 每墩只追加本墩出的牌
+        assertTrue(Files.size(file) - beforeTrick < 20);
+        engine.evaluateTrick();
+
+        GameEngine restored = newEngine(99);
+        CardTracker restoredTracker = new CardTracker();
+        MatchSave save = new MatchSave(file);
+        save.restore(restored, restoredTracker);
+        assertEquals(GamePhase.PLAYING, restored.getPhase());
+        assertEquals(1, restored.getRoundNumber());
+        assertEquals(engine.getStateHash(), restored.getStateHash());
+        assertEquals(engine.getDefenderPoints(), restored.getDefenderPoints());
+        assertEquals(engine.getCurrentPlayerIndex(), restored.getCurrentPlayerIndex());
+        assertSameTracker(tracker, restoredTracker);
+
+        // 恢复后由新引擎接着记录，再出一墩后再次恢复得到相同局面
+        engine.removeListener(original);
+        restored.addListener(save);
+        playTrick(restored, restoredTracker);
+        restored.evaluateTrick();
+        GameEngine again = newEngine(7);
+        CardTracker againTracker = new CardTracker();
+        new MatchSave(file).restore(again, againTracker);
+        assertEquals(restored.getStateHash(), again.getStateHash());
+        assertEquals(restored.getTotalCardsPlayed(), again.getTotalCardsPlayed());
+        assertSameTracker(restoredTracker, againTracker);
+    }
+
+    @Test
+    void testResumeBetweenRounds() throws IOException {
+        Path file = saveFile();
+        GameEngine engine = newEngine(4);
+        MatchSave save = new MatchSave(file);
+        engine.addListener(save);
+        engine.startNewRound();
+        declareAndBury(engine);
+        CardTracker tracker = new CardTracker();
+        while (engine.getPhase() == GamePhase.PLAYING) {
+            playTrick(engine, tracker);
+            engine.evaluateTrick();
+        }
+        engine.applyLevelChange(engine.calculateRoundResult());
+        save.saveBetweenRounds(engine);
+
+        GameEngine restored = newEngine(5);
+        save.restore(restored, new CardTracker());
+        assertEquals(GamePhase.ROUND_END, restored.getPhase());
+        assertEquals(0, restored.getTotalCardsPlayed());
+        assertEquals(engine.getRoundNumber(), restored.getRoundNumber());
+        assertArrayEquals(engine.getTeamLevels(), restored.getTeamLevels());
+        assertEquals(engine.getPreviousWinningTeam(), restored.getPreviousWinningTeam());
+        assertEquals(engine.getPreviousTributeCount(), restored.getPreviousTributeCount());
+        assertEquals(engine.getNextDealerIndex(), restored.getNextDealerIndex());
+        restored.startNewRound();
+        assertEquals(2, restored.getRoundNumber());
+        assertEquals(engine.isTributeRequired(), restored.isTributeRequired());
+    }
+
+    @Test
+    void testResumeBeforeKittyKeepsDeal() throws IOException {
+        Path file = saveFile();
+        GameEngine engine = newEngine(6);
+        engine.addListener(new MatchSave(file));
+        engine.startNewRound();
+        List<List<Card>> hands = new ArrayList<>();
+        for (Player player : engine.getPlayers()) {
+            hands.add(new ArrayList<>(player.getHand()));
+        }
+        engine.passTrump(2);
+        engine.declareTrump(1, Suit.HEART);
+
+        GameEngine restored = newEngine(8);
+        new MatchSave(file).restore(restored, new CardTracker());
+        assertEquals(GamePhase.DEALING, restored.getPhase());
+        assertFalse(restored.hasPassedTrump(2));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(hands.get(i), restored.getPlayers()[i].getHand());
+        }
+    }
+
+    @Test
+    void testRejectsCorruptFile() throws IOException {
+        Path file = saveFile();
+        Files.write(file, new byte[]{'D', 'G', 'Z', 'S', 1, 0});
+        MatchSave save = new MatchSave(file);
+        assertTrue(save.exists());
+        assertThrows(IOException.class, () -> save.restore(newEngine(1), new CardTracker()));
+        save.delete();
+        assertFalse(save.exists());
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 unknowIfGuestInDream.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *     * Neither the name of unknowIfGuestInDream, any associated website, nor the
+ * names of its contributors may be used to endorse or promote products
+ * derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL UNKNOWIFGUESTINDREAM BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.tlcsdm.game.daliandagunzifx.simulation;
+
+import com.tlcsdm.game.daliandagunzifx.ai.AILevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationRunnerTest {
+
+    private static List<SeatFactory> seats(AILevel a, AILevel b) {
+        return List.of(SimulationRunner.seat(a), SimulationRunner.seat(b),
+            SimulationRunner.seat(a), SimulationRunner.seat(b));
+    }
+
+    @Test
+    void testRunsCompleteGamesSerially() {
+        SimulationRunner runner = new SimulationRunner(seats(AILevel.EASY, AILevel.MEDIUM));
+        SimulationReport report = runner.run(3, 1);
+        assertEquals(3, report.getGames());
+        assertTrue(report.getRounds() >= 3);
+        assertEquals(3, report.getTeamGameWins(0) + report.getTeamGameWins(1) + report.getUnfinishedGames());
+        assertEquals(report.getRounds(), report.getTeamRoundWins(0) + report.getTeamRoundWins(1));
+        assertEquals(0, report.getInvalidPlays());
+        assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    void testRunsGamesInParallel() {
+        SimulationRunner runner = new SimulationRunner(seats(AILevel.EASY, AILevel.EASY));
+        runner.setLiveBang(false);
+        SimulationReport report = runner.run(8, 4);
+        assertEquals(8, report.getGames());
+        assertEquals(0, report.getInvalidPlays());
+        assertEquals(1.0, report.getGameWinRate(0) + report.getGameWinRate(1)
+            + (double) report.getUnfinishedGames() / report.getGames(), 1e-9);
+    }
+
+    @Test
+    void testMaxRoundsLimitsGameLength() {
+        SimulationRunner runner = new SimulationRunner(seats(AILevel.EASY, AILevel.EASY));
+        runner.setMaxRoundsPerGame(1);
+        SimulationReport report = runner.run(2, 1);
+        assertEquals(2, report.getRounds());
+        assertEquals(2, report.getUnfinishedGames());
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new SimulationRunner(List.of(SimulationRunner.seat(AILevel.EASY))));
+        SimulationRunner runner = new SimulationRunner(seats(AILevel.EASY, AILevel.EASY));
+        assertThrows(IllegalArgumentException.class, () -> runner.run(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> runner.setMaxRoundsPerGame(0));
+    }
+
+    @Test
+    void testSameSeedReproducesResultsAcrossThreadCounts() {
+        SimulationRunner serial = new SimulationRunner(seats(AILevel.EASY, AILevel.MEDIUM));
+        serial.setSeed(20260101L);
+        SimulationReport a = serial.run(4, 1);
+
+        SimulationRunner parallel = new SimulationRunner(seats(AILevel.EASY, AILevel.MEDIUM));
+        parallel.setSeed(20260101L);
+        SimulationReport b = parallel.run(4, 3);
+
+        assertEquals(a.getRounds(), b.getRounds());
+        assertEquals(a.getTeamGameWins(0), b.getTeamGameWins(0));
+        assertEquals(a.getTeamRoundWins(0), b.getTeamRoundWins(0));
+        assertEquals(a.getAverageDefenderPoints(), b.getAverageDefenderPoints(), 1e-9);
+    }
+}
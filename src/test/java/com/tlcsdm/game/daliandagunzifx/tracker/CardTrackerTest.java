@@ -27,10 +27,14 @@
 package com.tlcsdm.game.daliandagunzifx.tracker;
 
 import com.tlcsdm.game.daliandagunzifx.model.Card;
+import com.tlcsdm.game.daliandagunzifx.model.Deck;
 import com.tlcsdm.game.daliandagunzifx.model.Rank;
 import com.tlcsdm.game.daliandagunzifx.model.Suit;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CardTrackerTest {
@@ -70,4 +74,74 @@ void testReset() {
         assertEquals(0, tracker.getPlayedCards().size());
         assertFalse(tracker.isVoid(1, Suit.DIAMOND));
     }
+
+    @Test
+    void testRemainingCountsMatchFullScan() {
+        CardTracker tracker = new CardTracker();
+        Deck deck = new Deck();
+        deck.shuffle(new SplittableRandom(9));
+        List<Card> cards = deck.deal(162);
+        for (int i = 0; i < 80; i++) {
+            tracker.cardPlayed(cards.get(i), i % 4);
+        }
+        // 重复记录同一张牌不应重复计数
+        tracker.cardPlayed(cards.get(0), 0);
+
+        List<Card> played = cards.subList(0, 80);
+        for (Suit suit : Suit.values()) {
+            long expected = cards.stream().filter(c -> c.getSuit() == suit && !played.contains(c)).count();
+            assertEquals(expected, tracker.getRemainingCount(suit));
+            assertEquals(expected, tracker.getSuitRemainingCards(suit).size());
+        }
+        for (Rank rank : Rank.values()) {
+            long expected = cards.stream().filter(c -> c.getRank() == rank && !played.contains(c)).count();
+            assertEquals(expected, tracker.getRemainingCount(rank));
+            assertEquals(expected, tracker.getRankRemainingCards(rank).size());
+            Suit[] suits = rank == Rank.SMALL_JOKER || rank == Rank.BIG_JOKER
+                    ? new Suit[]{null} : Suit.values();
+            for (Suit suit : suits) {
+                long face = cards.stream()
+                        .filter(c -> c.getSuit() == suit && c.getRank() == rank && !played.contains(c)).count();
+                assertEquals(face, tracker.getRemainingCount(suit, rank));
+            }
+        }
+        assertEquals(82, tracker.getRemainingCardCount());
+        assertEquals(80, tracker.getPlayedCards().size());
+    }
+
+    @Test
+    void testSnapshotRestore() {
+        CardTracker tracker = new CardTracker();
+        Card first = new Card(Suit.SPADE, Rank.THREE, 1);
+        tracker.cardPlayed(first, 0);
+        tracker.markVoidSuit(2, Suit.CLUB);
+        CardTracker.Snapshot snapshot = tracker.snapshot();
+        int spades = tracker.getRemainingCount(Suit.SPADE);
+
+        tracker.cardPlayed(new Card(Suit.SPADE, Rank.FOUR, 2), 1);
+        tracker.cardPlayed(new Card(null, Rank.BIG_JOKER, 160), 1);
+        tracker.markVoidSuit(3, Suit.HEART);
+        tracker.restore(snapshot);
+
+        assertEquals(161, tracker.getRemainingCardCount());
+        assertEquals(spades, tracker.getRemainingCount(Suit.SPADE));
+        assertEquals(3, tracker.getRemainingCount(Rank.BIG_JOKER));
+        assertTrue(tracker.getPlayedCards().contains(first));
+        assertTrue(tracker.isVoid(2, Suit.CLUB));
+        assertFalse(tracker.isVoid(3, Suit.HEART));
+
+        // 快照可以恢复到另一个记牌器上
+        CardTracker fork = new CardTracker();
+        fork.restore(snapshot);
+        assertEquals(161, fork.getRemainingCardCount());
+        assertTrue(fork.isVoid(2, Suit.CLUB));
+    }
+
+    @Test
+    void testJokerVoidIsTrackedSeparately() {
+        CardTracker tracker = new CardTracker();
+        tracker.markVoidSuit(0, null);
+        assertTrue(tracker.isVoid(0, null));
+        assertFalse(tracker.isVoid(0, Suit.SPADE));
+    }
 }